@@ -4,38 +4,44 @@ import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.I18NBundleLoader;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.assets.loaders.resolvers.LocalFileHandleResolver;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Cursor;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
-import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
-import com.badlogic.gdx.scenes.scene2d.ui.List.ListStyle;
-import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane.ScrollPaneStyle;
-import com.badlogic.gdx.scenes.scene2d.ui.SelectBox.SelectBoxStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
-import com.badlogic.gdx.scenes.scene2d.ui.Window;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.I18NBundle;
 import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.ScreenUtils;
+import io.github.HeroGame.assets.BakedFontLoader;
+import io.github.HeroGame.assets.CompressedTextures;
+import io.github.HeroGame.assets.TextureCache;
+import io.github.HeroGame.assets.TexturePipeline;
+import io.github.HeroGame.assets.TrackingSpriteBatch;
+import io.github.HeroGame.assets.UiSkinLoader;
+import io.github.HeroGame.events.EventManager;
 import io.github.HeroGame.managers.SettingsManager;
 import io.github.HeroGame.save.GameSaveSystem; // Dodano import
 import io.github.HeroGame.screens.BaseScreen;
 import io.github.HeroGame.screens.LoadingScreen;
 import io.github.HeroGame.screens.MainMenuScreen;
+import io.github.HeroGame.utils.StartupTimer;
+import io.github.HeroGame.screens.SaveThumbnailCache;
 
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MyGame extends Game {
 
@@ -43,21 +49,27 @@ public final class MyGame extends Game {
 
     private final AssetManager assetManager;
     private SpriteBatch batch;
+    private TexturePipeline texturePipeline; // Tekstury spoza AssetManagera: dekodowanie w puli wątków, wysyłanie na GPU z budżetem klatki
+    private TextureCache textureCache; // Współdzielone tekstury gry z licznikiem odwołań - przeżywają zmianę ekranu
     private Skin skin;
+    private boolean ownsSkin; // false, gdy skin należy do AssetManagera (zwalnia go assetManager.dispose())
     private SettingsManager settingsManager;
     private I18NBundle i18nBundle;
     private Cursor customCursor;
     private GameSaveSystem gameSaveSystem; // NOWE POLE: Centralna instancja GameSaveSystem
+    private boolean upgradeSavesOnStart; // Polecenie z linii komend: przepisz stare zapisy do bieżącego formatu
+    private final Map<String, I18NBundle> preloadedBundles = new ConcurrentHashMap<>(); // Kod języka -> bundle, wypełniane w tle
+    private SaveThumbnailCache saveThumbnailCache; // Przeżywa zamknięcie dialogu wczytywania - ponowne otwarcie nie dekoduje PNG od nowa
 
     public static final String FONT_ALKHEMIKAL = "assets/fonts/Alkhemikal.ttf";
     public static final String FONT_ALKHEMIKAL_NAME = "alkhemikal.ttf";
     public static final String BUNDLE_PATH = "assets/i18n/strings";
-    public static final String SKIN_PATH = "assets/ui/uiskin.json"; // Już nie używane w obecnym kodzie, ale zostawiamy dla kontekstu
-    public static final String ATLAS_PATH = "assets/ui/uiskin.atlas"; // Już nie używane w obecnym kodzie, ale zostawiamy dla kontekstu
+    public static final String SKIN_PATH = "cache/ui/uiskin.json"; // Plik lokalny - wypalany przy pierwszym uruchomieniu (UiSkinLoader)
+    public static final String ATLAS_PATH = "cache/ui/uiskin.atlas"; // Atlas skina, obok SKIN_PATH
 
     public static final String WORLD_GRID_TMX_PATH = "assets/maps/my_world_grid_map.tmx";
 
-    final String POLISH_CHARACTERS = "ąćęłńóśźżĄĆĘŁŃÓŚŹŻ";
+    static final String POLISH_CHARACTERS = "ąćęłńóśźżĄĆĘŁŃÓŚŹŻ";
 
     public MyGame() {
         this.assetManager = new AssetManager();
@@ -66,6 +78,8 @@ public final class MyGame extends Game {
 
     @Override
     public void create() {
+        StartupTimer.end("backend.init");
+        StartupTimer.begin("game.create");
         Gdx.app.setLogLevel(Application.LOG_DEBUG); // Ustaw poziom logowania dla całej aplikacji
         log.debug("MyGame create() method started.");
         log.info("Creating game...");
@@ -80,32 +94,65 @@ public final class MyGame extends Game {
 
         // Inicjalizacja GameSaveSystem na wczesnym etapie, gdy dostępne są już podstawowe usługi (MyGame)
         this.gameSaveSystem = new GameSaveSystem(this);
+        if (upgradeSavesOnStart) {
+            gameSaveSystem.upgradeSavesAsync(report -> log.info("Save upgrade: " + report));
+        }
 
+        preloadI18nBundlesAsync(); // Wszystkie języki w tle - zmiana języka w opcjach tylko podmienia bundle
         settingsManager.applyDisplayMode(); // Zastosuj ustawienia wyświetlania
-        batch = new SpriteBatch(); // Inicjalizacja SpriteBatch
+        texturePipeline = new TexturePipeline();
+        textureCache = new TextureCache(texturePipeline);
+        settingsManager.applyTextureCacheSettings(textureCache); // Polityka przechowania i budżet GPU z ustawień
+        batch = new TrackingSpriteBatch(textureCache); // Zgłasza rysowane tekstury do budżetu pamięci GPU
         configureAssetManager(); // Konfiguracja AssetManagera
         log.debug("Setting LoadingScreen...");
         setScreen(new LoadingScreen(this)); // Ustaw początkowy ekran ładowania
+        StartupTimer.end("game.create");
     }
 
     private void configureAssetManager() {
         log.debug("Configuring AssetManager loaders...");
         InternalFileHandleResolver resolver = new InternalFileHandleResolver();
-        assetManager.setLoader(FreeTypeFontGenerator.class, new FreeTypeFontGeneratorLoader(resolver));
-        assetManager.setLoader(BitmapFont.class, ".ttf", new FreetypeFontLoader(resolver));
+        assetManager.setLoader(BitmapFont.class, ".ttf", new BakedFontLoader(resolver)); // FreeType tylko przy pierwszym uruchomieniu, potem pamięć podręczna
         assetManager.setLoader(I18NBundle.class, new I18NBundleLoader(resolver));
         assetManager.setLoader(TiledMap.class, new TmxMapLoader(resolver)); // Loader dla TiledMap
+        assetManager.setLoader(Skin.class, new UiSkinLoader(new LocalFileHandleResolver())); // Skin wypalany do katalogu lokalnego
+        CompressedTextures.register(assetManager, resolver); // Tekstury .ktx2/.basis, PNG jako zapas
         log.debug("AssetManager configured.");
     }
 
 
+    /**
+     * Parametry głównej czcionki gry - wspólne dla LoadingScreen i awaryjnego ładowania, bo od nich zależy klucz
+     * pamięci podręcznej czcionek ({@link BakedFontLoader}).
+     */
+    public static FreeTypeFontGenerator.FreeTypeFontParameter createFontParameters() {
+        FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        param.size = 32;
+        param.borderWidth = 1;
+        param.color = Color.WHITE;
+        param.borderColor = Color.BLACK;
+        param.characters = FreeTypeFontGenerator.DEFAULT_CHARS + POLISH_CHARACTERS;
+        return param;
+    }
+
+    /**
+     * Opis zasobu głównej czcionki - ten sam dla LoadingScreen i zależności skina, więc AssetManager wczytuje ją raz.
+     */
+    public static AssetDescriptor<BitmapFont> createFontDescriptor() {
+        BakedFontLoader.BakedFontParameter fontParam = new BakedFontLoader.BakedFontParameter();
+        fontParam.fontFileName = FONT_ALKHEMIKAL;
+        fontParam.fontParameters = createFontParameters();
+        return new AssetDescriptor<>(FONT_ALKHEMIKAL_NAME, BitmapFont.class, fontParam);
+    }
+
     /**
      * Wywoływane przez LoadingScreen, gdy niezbędne zasoby (czcionka, skin, bundle) zostaną załadowane.
      */
     public void finishLoading() {
+        StartupTimer.begin("game.finishLoading");
         log.info("Core assets loaded. Initializing Skin and Bundle.");
         Pixmap cursorPixmap = null;
-        Pixmap pixmap = null;
         try {
             this.i18nBundle = assetManager.get(MyGame.BUNDLE_PATH, I18NBundle.class);
             log.debug("Loading custom cursor...");
@@ -134,122 +181,23 @@ public final class MyGame extends Game {
             }
 
             log.info("MyGame.finishLoading: Final initial i18nBundle locale: " + this.i18nBundle.getLocale());
-            skin = new Skin();
-
-            // --- Bazowe białe i kolorowe tekstury ---
-            pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-            pixmap.setColor(Color.WHITE); pixmap.fill();
-            skin.add("white", new Texture(pixmap)); // Ogólna biała tekstura
-            pixmap.setColor(0.3f, 0.3f, 0.8f, 1f); pixmap.fill();
-            skin.add("selectbox_background", new Texture(pixmap)); // Tło dla SelectBox/Dialogów
-            pixmap.setColor(0.1f, 0.1f, 0.6f, 1f); pixmap.fill();
-            skin.add("list_selection", new Texture(pixmap)); // Wybór na liście
-            pixmap.setColor(0.5f, 0.5f, 1.0f, 1f); pixmap.fill();
-            skin.add("scrollbar_knob", new Texture(pixmap)); // Suwak scrollbara
-
-
-            // --- Czcionka ---
-            // Czcionka już załadowana przez AssetManager w LoadingScreen, pobierz ją tutaj
-            if (assetManager.isLoaded(FONT_ALKHEMIKAL_NAME, BitmapFont.class)) {
-                skin.add(FONT_ALKHEMIKAL_NAME, assetManager.get(FONT_ALKHEMIKAL_NAME, BitmapFont.class), BitmapFont.class);
-                log.debug("Font " + FONT_ALKHEMIKAL_NAME + " was loaded via AssetManager.");
+            preloadedBundles.putIfAbsent(this.i18nBundle.getLocale().getLanguage(), this.i18nBundle);
+            // --- Skin ---
+            // Atlas i style wypalone do plików (UiSkinLoader), wczytane przez AssetManager w LoadingScreen
+            if (assetManager.isLoaded(SKIN_PATH, Skin.class)) {
+                skin = assetManager.get(SKIN_PATH, Skin.class);
+                ownsSkin = false;
+                log.debug("Skin " + SKIN_PATH + " was loaded via AssetManager.");
             } else {
-                log.error("Font " + FONT_ALKHEMIKAL_NAME + " was NOT loaded by AssetManager! Attempting fallback.");
-                // Fallback: Wygeneruj czcionkę tutaj, jeśli AssetManager zawiódł
-                FreeTypeFontGenerator generator = null;
-                try {
-                    generator = new FreeTypeFontGenerator(Gdx.files.internal(FONT_ALKHEMIKAL));
-                    FreeTypeFontGenerator.FreeTypeFontParameter param = new FreeTypeFontGenerator.FreeTypeFontParameter();
-                    param.size = 32;
-                    param.borderWidth = 1;
-                    param.color = Color.WHITE;
-                    param.borderColor = Color.BLACK;
-                    param.characters = FreeTypeFontGenerator.DEFAULT_CHARS + POLISH_CHARACTERS;
-                    BitmapFont fallbackFont = generator.generateFont(param);
-                    skin.add(FONT_ALKHEMIKAL_NAME, fallbackFont, BitmapFont.class);
-                    log.error("Using fallback font for " + FONT_ALKHEMIKAL_NAME);
-                } catch (Exception fontEx) {
-                    log.error("CRITICAL: Fallback font generation also failed!", fontEx);
-                    // Ostateczny fallback: Użyj domyślnej czcionki LibGDX (może wyglądać źle)
-                    skin.add(FONT_ALKHEMIKAL_NAME, new BitmapFont(), BitmapFont.class);
-                    log.error("Using default LibGDX font as ultimate fallback.");
-                } finally {
-                    if (generator != null) generator.dispose();
-                }
+                log.error("Skin " + SKIN_PATH + " was NOT loaded by AssetManager! Attempting fallback.");
+                skin = UiSkinLoader.loadNow(Gdx.files.local(SKIN_PATH), FONT_ALKHEMIKAL_NAME, loadFallbackFont());
+                ownsSkin = true;
             }
 
-            // --- TextButtonStyle ---
-            com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle textButtonStyle = new com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle();
-            textButtonStyle.font = skin.getFont(FONT_ALKHEMIKAL_NAME);
-            textButtonStyle.up = skin.newDrawable("white", new Color(0.1f, 0.1f, 0.3f, 1f));
-            textButtonStyle.down = skin.newDrawable("white", new Color(0.05f, 0.05f, 0.25f, 1f));
-            textButtonStyle.over = skin.newDrawable("white", new Color(0.3f, 0.4f, 0.8f, 1f));
-            skin.add("default", textButtonStyle);
-
-
-            // --- LabelStyle ---
-            com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle labelStyle = new com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle();
-            labelStyle.font = skin.getFont(FONT_ALKHEMIKAL_NAME);
-            skin.add("default-label", labelStyle);
-
-            // --- CheckBoxStyle ---
-            com.badlogic.gdx.scenes.scene2d.ui.CheckBox.CheckBoxStyle checkBoxStyle = new com.badlogic.gdx.scenes.scene2d.ui.CheckBox.CheckBoxStyle();
-            checkBoxStyle.font = skin.getFont(FONT_ALKHEMIKAL_NAME);
-            checkBoxStyle.fontColor = Color.WHITE;
-            int checkboxSize = 32;
-            Pixmap checkboxPixmap = new Pixmap(checkboxSize, checkboxSize, Pixmap.Format.RGBA8888);
-            checkboxPixmap.setColor(Color.GRAY); checkboxPixmap.fillRectangle(0, 0, checkboxSize, checkboxSize);
-            checkboxPixmap.setColor(Color.LIGHT_GRAY); checkboxPixmap.drawRectangle(0, 0, checkboxSize, checkboxSize);
-            skin.add("checkbox_off", new Texture(checkboxPixmap));
-            checkboxPixmap.setColor(Color.LIME); checkboxPixmap.fillRectangle(0, 0, checkboxSize, checkboxSize);
-            checkboxPixmap.setColor(Color.BLACK);
-            checkboxPixmap.drawLine(checkboxSize / 4, checkboxSize / 2, checkboxSize / 2, checkboxSize * 3/4);
-            checkboxPixmap.drawLine(checkboxSize / 2, checkboxSize * 3/4, checkboxSize * 3/4, checkboxSize / 4);
-            checkboxPixmap.setColor(Color.WHITE); checkboxPixmap.drawRectangle(0, 0, checkboxSize, checkboxSize);
-            skin.add("checkbox_on", new Texture(checkboxPixmap));
-            checkBoxStyle.checkboxOff = skin.getDrawable("checkbox_off");
-            checkBoxStyle.checkboxOn = skin.getDrawable("checkbox_on");
-            skin.add("default-checkbox", checkBoxStyle);
-            checkboxPixmap.dispose();
-
-            // --- TextFieldStyle ---
-            com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle textFieldStyle = new com.badlogic.gdx.scenes.scene2d.ui.TextField.TextFieldStyle();
-            textFieldStyle.font = skin.getFont(FONT_ALKHEMIKAL_NAME);
-            textFieldStyle.fontColor = Color.WHITE;
-            textFieldStyle.background = skin.newDrawable("white", new Color(0.1f, 0.1f, 0.2f, 1f)); // ciemnoniebieskie tło
-            textFieldStyle.cursor = skin.newDrawable("white", Color.WHITE); // biały kursor
-            textFieldStyle.selection = skin.newDrawable("white", new Color(0.2f, 0.2f, 0.5f, 0.5f)); // półprzezroczysta niebieska selekcja
-            skin.add("default-textfield", textFieldStyle); // Zarejestruj pod nazwą "default-textfield"
-
-            // Dodanie stylu WindowStyle dla dialogów
-            Window.WindowStyle windowStyle = new Window.WindowStyle();
-            windowStyle.background = skin.getDrawable("selectbox_background"); // Użyj tego samego tła co selectbox
-            windowStyle.titleFont = skin.getFont(FONT_ALKHEMIKAL_NAME);
-            windowStyle.titleFontColor = Color.WHITE;
-            skin.add("default", windowStyle);
-
-            // SelectBox Styles
-            ListStyle listStyle = new ListStyle();
-            listStyle.font = skin.getFont(FONT_ALKHEMIKAL_NAME);
-            listStyle.fontColorSelected = Color.BLACK;
-            listStyle.fontColorUnselected = Color.WHITE;
-            listStyle.selection = skin.getDrawable("list_selection");
-            skin.add("default-list", listStyle);
-            ScrollPaneStyle scrollPaneStyle = new ScrollPaneStyle();
-            scrollPaneStyle.background = skin.getDrawable("selectbox_background");
-            scrollPaneStyle.vScroll = skin.newDrawable("white", Color.DARK_GRAY);
-            scrollPaneStyle.vScrollKnob = skin.getDrawable("scrollbar_knob");
-            skin.add("default-scrollpane", scrollPaneStyle);
-            SelectBoxStyle selectBoxStyle = new SelectBoxStyle();
-            selectBoxStyle.font = skin.getFont(FONT_ALKHEMIKAL_NAME);
-            selectBoxStyle.fontColor = Color.WHITE;
-            selectBoxStyle.background = skin.getDrawable("selectbox_background");
-            selectBoxStyle.scrollStyle = skin.get("default-scrollpane", ScrollPaneStyle.class);
-            selectBoxStyle.listStyle = skin.get("default-list", ListStyle.class);
-            skin.add("default-selectbox", selectBoxStyle);
-
             log.info("Skin, I18NBundle and Cursor initialized.");
             log.debug("Transitioning to MainMenuScreen.");
+            StartupTimer.end("game.finishLoading");
+            StartupTimer.begin("menu.init"); // Kończy się w MainMenuScreen.show()
             setScreen(new MainMenuScreen(this)); // Przejdź do MainMenuScreen
         } catch (Exception e) {
             log.error("CRITICAL: Failed to initialize Skin or I18NBundle after loading!", e);
@@ -263,17 +211,43 @@ public final class MyGame extends Game {
         }
     }
 
+    /**
+     * Czcionka dla awaryjnie wczytanego skina: z AssetManagera, jeśli zdążył ją załadować, inaczej z pamięci
+     * podręcznej czcionek albo FreeType, a w ostateczności domyślna czcionka LibGDX.
+     */
+    private BitmapFont loadFallbackFont() {
+        if (assetManager.isLoaded(FONT_ALKHEMIKAL_NAME, BitmapFont.class)) {
+            log.debug("Font " + FONT_ALKHEMIKAL_NAME + " was loaded via AssetManager.");
+            return assetManager.get(FONT_ALKHEMIKAL_NAME, BitmapFont.class);
+        }
+        log.error("Font " + FONT_ALKHEMIKAL_NAME + " was NOT loaded by AssetManager! Attempting fallback.");
+        try {
+            BitmapFont fallbackFont = BakedFontLoader.loadNow(Gdx.files.internal(FONT_ALKHEMIKAL), createFontParameters());
+            log.error("Using fallback font for " + FONT_ALKHEMIKAL_NAME);
+            return fallbackFont;
+        } catch (Exception fontEx) {
+            log.error("CRITICAL: Fallback font generation also failed!", fontEx);
+            // Ostateczny fallback: Użyj domyślnej czcionki LibGDX (może wyglądać źle)
+            log.error("Using default LibGDX font as ultimate fallback.");
+            return new BitmapFont();
+        }
+    }
+
 
     @Override
     public void render() {
         ScreenUtils.clear(0.1f, 0.1f, 0.15f, 1f); // Czyść ekran
-        super.render(); // Wywołaj renderowanie dla aktywnego ekranu
         try {
-            super.render();
+            super.render(); // Wywołaj renderowanie dla aktywnego ekranu - dokładnie raz na klatkę
         } catch (Exception e) {
             log.error("Render error: " + e.getMessage(), e);
             e.printStackTrace();
         }
+        // Faza rozsyłania zdarzeń odroczonych - po aktualizacji logiki ekranu, raz na klatkę
+        EventManager.getInstance().processQueue();
+        // Wysyłanie zdekodowanych tekstur na GPU - po rysowaniu, najwyżej TexturePipeline.DEFAULT_UPLOAD_BUDGET_NANOS na klatkę
+        texturePipeline.update();
+        textureCache.update(Gdx.graphics.getDeltaTime()); // Zwalnia nieużywane tekstury po czasie przechowania i ponad budżet GPU
     }
 
 
@@ -295,7 +269,13 @@ public final class MyGame extends Game {
             batch.dispose();
             log.debug("SpriteBatch disposed.");
         }
-        if (skin != null) {
+        if (textureCache != null) {
+            textureCache.dispose(); // Przed potokiem - anuluje zlecenia jeszcze niewysłane
+        }
+        if (texturePipeline != null) {
+            texturePipeline.dispose();
+        }
+        if (skin != null && ownsSkin) {
             skin.dispose();
             log.debug("Skin disposed.");
         }
@@ -306,6 +286,13 @@ public final class MyGame extends Game {
             customCursor.dispose();
             log.debug("Custom cursor disposed.");
         }
+        if (saveThumbnailCache != null) {
+            saveThumbnailCache.dispose();
+        }
+        if (gameSaveSystem != null) {
+            gameSaveSystem.dispose(); // Dokończ zapisy w tle przed wyjściem
+        }
+        EventManager.getInstance().shutdown(); // Dostarcz zaległe zdarzenia asynchroniczne (logi, zapisy)
         log.info("Game disposed.");
     }
 
@@ -320,6 +307,14 @@ public final class MyGame extends Game {
         return batch;
     }
 
+    public TexturePipeline getTexturePipeline() {
+        return texturePipeline;
+    }
+
+    public TextureCache getTextureCache() {
+        return textureCache;
+    }
+
     public Skin getSkin() {
         if (skin == null) {
             log.error("Attempted to get Skin before it was initialized!");
@@ -350,6 +345,23 @@ public final class MyGame extends Game {
         return i18nBundle;
     }
 
+    /**
+     * Miniatury zapisów dla dialogu wczytywania - tworzone przy pierwszym użyciu.
+     */
+    public SaveThumbnailCache getSaveThumbnailCache() {
+        if (saveThumbnailCache == null) {
+            saveThumbnailCache = new SaveThumbnailCache();
+        }
+        return saveThumbnailCache;
+    }
+
+    /**
+     * Zleca zbiorczą aktualizację zapisów w tle zaraz po starcie gry. Wywoływane przez launcher przed create().
+     */
+    public void setUpgradeSavesOnStart(boolean upgradeSavesOnStart) {
+        this.upgradeSavesOnStart = upgradeSavesOnStart;
+    }
+
     // Nowa metoda do udostępniania instancji GameSaveSystem
     public GameSaveSystem getGameSaveSystem() {
         if (gameSaveSystem == null) {
@@ -360,72 +372,71 @@ public final class MyGame extends Game {
     }
 
     /**
-     * Przeładowuje I18NBundle w oparciu o aktualne ustawienia języka.
-     * Powinna być wywołana po zmianie języka w ustawieniach.
-     * Wymaga, aby ekran mógł potencjalnie przebudować elementy UI przy użyciu nowego bundle'a.
+     * Parsuje w tle bundle wszystkich obsługiwanych języków, żeby zmiana języka nie czytała plików w wątku renderowania.
+     * Bundle są niezmienne po utworzeniu, więc można je bezpiecznie przekazać między wątkami.
      */
-    public void reloadI18nBundle() {
-        Locale targetLocale = settingsManager.getCurrentLocale();
-        log.error(">>>> MyGame.reloadI18nBundle() CALLED! <<<<");
-        log.error(">>>> MyGame.reloadI18nBundle() CALLED! StackTrace:", new Throwable("StackTrace for reloadI18nBundle"));
-        log.info("Reloading I18NBundle for target locale: " + targetLocale.toString());
-
-
-
-        // Odładowanie poprzedniego bundle'a z AssetManagera, jeśli był załadowany
-        if (assetManager.isLoaded(MyGame.BUNDLE_PATH)) {
-            log.debug("Unloading previous bundle from AssetManager: " + MyGame.BUNDLE_PATH);
-            assetManager.unload(MyGame.BUNDLE_PATH);
-            // Czekaj na zakończenie odładowywania, aby uniknąć problemów
-            int retries = 0;
-            while(assetManager.isLoaded(MyGame.BUNDLE_PATH) && retries < 100) {
-                assetManager.update(); // Przetwarzaj kolejkę AssetManagera
-                try { Thread.sleep(10); } catch (InterruptedException e) {Thread.currentThread().interrupt();}
-                retries++;
-            }
-            if (assetManager.isLoaded(MyGame.BUNDLE_PATH)) {
-                log.error("PROBLEM: Bundle (" + MyGame.BUNDLE_PATH + ") still loaded after unload() and retries!");
-            } else {
-                log.debug("Bundle (" + MyGame.BUNDLE_PATH + ") successfully unloaded after " + retries + " retries.");
-            }
-        } else {
-            log.debug("No previous bundle was loaded in AssetManager for path: " + MyGame.BUNDLE_PATH);
+    private void preloadI18nBundlesAsync() {
+        for (String language : SettingsManager.SUPPORTED_LANGUAGES) {
+            Thread.ofVirtual().name("HeroGame-i18n-" + language).start(() -> {
+                try {
+                    preloadedBundles.putIfAbsent(language, createBundle(Locale.of(language)));
+                } catch (GdxRuntimeException e) {
+                    log.error("Failed to preload I18NBundle for language: " + language, e);
+                }
+            });
         }
+    }
 
-        // Załadowanie nowego bundle'a
-        I18NBundleLoader.I18NBundleParameter param = new I18NBundleLoader.I18NBundleParameter(targetLocale, "UTF-8");
-        log.debug("Queueing load for new bundle with path: " + MyGame.BUNDLE_PATH + ", locale: " + param.locale + ", encoding: " + param.encoding);
-        assetManager.load(MyGame.BUNDLE_PATH, I18NBundle.class, param);
+    private static I18NBundle createBundle(Locale locale) {
+        return I18NBundle.createBundle(Gdx.files.internal(BUNDLE_PATH), locale, "UTF-8");
+    }
 
-        // Zakończ ładowanie assetu synchronicznie
-        log.debug("Calling assetManager.finishLoadingAsset(BUNDLE_PATH) to load synchronously...");
-        assetManager.finishLoadingAsset(MyGame.BUNDLE_PATH);
-        log.debug("assetManager.finishLoadingAsset(BUNDLE_PATH) completed.");
+    /**
+     * Przełącza I18NBundle na język z ustawień - bez blokowania wątku renderowania.
+     * Bundle wczytany w tle przy starcie jest podmieniany od razu; jeśli jeszcze go nie ma, parsuje się go w tle
+     * i podmienia po zakończeniu. UI ekranu jest przebudowywane w następnej klatce (wywołanie przychodzi zwykle
+     * z listenera sceny, w trakcie jej act()).
+     */
+    public void reloadI18nBundle() {
+        Locale targetLocale = settingsManager.getCurrentLocale();
+        String language = targetLocale.getLanguage();
+        log.info("Reloading I18NBundle for target locale: " + targetLocale);
 
-        if (assetManager.isLoaded(MyGame.BUNDLE_PATH, I18NBundle.class)) {
-            this.i18nBundle = assetManager.get(MyGame.BUNDLE_PATH, I18NBundle.class);
-            log.info("I18NBundle reloaded VIA ASSETMANAGER. New bundle actual locale: " + this.i18nBundle.getLocale());
-        } else {
-            log.error("CRITICAL: Failed to load new bundle from AssetManager after finishLoadingAsset in reload! Attempting direct synchronous creation as fallback.");
-            // Fallback: Spróbuj utworzyć bundle synchronicznie bezpośrednio, jeśli AssetManager zawiódł
+        I18NBundle preloaded = preloadedBundles.get(language);
+        if (preloaded != null) {
+            applyI18nBundle(preloaded);
+            return;
+        }
+        log.debug("Bundle for '" + language + "' not preloaded yet, loading in background.");
+        Thread.ofVirtual().name("HeroGame-i18n-" + language).start(() -> {
             try {
-                this.i18nBundle = I18NBundle.createBundle(Gdx.files.internal(BUNDLE_PATH), targetLocale, "UTF-8");
-                log.error("Loaded I18NBundle via direct synchronous creation as a fallback. Actual locale: " + this.i18nBundle.getLocale());
+                I18NBundle bundle = createBundle(targetLocale);
+                I18NBundle existing = preloadedBundles.putIfAbsent(language, bundle);
+                I18NBundle loaded = existing != null ? existing : bundle;
+                Gdx.app.postRunnable(() -> {
+                    // Użytkownik mógł w międzyczasie wybrać inny język - wtedy ten wynik jest już nieaktualny
+                    if (language.equals(settingsManager.getLanguage())) {
+                        applyI18nBundle(loaded);
+                    }
+                });
             } catch (GdxRuntimeException e) {
-                log.error("CRITICAL: Fallback direct bundle creation also failed! UI texts may be missing.", e);
-                // W przypadku całkowitej awarii, gra może nadal działać, ale bez poprawnych tekstów
+                log.error("CRITICAL: Failed to load I18NBundle for " + targetLocale + "! Keeping current bundle.", e);
             }
-        }
+        });
+    }
 
-        Screen currentScreen = getScreen();
-        if (currentScreen instanceof BaseScreen baseScreen) {
-            log.debug("Calling updateLocale on current screen: " + currentScreen.getClass().getSimpleName());
-            baseScreen.updateLocale(this.i18nBundle);
-        } else if (currentScreen != null) {
-            log.info("Current screen does not implement locale update method. UI text might be stale.");
-        } else {
-            log.error("Current screen is null, cannot update locale.");
-        }
+    private void applyI18nBundle(I18NBundle bundle) {
+        this.i18nBundle = bundle;
+        log.info("I18NBundle switched. New bundle actual locale: " + bundle.getLocale());
+        Gdx.app.postRunnable(() -> {
+            Screen currentScreen = getScreen();
+            if (currentScreen instanceof BaseScreen baseScreen) {
+                log.debug("Calling updateLocale on current screen: " + currentScreen.getClass().getSimpleName());
+                baseScreen.updateLocale(this.i18nBundle);
+            } else if (currentScreen != null) {
+                log.info("Current screen does not implement locale update method. UI text might be stale.");
+            }
+        });
     }
 
 
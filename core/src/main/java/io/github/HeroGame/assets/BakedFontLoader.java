@@ -0,0 +1,353 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import io.github.HeroGame.utils.AtomicFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Loader czcionek FreeType z pamięcią podręczną na dysku. Pierwsze uruchomienie generuje czcionkę przez FreeType
+ * i zapisuje strony glifów (PNG) oraz opis glifów w {@link #CACHE_DIR}; kolejne uruchomienia tylko je wczytują.
+ * <p>
+ * Klucz wpisu to skrót zawartości pliku TTF i wszystkich parametrów generowania (rozmiar, obramowanie, kolory,
+ * zestaw znaków...) - zmiana czcionki albo parametrów tworzy nowy wpis, stary po prostu przestaje być używany.
+ * Opis glifów to własny format binarny, a nie .fnt - przenosi metryki FreeType (ułamkowe ascent/descent,
+ * kerning) bez zaokrągleń, więc czcionka z pamięci podręcznej wygląda identycznie jak wygenerowana.
+ * <p>
+ * Generowanie, dekodowanie PNG i zapis idą w {@link #loadAsync} (wątek AssetManagera); w wątku GL zostaje
+ * tylko utworzenie tekstur. Tryb {@link FreeTypeFontParameter#incremental} nie jest obsługiwany.
+ */
+public class BakedFontLoader extends AsynchronousAssetLoader<BitmapFont, BakedFontLoader.BakedFontParameter> {
+    public static final String CACHE_DIR = "cache/fonts/";
+
+    private static final Logger log = new Logger(BakedFontLoader.class.getSimpleName(), Logger.DEBUG);
+    private static final int MAGIC = 0x48474654; // "HGFT"
+    private static final short VERSION = 1;
+    private static final int PAGE_SIZE = 1024;
+    private static final int KERNING_PAGE_BITS = 9; // Jak BitmapFont.LOG2_PAGE_SIZE - kerning[ch >>> 9][ch & 511]
+
+    private BakedFont baked;
+
+    public static class BakedFontParameter extends AssetLoaderParameters<BitmapFont> {
+        /** Ścieżka pliku TTF (nazwa zasobu w AssetManagerze jest tylko aliasem, jak w FreetypeFontLoader). */
+        public String fontFileName;
+        public FreeTypeFontParameter fontParameters = new FreeTypeFontParameter();
+    }
+
+    /**
+     * Czcionka gotowa do wysłania na GPU: opis glifów i strony jako Pixmapy.
+     * {@code pixmapOwner} zwalnia strony po utworzeniu tekstur (packer przy generowaniu, same Pixmapy przy odczycie).
+     */
+    private record BakedFont(BitmapFontData data, Array<Pixmap> pages, Disposable pixmapOwner) {}
+
+    public BakedFontLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, BakedFontParameter parameter) {
+        if (parameter == null || parameter.fontFileName == null) {
+            throw new GdxRuntimeException("BakedFontParameter with fontFileName is required for " + fileName);
+        }
+        baked = bake(resolve(parameter.fontFileName), parameter.fontParameters);
+    }
+
+    @Override
+    public BitmapFont loadSync(AssetManager manager, String fileName, FileHandle file, BakedFontParameter parameter) {
+        BakedFont font = baked;
+        baked = null;
+        return createFont(font, parameter.fontParameters);
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, BakedFontParameter parameter) {
+        return null;
+    }
+
+    /**
+     * Synchroniczny odpowiednik loadera dla miejsc bez AssetManagera (np. awaryjne ładowanie). Wywoływać w wątku GL.
+     */
+    public static BitmapFont loadNow(FileHandle fontFile, FreeTypeFontParameter parameters) {
+        return createFont(bake(fontFile, parameters), parameters);
+    }
+
+    private static BakedFont bake(FileHandle fontFile, FreeTypeFontParameter parameters) {
+        if (parameters.incremental) {
+            throw new GdxRuntimeException("Incremental fonts cannot be baked: " + fontFile.path());
+        }
+        String key = cacheKey(fontFile, parameters);
+        FileHandle descriptor = Gdx.files.local(CACHE_DIR + key + ".font");
+        if (descriptor.exists()) {
+            try {
+                BakedFont cached = readCache(descriptor, key);
+                log.debug("Font " + fontFile.name() + " loaded from cache " + descriptor.path());
+                return cached;
+            } catch (IOException | GdxRuntimeException e) {
+                log.error("Font cache entry " + descriptor.path() + " is unreadable, regenerating.", e);
+            }
+        }
+
+        long start = System.nanoTime();
+        BakedFont generated = generate(fontFile, parameters);
+        log.info("Font " + fontFile.name() + " generated in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        try {
+            writeCache(descriptor, key, generated);
+        } catch (IOException | GdxRuntimeException e) {
+            // Brak pamięci podręcznej nie jest błędem - następne uruchomienie po prostu wygeneruje czcionkę ponownie
+            log.error("Failed to write font cache entry " + descriptor.path(), e);
+        }
+        return generated;
+    }
+
+    private static BakedFont generate(FileHandle fontFile, FreeTypeFontParameter parameters) {
+        // Własny packer - bez niego FreeType od razu tworzy tekstury, a tu nie jesteśmy w wątku GL
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false,
+            new PixmapPacker.GuillotineStrategy());
+        Color transparent = new Color(parameters.borderWidth > 0 ? parameters.borderColor : parameters.color);
+        transparent.a = 0;
+        packer.setTransparentColor(transparent);
+
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(fontFile);
+        PixmapPacker previousPacker = parameters.packer;
+        parameters.packer = packer;
+        try {
+            BitmapFontData data = generator.generateData(parameters);
+            Array<Pixmap> pages = new Array<>();
+            for (PixmapPacker.Page page : packer.getPages()) {
+                pages.add(page.getPixmap());
+            }
+            return new BakedFont(data, pages, packer);
+        } catch (RuntimeException e) {
+            packer.dispose();
+            throw e;
+        } finally {
+            parameters.packer = previousPacker;
+            generator.dispose();
+        }
+    }
+
+    private static BitmapFont createFont(BakedFont font, FreeTypeFontParameter parameters) {
+        Array<TextureRegion> regions = new Array<>(font.pages().size);
+        try {
+            for (Pixmap page : font.pages()) {
+                Texture texture = new Texture(page, parameters.genMipMaps);
+                texture.setFilter(parameters.minFilter, parameters.magFilter);
+                regions.add(new TextureRegion(texture));
+            }
+        } finally {
+            font.pixmapOwner().dispose();
+        }
+        BitmapFont bitmapFont = new BitmapFont(font.data(), regions, true);
+        bitmapFont.setOwnsTexture(true);
+        return bitmapFont;
+    }
+
+    /**
+     * Skrót pliku czcionki i parametrów wpływających na wygląd glifów.
+     */
+    static String cacheKey(FileHandle fontFile, FreeTypeFontParameter p) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(fontFile.readBytes());
+            String settings = VERSION + "|" + p.size + "|" + p.mono + "|" + p.hinting + "|" + p.color + "|" + p.gamma
+                + "|" + p.renderCount + "|" + p.borderWidth + "|" + p.borderColor + "|" + p.borderStraight
+                + "|" + p.borderGamma + "|" + p.shadowOffsetX + "|" + p.shadowOffsetY + "|" + p.shadowColor
+                + "|" + p.spaceX + "|" + p.spaceY + "|" + p.padTop + "|" + p.padLeft + "|" + p.padBottom
+                + "|" + p.padRight + "|" + p.kerning + "|" + p.flip + "|" + p.characters;
+            digest.update(settings.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(fontFile.nameWithoutExtension()).append('-').append(p.size).append('-');
+            for (byte b : digest.digest()) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new GdxRuntimeException("SHA-1 not available", e);
+        }
+    }
+
+    private static FileHandle pageFile(FileHandle descriptor, String key, int page) {
+        return descriptor.sibling(key + "_" + page + ".png");
+    }
+
+    private static void writeCache(FileHandle descriptor, String key, BakedFont font) throws IOException {
+        Array<Pixmap> pages = font.pages();
+        for (int i = 0; i < pages.size; i++) {
+            PixmapIO.writePNG(pageFile(descriptor, key, i), pages.get(i));
+        }
+
+        // Opis na końcu i przez plik tymczasowy - istnienie opisu oznacza kompletny wpis
+        FileHandle temp = descriptor.sibling(descriptor.name() + ".tmp");
+        BitmapFontData data = font.data();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(temp.write(false)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeUTF(data.name != null ? data.name : key);
+            out.writeBoolean(data.flipped);
+            out.writeBoolean(data.markupEnabled);
+            float[] metrics = {data.padTop, data.padRight, data.padBottom, data.padLeft, data.lineHeight, data.capHeight,
+                data.ascent, data.descent, data.down, data.blankLineScale, data.scaleX, data.scaleY, data.cursorX,
+                data.spaceXadvance, data.xHeight};
+            for (float metric : metrics) {
+                out.writeFloat(metric);
+            }
+            out.writeByte(pages.size);
+
+            int glyphCount = 0;
+            for (Glyph[] page : data.glyphs) {
+                if (page == null) continue;
+                for (Glyph glyph : page) {
+                    if (glyph != null) glyphCount++;
+                }
+            }
+            out.writeInt(glyphCount);
+            for (Glyph[] page : data.glyphs) {
+                if (page == null) continue;
+                for (Glyph glyph : page) {
+                    if (glyph != null) writeGlyph(out, glyph);
+                }
+            }
+            out.writeBoolean(data.missingGlyph != null);
+            if (data.missingGlyph != null) {
+                writeGlyph(out, data.missingGlyph);
+            }
+        }
+        AtomicFiles.replace(temp, descriptor);
+        log.debug("Font cache entry written: " + descriptor.path());
+    }
+
+    private static void writeGlyph(DataOutputStream out, Glyph glyph) throws IOException {
+        out.writeInt(glyph.id);
+        out.writeInt(glyph.srcX);
+        out.writeInt(glyph.srcY);
+        out.writeInt(glyph.width);
+        out.writeInt(glyph.height);
+        out.writeInt(glyph.xoffset);
+        out.writeInt(glyph.yoffset);
+        out.writeInt(glyph.xadvance);
+        out.writeByte(glyph.page);
+        out.writeBoolean(glyph.fixedWidth);
+
+        int pairs = 0;
+        if (glyph.kerning != null) {
+            for (byte[] page : glyph.kerning) {
+                if (page == null) continue;
+                for (byte value : page) {
+                    if (value != 0) pairs++;
+                }
+            }
+        }
+        out.writeShort(pairs);
+        if (pairs == 0) return;
+        for (int pageIndex = 0; pageIndex < glyph.kerning.length; pageIndex++) {
+            byte[] page = glyph.kerning[pageIndex];
+            if (page == null) continue;
+            for (int i = 0; i < page.length; i++) {
+                if (page[i] != 0) {
+                    out.writeChar((pageIndex << KERNING_PAGE_BITS) | i);
+                    out.writeByte(page[i]);
+                }
+            }
+        }
+    }
+
+    private static BakedFont readCache(FileHandle descriptor, String key) throws IOException {
+        BitmapFontData data = new BitmapFontData();
+        int pageCount;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(descriptor.read()))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Not a font cache entry of version " + VERSION);
+            }
+            data.name = in.readUTF();
+            data.flipped = in.readBoolean();
+            data.markupEnabled = in.readBoolean();
+            data.padTop = in.readFloat();
+            data.padRight = in.readFloat();
+            data.padBottom = in.readFloat();
+            data.padLeft = in.readFloat();
+            data.lineHeight = in.readFloat();
+            data.capHeight = in.readFloat();
+            data.ascent = in.readFloat();
+            data.descent = in.readFloat();
+            data.down = in.readFloat();
+            data.blankLineScale = in.readFloat();
+            data.scaleX = in.readFloat();
+            data.scaleY = in.readFloat();
+            data.cursorX = in.readFloat();
+            data.spaceXadvance = in.readFloat();
+            data.xHeight = in.readFloat();
+            pageCount = in.readUnsignedByte();
+
+            int glyphCount = in.readInt();
+            for (int i = 0; i < glyphCount; i++) {
+                Glyph glyph = readGlyph(in, pageCount);
+                data.setGlyph(glyph.id, glyph);
+            }
+            if (in.readBoolean()) {
+                data.missingGlyph = readGlyph(in, pageCount);
+            }
+        }
+
+        Array<Pixmap> pages = new Array<>(pageCount);
+        try {
+            for (int i = 0; i < pageCount; i++) {
+                pages.add(new Pixmap(pageFile(descriptor, key, i)));
+            }
+        } catch (GdxRuntimeException e) {
+            for (Pixmap page : pages) page.dispose();
+            throw e;
+        }
+        return new BakedFont(data, pages, () -> {
+            for (Pixmap page : pages) page.dispose();
+        });
+    }
+
+    private static Glyph readGlyph(DataInputStream in, int pageCount) throws IOException {
+        Glyph glyph = new Glyph();
+        glyph.id = in.readInt();
+        glyph.srcX = in.readInt();
+        glyph.srcY = in.readInt();
+        glyph.width = in.readInt();
+        glyph.height = in.readInt();
+        glyph.xoffset = in.readInt();
+        glyph.yoffset = in.readInt();
+        glyph.xadvance = in.readInt();
+        glyph.page = in.readUnsignedByte();
+        glyph.fixedWidth = in.readBoolean();
+        if (glyph.page >= pageCount) {
+            throw new IOException("Glyph " + glyph.id + " references missing page " + glyph.page);
+        }
+        int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            glyph.setKerning(in.readChar(), in.readByte());
+        }
+        return glyph;
+    }
+}
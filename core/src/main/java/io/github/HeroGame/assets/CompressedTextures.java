@@ -0,0 +1,99 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import com.crashinvaders.basisu.gdx.BasisuTextureLoader;
+import com.crashinvaders.basisu.gdx.Ktx2TextureLoader;
+
+/**
+ * Tekstury skompresowane w formacie Basis Universal ({@code .ktx2}, {@code .basis}) przez AssetManager.
+ * Plik leży obok PNG pod tą samą nazwą ({@code Background.png} -> {@code Background.ktx2}); przy wczytywaniu
+ * basisu-gdx transkoduje go do najlepszego formatu obsługiwanego przez GPU (BC7/DXT na desktopie), więc tekstura
+ * zajmuje w VRAM kilka razy mniej niż RGBA8888 i nie trzeba jej dekodować z PNG.
+ * <p>
+ * PNG zostaje jako wariant zapasowy: gdy pliku skompresowanego nie ma, biblioteka natywna się nie wczyta
+ * albo transkodowanie się nie powiedzie, ładowany jest PNG. Po pierwszym takim błędzie kompresja jest
+ * wyłączana do końca działania gry.
+ * <p>
+ * Pliki {@code .ktx2} tworzy narzędzie {@code basisu} z PNG, np. {@code basisu -ktx2 -uastc Background.png}.
+ */
+public final class CompressedTextures {
+    private static final Logger log = new Logger(CompressedTextures.class.getSimpleName(), Logger.DEBUG);
+    // Kolejność preferencji - KTX2 jest nowszym kontenerem tych samych danych
+    private static final String[] EXTENSIONS = {".ktx2", ".basis"};
+
+    private static volatile boolean supported;
+
+    private CompressedTextures() {
+    }
+
+    /**
+     * Rejestruje loadery {@code .ktx2}/{@code .basis} dla {@link Texture}. Bez biblioteki natywnej
+     * (albo w obrazie natywnym GraalVM) wszystko dalej działa na PNG.
+     */
+    public static void register(AssetManager manager, FileHandleResolver resolver) {
+        if (!System.getProperty("org.graalvm.nativeimage.imagecode", "").isEmpty()) {
+            // Obraz natywny nie ma konfiguracji JNI dla basisu-wrapper - tylko PNG
+            supported = false;
+            return;
+        }
+        try {
+            manager.setLoader(Texture.class, ".ktx2", new Ktx2TextureLoader(resolver));
+            manager.setLoader(Texture.class, ".basis", new BasisuTextureLoader(resolver));
+            supported = true;
+        } catch (LinkageError | RuntimeException e) {
+            supported = false;
+            log.error("Basis Universal textures unavailable, using PNG only", e);
+        }
+    }
+
+    /**
+     * @return Ścieżka wariantu skompresowanego, jeśli istnieje i jest obsługiwany; w przeciwnym razie {@code pngPath}.
+     */
+    public static String resolve(String pngPath) {
+        if (!supported) return pngPath;
+        FileHandle png = Gdx.files.internal(pngPath);
+        for (String extension : EXTENSIONS) {
+            FileHandle compressed = png.sibling(png.nameWithoutExtension() + extension);
+            if (compressed.exists()) return compressed.path();
+        }
+        return pngPath;
+    }
+
+    /**
+     * Wczytuje teksturę przez AssetManager od razu (jak {@link AssetManager#finishLoadingAsset(String)}),
+     * najpierw w wariancie skompresowanym, a po błędzie z PNG. Teksturą zarządza AssetManager.
+     * Wywoływać w wątku GL.
+     */
+    public static Texture loadNow(AssetManager manager, String pngPath) {
+        String path = resolve(pngPath);
+        if (!path.equals(pngPath)) {
+            try {
+                Texture texture = finishLoading(manager, path);
+                log.debug("Loaded compressed texture: " + path);
+                return texture;
+            } catch (GdxRuntimeException e) {
+                supported = false; // GPU albo biblioteka tego nie obsługuje - nie próbujemy przy kolejnych plikach
+                log.error("Failed to load compressed texture " + path + ", falling back to PNG", e);
+            }
+        }
+        return finishLoading(manager, pngPath);
+    }
+
+    private static Texture finishLoading(AssetManager manager, String path) {
+        if (!manager.isLoaded(path, Texture.class)) {
+            manager.load(path, Texture.class);
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, Texture.class);
+    }
+
+    public static boolean isSupported() {
+        return supported;
+    }
+}
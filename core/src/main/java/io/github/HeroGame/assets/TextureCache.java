@@ -0,0 +1,372 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Iterator;
+
+/**
+ * Współdzielone tekstury gry z licznikiem odwołań, ładowane przez {@link TexturePipeline}.
+ * Ekrany i encje biorą teksturę przez {@link #acquire(FileHandle)} i oddają przez {@link #release(TextureRequest)}
+ * zamiast tworzyć i zwalniać własne kopie - nowy {@link io.github.HeroGame.screens.GameScreen} po wczytaniu zapisu
+ * dostaje te same tekstury, które zwolnił poprzedni.
+ * <p>
+ * Co dzieje się z teksturą bez odwołań, decyduje {@link RetentionPolicy}. Kluczem jest ścieżka pliku.
+ * <p>
+ * Pilnuje też budżetu pamięci GPU: zna szacowany rozmiar każdej tekstury i moment, w którym ostatnio była rysowana
+ * ({@link #markDrawn(Texture)}, wołane przez {@link TrackingSpriteBatch}). Po przekroczeniu budżetu zwalnia
+ * najdawniej rysowane - nieużywane całkiem, a używane zastępuje pikselem 1x1 w tym samym obiekcie {@link Texture}.
+ * Regiony trzymające taką teksturę działają dalej, a przy następnym rysowaniu obraz wczytuje się w tle ponownie.
+ * {@link #acquire(FileHandle)} i {@link #finish(TextureRequest)} wczytują ją od razu - zwracają zawsze teksturę z pełnym
+ * obrazem, bo wywołujący zwykle czytają jej wymiary albo tną ją na regiony.
+ * <p>
+ * Wszystkie metody wywoływać w wątku GL.
+ */
+public final class TextureCache implements Disposable {
+
+    public enum RetentionPolicy {
+        /** Zwolnij teksturę, gdy tylko zniknie ostatnie odwołanie. */
+        RELEASE_IMMEDIATELY,
+        /** Trzymaj nieużywaną teksturę przez {@link #getRetentionSeconds()} - wystarcza na przejście między ekranami. */
+        KEEP_FOR_TIME,
+        /** Trzymaj wszystko do {@link #dispose()}. */
+        KEEP_UNTIL_DISPOSED
+    }
+
+    public static final float DEFAULT_RETENTION_SECONDS = 30f;
+    public static final long DEFAULT_BUDGET_BYTES = 256L * 1024 * 1024;
+
+    private static final Logger log = new Logger(TextureCache.class.getSimpleName(), Logger.DEBUG);
+
+    private final TexturePipeline pipeline;
+    private final ObjectMap<String, Entry> entries = new ObjectMap<>();
+    private final ObjectMap<Texture, Entry> byTexture = new ObjectMap<>(); // Tekstury już na GPU - dla markDrawn()
+    private RetentionPolicy retentionPolicy;
+    private float retentionSeconds;
+    private long budgetBytes = DEFAULT_BUDGET_BYTES;
+    private long residentBytes;
+    private int residentCount;
+    private int evictionCount;
+    private long frame;
+    private Pixmap placeholder; // 1x1 przezroczysty - treść tekstur zwolnionych z GPU
+
+    private static final class Entry {
+        final TextureRequest request;
+        int references;
+        float idleSeconds;
+
+        Texture texture; // Ustawiana, gdy pierwsze wczytanie się zakończy
+        long bytes;
+        boolean resident;
+        long lastDrawnFrame;
+        TextureRequest reload; // Ponowne wczytanie po zwolnieniu z GPU
+        boolean reloadFailed;
+
+        Entry(TextureRequest request) {
+            this.request = request;
+        }
+    }
+
+    public TextureCache(TexturePipeline pipeline) {
+        this(pipeline, RetentionPolicy.KEEP_FOR_TIME, DEFAULT_RETENTION_SECONDS);
+    }
+
+    public TextureCache(TexturePipeline pipeline, RetentionPolicy retentionPolicy, float retentionSeconds) {
+        this.pipeline = pipeline;
+        this.retentionPolicy = retentionPolicy;
+        this.retentionSeconds = retentionSeconds;
+    }
+
+    /**
+     * Bierze odwołanie do tekstury: istniejącej (także już nieużywanej, jeśli polityka ją zatrzymała)
+     * albo zleca jej wczytanie. Każde {@code acquire} wymaga jednego {@link #release(TextureRequest)}.
+     */
+    public TextureRequest acquire(FileHandle file) {
+        String key = file.path();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(pipeline.load(file));
+            entries.put(key, entry);
+        } else {
+            if (entry.references == 0) {
+                log.debug("Reusing retained texture: " + key);
+            }
+            ensureResident(entry);
+        }
+        entry.references++;
+        entry.idleSeconds = 0f;
+        return entry.request;
+    }
+
+    /**
+     * Jak {@link #acquire(FileHandle)}, ale czeka na teksturę ({@link TexturePipeline#finish(TextureRequest)}).
+     *
+     * @return Tekstura albo null, jeśli wczytanie się nie powiodło (odwołanie i tak trzeba oddać).
+     */
+    public Texture finish(TextureRequest request) {
+        Texture texture = pipeline.finish(request);
+        Entry entry = entries.get(request.getFile().path());
+        if (entry != null && entry.request == request) {
+            register(entry);
+            ensureResident(entry);
+        }
+        return texture;
+    }
+
+    public void release(TextureRequest request) {
+        String key = request.getFile().path();
+        Entry entry = entries.get(key);
+        if (entry == null || entry.request != request || entry.references == 0) {
+            log.error("Release of texture that is not held: " + key);
+            return;
+        }
+        entry.references--;
+        if (entry.references == 0 && retentionPolicy == RetentionPolicy.RELEASE_IMMEDIATELY) {
+            entries.remove(key);
+            evict(entry);
+        }
+    }
+
+    /**
+     * Zapisuje, że tekstura jest rysowana w tej klatce; jeśli była zwolniona z GPU, zleca jej ponowne wczytanie.
+     * Tekstury spoza pamięci podręcznej są pomijane.
+     */
+    public void markDrawn(Texture texture) {
+        Entry entry = byTexture.get(texture);
+        if (entry == null) return;
+        entry.lastDrawnFrame = frame;
+        if (!entry.resident && entry.reload == null && !entry.reloadFailed) {
+            entry.reload = pipeline.reload(entry.request.getFile(), texture);
+            log.debug("Reloading evicted texture: " + entry.request.getFile().path());
+        }
+    }
+
+    /**
+     * Rejestruje gotowe tekstury, zwalnia nieużywane po czasie przechowania i pilnuje budżetu pamięci GPU.
+     * Wywoływać raz na klatkę, po rysowaniu.
+     */
+    public void update(float delta) {
+        boolean expire = retentionPolicy == RetentionPolicy.KEEP_FOR_TIME;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.texture == null) {
+                register(entry);
+            } else if (entry.reload != null && entry.reload.isDone()) {
+                finishReload(entry);
+            }
+            if (!expire || entry.references > 0) continue;
+            entry.idleSeconds += delta;
+            if (entry.idleSeconds >= retentionSeconds) {
+                it.remove();
+                evict(entry);
+            }
+        }
+        enforceBudget();
+        frame++;
+    }
+
+    private void register(Entry entry) {
+        if (entry.texture != null || !entry.request.isDone()) return;
+        Texture texture = entry.request.getTexture();
+        if (texture == null) return; // Wczytanie się nie powiodło - nie ma czego liczyć
+        entry.texture = texture;
+        entry.bytes = estimateBytes(texture);
+        entry.lastDrawnFrame = frame; // Nowa tekstura nie jest pierwszą do zwolnienia
+        setResident(entry, true);
+        byTexture.put(texture, entry);
+    }
+
+    /**
+     * Przywraca na GPU teksturę zwolnioną przez budżet i czeka na to (także na wczytywanie zlecone już w tle),
+     * zamiast oddać piksel zastępczy 1x1.
+     */
+    private void ensureResident(Entry entry) {
+        if (entry.texture == null || entry.resident) return;
+        if (entry.reload == null) {
+            entry.reload = pipeline.reload(entry.request.getFile(), entry.texture);
+            log.debug("Reloading evicted texture now: " + entry.request.getFile().path());
+        }
+        pipeline.finish(entry.reload);
+        finishReload(entry);
+        entry.lastDrawnFrame = frame; // Nie zwalniać jej znowu w tej samej klatce
+    }
+
+    private void finishReload(Entry entry) {
+        if (entry.reload.getTexture() != null) {
+            setResident(entry, true);
+        } else {
+            entry.reloadFailed = true; // Bez ponawiania co klatkę - zostaje piksel zastępczy
+            log.error("Failed to reload texture: " + entry.request.getFile().path(), entry.reload.getError());
+        }
+        entry.reload = null;
+    }
+
+    private void enforceBudget() {
+        while (residentBytes > budgetBytes) {
+            Entry victim = null;
+            for (Entry entry : entries.values()) {
+                // Rysowanych w tej klatce nie ruszamy - wróciłyby od razu
+                if (entry.resident && entry.lastDrawnFrame < frame
+                    && (victim == null || entry.lastDrawnFrame < victim.lastDrawnFrame)) {
+                    victim = entry;
+                }
+            }
+            if (victim == null) return; // Wszystko na GPU jest właśnie w użyciu - budżet za mały na tę scenę
+            evictionCount++;
+            if (victim.references == 0) {
+                entries.remove(victim.request.getFile().path());
+                evict(victim);
+            } else {
+                unload(victim);
+            }
+        }
+    }
+
+    /**
+     * Zwalnia pamięć GPU tekstury, zostawiając obiekt {@link Texture} z pikselem 1x1.
+     */
+    private void unload(Entry entry) {
+        if (placeholder == null) {
+            placeholder = new Pixmap(1, 1, Pixmap.Format.RGBA8888); // Nowa Pixmap jest wyzerowana - przezroczysta
+        }
+        entry.texture.load(new PixmapTextureData(placeholder, null, false, false));
+        setResident(entry, false);
+        entry.reloadFailed = false;
+        log.debug("Texture evicted from GPU: " + entry.request.getFile().path() + " (" + (entry.bytes / 1024) + " KB)");
+    }
+
+    /**
+     * Usuwa teksturę z pamięci podręcznej i zwalnia ją. Wpis musi być już wyjęty z {@link #entries}.
+     */
+    private void evict(Entry entry) {
+        TextureRequest request = entry.request;
+        if (entry.reload != null) {
+            entry.reload.cancel(); // Piksele nie trafią już do zwalnianej tekstury
+            entry.reload = null;
+        }
+        if (entry.texture != null) {
+            byTexture.remove(entry.texture);
+            setResident(entry, false);
+        }
+        if (request.isDone()) {
+            Texture texture = request.getTexture();
+            if (texture != null) texture.dispose();
+        } else {
+            request.cancel();
+        }
+        log.debug("Texture released: " + request.getFile().path());
+    }
+
+    private void setResident(Entry entry, boolean resident) {
+        if (entry.resident == resident) return;
+        entry.resident = resident;
+        residentBytes += resident ? entry.bytes : -entry.bytes;
+        residentCount += resident ? 1 : -1;
+    }
+
+    /**
+     * Szacowany rozmiar tekstury na GPU: piksele razy bajty na piksel formatu, plus 1/3 na mipmapy.
+     */
+    static long estimateBytes(Texture texture) {
+        TextureData data = texture.getTextureData();
+        long bytes = (long) texture.getWidth() * texture.getHeight() * bytesPerPixel(data.getFormat());
+        return data.useMipMaps() ? bytes * 4 / 3 : bytes;
+    }
+
+    private static int bytesPerPixel(Pixmap.Format format) {
+        if (format == null) return 4;
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    public void setRetentionPolicy(RetentionPolicy retentionPolicy, float retentionSeconds) {
+        this.retentionPolicy = retentionPolicy;
+        this.retentionSeconds = retentionSeconds;
+        if (retentionPolicy == RetentionPolicy.RELEASE_IMMEDIATELY) {
+            // Nieużywane trzymane dotąd - od razu
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.references == 0) {
+                    it.remove();
+                    evict(entry);
+                }
+            }
+        }
+    }
+
+    public RetentionPolicy getRetentionPolicy() {
+        return retentionPolicy;
+    }
+
+    public float getRetentionSeconds() {
+        return retentionSeconds;
+    }
+
+    /**
+     * Budżet pamięci GPU na tekstury z tej pamięci podręcznej. Egzekwowany w {@link #update(float)}.
+     */
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * @return Szacowana pamięć GPU zajęta przez tekstury obecnie na GPU.
+     */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public int getResidentCount() {
+        return residentCount;
+    }
+
+    /**
+     * @return Ile razy od startu zwolniono teksturę, by zmieścić się w budżecie.
+     */
+    public int getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return Liczba tekstur w pamięci podręcznej, także nieużywanych, zwolnionych z GPU i jeszcze wczytywanych.
+     */
+    public int size() {
+        return entries.size;
+    }
+
+    @Override
+    public void dispose() {
+        for (Entry entry : entries.values()) {
+            if (entry.references > 0) {
+                log.debug("Texture still referenced at dispose: " + entry.request.getFile().path());
+            }
+            evict(entry);
+        }
+        entries.clear();
+        if (placeholder != null) {
+            placeholder.dispose();
+            placeholder = null;
+        }
+    }
+}
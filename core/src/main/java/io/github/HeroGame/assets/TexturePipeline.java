@@ -0,0 +1,297 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wczytywanie tekstur poza AssetManagerem: PNG są dekodowane do {@link Pixmap} w puli wątków (po jednym na rdzeń),
+ * a {@link #update()} wysyła gotowe obrazy na GPU w wątku GL tylko przez określony czas na klatkę.
+ * <p>
+ * Duże obrazy (powyżej {@link #STRIPE_BYTES}) idą na GPU pasami wierszy przez {@code glTexSubImage2D} -
+ * arkusz 2048x2048 rozkłada się na kilka klatek zamiast jednej długiej. Każde wywołanie {@link #update()}
+ * wysyła co najmniej jeden pas, więc kolejka zawsze posuwa się naprzód.
+ * <p>
+ * Wszystkie metody poza {@link #load(FileHandle)} wywoływać w wątku GL.
+ */
+public final class TexturePipeline implements Disposable {
+    public static final long DEFAULT_UPLOAD_BUDGET_NANOS = 2_000_000L; // 2 ms z klatki na wysyłanie tekstur
+    static final int STRIPE_BYTES = 256 * 1024;
+
+    private static final Logger log = new Logger(TexturePipeline.class.getSimpleName(), Logger.DEBUG);
+
+    private final ExecutorService decoder;
+    private final ConcurrentLinkedQueue<TextureRequest> decoded = new ConcurrentLinkedQueue<>();
+    private final long uploadBudgetNanos;
+    private TextureRequest striping; // Duży obraz wysyłany pasami w kolejnych klatkach
+    private volatile boolean disposed;
+
+    public TexturePipeline() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_UPLOAD_BUDGET_NANOS);
+    }
+
+    public TexturePipeline(int decodeThreads, long uploadBudgetNanos) {
+        this.uploadBudgetNanos = uploadBudgetNanos;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.decoder = Executors.newFixedThreadPool(Math.max(1, decodeThreads), runnable -> {
+            Thread thread = new Thread(runnable, "HeroGame-decode-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true); // Nie blokuje wyjścia z gry
+            return thread;
+        });
+    }
+
+    /**
+     * Zleca dekodowanie pliku. Można wołać z dowolnego wątku.
+     */
+    public TextureRequest load(FileHandle file) {
+        return submit(new TextureRequest(file, null));
+    }
+
+    /**
+     * Wczytuje plik ponownie do istniejącej tekstury ({@link Texture#load(TextureData)}) - ten sam obiekt
+     * i uchwyt GL, więc trzymające go regiony działają dalej. Dla tekstur zwolnionych z GPU przez {@link TextureCache}.
+     */
+    TextureRequest reload(FileHandle file, Texture target) {
+        return submit(new TextureRequest(file, target));
+    }
+
+    private TextureRequest submit(TextureRequest request) {
+        request.decodeTask = decoder.submit(() -> decode(request));
+        return request;
+    }
+
+    private void decode(TextureRequest request) {
+        if (disposed) return;
+        // Anulowane zlecenie też trafia do kolejki - begin() oznacza je jako zakończone bez wysyłania na GPU
+        if (!request.cancelled) {
+            try {
+                Pixmap pixmap = new Pixmap(request.getFile());
+                if (disposed) {
+                    pixmap.dispose();
+                    return;
+                }
+                request.pixmap = pixmap;
+            } catch (RuntimeException e) {
+                request.error = e;
+            }
+        }
+        decoded.add(request);
+    }
+
+    /**
+     * Wysyła zdekodowane obrazy na GPU, dopóki nie minie budżet czasu. Wywoływać raz na klatkę.
+     */
+    public void update() {
+        long deadline = System.nanoTime() + uploadBudgetNanos;
+        do {
+            if (striping == null) {
+                TextureRequest next = decoded.poll();
+                if (next == null) return;
+                begin(next);
+            } else {
+                uploadStripe(striping);
+            }
+        } while (System.nanoTime() < deadline);
+    }
+
+    /**
+     * Kończy zlecenie od razu: czeka na dekodowanie i wysyła całość bez dzielenia na klatki.
+     * Dla miejsc, które potrzebują tekstury natychmiast - dekodowanie innych zleceń nadal idzie równolegle.
+     *
+     * @return Tekstura albo null, jeśli wczytanie się nie powiodło.
+     */
+    public Texture finish(TextureRequest request) {
+        if (request.isDone()) return request.getTexture();
+        try {
+            request.decodeTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while decoding " + request.getFile().path(), e);
+        } catch (ExecutionException e) {
+            request.error = new GdxRuntimeException("Failed to decode " + request.getFile().path(), e.getCause());
+        }
+        if (request == striping) {
+            while (!request.isDone()) uploadStripe(request);
+        } else if (decoded.remove(request) || request.error != null || request.cancelled) {
+            begin(request);
+            while (!request.isDone()) uploadStripe(request);
+        }
+        return request.getTexture();
+    }
+
+    private void begin(TextureRequest request) {
+        Pixmap pixmap = request.pixmap;
+        if (pixmap == null || request.cancelled) {
+            if (pixmap != null) pixmap.dispose();
+            request.pixmap = null;
+            if (request.error != null) {
+                log.error("Failed to load texture: " + request.getFile().path(), request.error);
+            }
+            request.complete();
+            return;
+        }
+        ByteBuffer pixels = pixmap.getPixels();
+        if (pixels.remaining() <= STRIPE_BYTES) {
+            request.texture = upload(request, new PixmapTextureData(pixmap, null, false, false));
+            finishUpload(request);
+        } else {
+            // Pamięć tekstury bez danych - wiersze dojdą pasami w uploadStripe()
+            request.texture = upload(request, new EmptyTextureData(pixmap));
+            striping = request;
+            uploadStripe(request);
+        }
+    }
+
+    private static Texture upload(TextureRequest request, TextureData data) {
+        if (request.target == null) return new Texture(data);
+        request.target.load(data);
+        return request.target;
+    }
+
+    private void uploadStripe(TextureRequest request) {
+        Pixmap pixmap = request.pixmap;
+        if (request.cancelled) {
+            if (request.target == null) request.texture.dispose(); // Cudzej tekstury nie zwalniamy
+            request.texture = null;
+            finishUpload(request);
+            return;
+        }
+        int width = pixmap.getWidth();
+        int height = pixmap.getHeight();
+        ByteBuffer pixels = pixmap.getPixels();
+        int rowBytes = pixels.capacity() / height;
+        int rows = Math.min(height - request.uploadedRows, Math.max(1, STRIPE_BYTES / rowBytes));
+
+        request.texture.bind();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        pixels.position(request.uploadedRows * rowBytes);
+        Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, 0, request.uploadedRows, width, rows,
+            pixmap.getGLFormat(), pixmap.getGLType(), pixels);
+        pixels.position(0);
+        request.uploadedRows += rows;
+        if (request.uploadedRows == height) {
+            finishUpload(request);
+        }
+    }
+
+    private void finishUpload(TextureRequest request) {
+        if (request.pixmap != null) {
+            request.pixmap.dispose();
+            request.pixmap = null;
+        }
+        if (striping == request) {
+            striping = null;
+        }
+        request.complete();
+    }
+
+    /**
+     * @return Czy są zlecenia czekające na wysłanie na GPU (zdekodowane albo w trakcie wysyłania pasami).
+     */
+    public boolean hasPendingUploads() {
+        return striping != null || !decoded.isEmpty();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        decoder.shutdownNow();
+        if (striping != null) {
+            striping.cancel();
+            uploadStripe(striping);
+        }
+        TextureRequest request;
+        while ((request = decoded.poll()) != null) {
+            if (request.pixmap != null) request.pixmap.dispose();
+        }
+    }
+
+    /**
+     * Dane tekstury bez pikseli: {@code glTexImage2D} z pustym buforem rezerwuje pamięć na GPU w formacie obrazu.
+     */
+    private static final class EmptyTextureData implements TextureData {
+        private final int width;
+        private final int height;
+        private final Pixmap.Format format;
+        private final int glInternalFormat;
+        private final int glFormat;
+        private final int glType;
+
+        EmptyTextureData(Pixmap pixmap) {
+            this.width = pixmap.getWidth();
+            this.height = pixmap.getHeight();
+            this.format = pixmap.getFormat();
+            this.glInternalFormat = pixmap.getGLInternalFormat();
+            this.glFormat = pixmap.getGLFormat();
+            this.glType = pixmap.getGLType();
+        }
+
+        @Override
+        public TextureDataType getType() {
+            return TextureDataType.Custom;
+        }
+
+        @Override
+        public boolean isPrepared() {
+            return true;
+        }
+
+        @Override
+        public void prepare() {
+        }
+
+        @Override
+        public Pixmap consumePixmap() {
+            throw new GdxRuntimeException("EmptyTextureData has no pixmap");
+        }
+
+        @Override
+        public boolean disposePixmap() {
+            return false;
+        }
+
+        @Override
+        public void consumeCustomData(int target) {
+            Gdx.gl.glTexImage2D(target, 0, glInternalFormat, width, height, 0, glFormat, glType, null);
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public Pixmap.Format getFormat() {
+            return format;
+        }
+
+        @Override
+        public boolean useMipMaps() {
+            return false;
+        }
+
+        @Override
+        public boolean isManaged() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+
+import java.util.concurrent.Future;
+
+/**
+ * Zlecenie wczytania tekstury przez {@link TexturePipeline}. Dekodowanie odbywa się w puli wątków,
+ * wysłanie na GPU w wątku GL, w kawałkach mieszczących się w budżecie klatki.
+ * <p>
+ * Stan czytany z wątku GL: {@link #isDone()}, {@link #getTexture()}, {@link #getError()}.
+ * Gotowa tekstura należy do tego, kto złożył zlecenie - przy {@link TextureCache} do pamięci podręcznej.
+ */
+public final class TextureRequest {
+    private final FileHandle file;
+    volatile Pixmap pixmap; // Wynik dekodowania - przejmuje go wątek GL
+    volatile RuntimeException error;
+    volatile boolean cancelled;
+    Future<?> decodeTask;
+    final Texture target; // Przy ponownym wczytaniu: istniejąca tekstura, do której trafią piksele
+
+    Texture texture; // Tylko wątek GL
+    int uploadedRows; // Wysyłanie pasami dużych obrazów - ile wierszy jest już na GPU
+    private boolean done;
+
+    TextureRequest(FileHandle file, Texture target) {
+        this.file = file;
+        this.target = target;
+    }
+
+    public FileHandle getFile() {
+        return file;
+    }
+
+    /**
+     * @return true, gdy tekstura jest w całości na GPU albo wczytanie się nie powiodło ({@link #getError()}).
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return Tekstura po zakończeniu wczytywania; null, jeśli jeszcze trwa albo się nie powiodło.
+     */
+    public Texture getTexture() {
+        return done ? texture : null;
+    }
+
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * Rezygnuje ze zlecenia: zdekodowany obraz zostanie zwolniony zamiast wysłany na GPU.
+     * Tekstury już gotowej nie zwalnia - ta należy do wywołującego.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    void complete() {
+        done = true;
+    }
+}
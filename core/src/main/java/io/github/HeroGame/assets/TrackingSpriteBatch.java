@@ -0,0 +1,23 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * SpriteBatch zgłaszający {@link TextureCache} każdą rysowaną teksturę. Batch woła {@link #switchTexture(Texture)}
+ * przy każdej zmianie tekstury (i przy pierwszym rysowaniu po {@code begin()}), więc koszt to jedno wyszukiwanie
+ * w mapie na zmianę tekstury, a nie na każdy sprite.
+ */
+public class TrackingSpriteBatch extends SpriteBatch {
+    private final TextureCache textureCache;
+
+    public TrackingSpriteBatch(TextureCache textureCache) {
+        this.textureCache = textureCache;
+    }
+
+    @Override
+    protected void switchTexture(Texture texture) {
+        textureCache.markDrawn(texture);
+        super.switchTexture(texture);
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.HeroGame.utils.AtomicFiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Wypala skin interfejsu do plików: spakowany atlas ({@code .atlas} + PNG) i {@code uiskin.json} ze stylami.
+ * Dotychczas {@code MyGame.finishLoading} składał te same tekstury i style z Pixmap przy każdym starcie.
+ * <p>
+ * Pierwsza linia JSON-a to znacznik {@link #BAKE_VERSION} i nazwy czcionki - pliki z innym znacznikiem są
+ * wypalane od nowa. Po zmianie tekstur lub stylów poniżej trzeba podbić {@link #BAKE_VERSION}.
+ * Wszystko tutaj to praca na CPU (Pixmapy, zapis plików), bez tekstur - można wołać poza wątkiem GL.
+ */
+final class UiSkinBaker {
+    static final int BAKE_VERSION = 1;
+
+    private static final Logger log = new Logger(UiSkinBaker.class.getSimpleName(), Logger.DEBUG);
+    private static final int PAGE_SIZE = 128;
+    private static final int CHECKBOX_SIZE = 32;
+
+    private UiSkinBaker() {
+    }
+
+    static String stamp(String fontName) {
+        return "// HeroGame UI skin v" + BAKE_VERSION + " font=" + fontName;
+    }
+
+    /**
+     * Wypala skin, jeśli pliki nie istnieją albo pochodzą z innej wersji.
+     *
+     * @param skinFile plik JSON skina; atlas leży obok, pod tą samą nazwą z rozszerzeniem {@code .atlas}.
+     * @param fontName nazwa czcionki, do której odwołują się style (musi być dodana do skina przed wczytaniem JSON).
+     */
+    static void bakeIfNeeded(FileHandle skinFile, String fontName) throws IOException {
+        FileHandle atlasFile = atlasFor(skinFile);
+        String stamp = stamp(fontName);
+        if (skinFile.exists() && atlasFile.exists()) {
+            try (BufferedReader reader = skinFile.reader(1024, "UTF-8")) {
+                if (stamp.equals(reader.readLine())) return;
+            }
+        }
+        long start = System.nanoTime();
+        bake(skinFile, atlasFile, stamp, fontName);
+        log.info("UI skin baked to " + skinFile.path() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+    }
+
+    static FileHandle atlasFor(FileHandle skinFile) {
+        return skinFile.sibling(skinFile.nameWithoutExtension() + ".atlas");
+    }
+
+    private static void bake(FileHandle skinFile, FileHandle atlasFile, String stamp, String fontName) throws IOException {
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 2, false);
+        try {
+            // --- Jednolite kolory (1x1) ---
+            packSolid(packer, "white", Color.WHITE);
+            packSolid(packer, "selectbox_background", new Color(0.3f, 0.3f, 0.8f, 1f)); // Tło dla SelectBox/Dialogów
+            packSolid(packer, "list_selection", new Color(0.1f, 0.1f, 0.6f, 1f)); // Wybór na liście
+            packSolid(packer, "scrollbar_knob", new Color(0.5f, 0.5f, 1.0f, 1f)); // Suwak scrollbara
+
+            // --- Pola wyboru ---
+            Pixmap checkbox = new Pixmap(CHECKBOX_SIZE, CHECKBOX_SIZE, Pixmap.Format.RGBA8888);
+            try {
+                checkbox.setColor(Color.GRAY); checkbox.fillRectangle(0, 0, CHECKBOX_SIZE, CHECKBOX_SIZE);
+                checkbox.setColor(Color.LIGHT_GRAY); checkbox.drawRectangle(0, 0, CHECKBOX_SIZE, CHECKBOX_SIZE);
+                packer.pack("checkbox_off", checkbox);
+                checkbox.setColor(Color.LIME); checkbox.fillRectangle(0, 0, CHECKBOX_SIZE, CHECKBOX_SIZE);
+                checkbox.setColor(Color.BLACK);
+                checkbox.drawLine(CHECKBOX_SIZE / 4, CHECKBOX_SIZE / 2, CHECKBOX_SIZE / 2, CHECKBOX_SIZE * 3 / 4);
+                checkbox.drawLine(CHECKBOX_SIZE / 2, CHECKBOX_SIZE * 3 / 4, CHECKBOX_SIZE * 3 / 4, CHECKBOX_SIZE / 4);
+                checkbox.setColor(Color.WHITE); checkbox.drawRectangle(0, 0, CHECKBOX_SIZE, CHECKBOX_SIZE);
+                packer.pack("checkbox_on", checkbox);
+            } finally {
+                checkbox.dispose();
+            }
+
+            writeAtlas(packer, skinFile, atlasFile);
+        } finally {
+            packer.dispose();
+        }
+
+        // JSON na końcu i przez plik tymczasowy - znacznik w JSON-ie oznacza kompletny zestaw plików
+        FileHandle temp = skinFile.sibling(skinFile.name() + ".tmp");
+        temp.writeString(stamp + "\n" + skinJson(fontName), false, "UTF-8");
+        AtomicFiles.replace(temp, skinFile);
+    }
+
+    private static void packSolid(PixmapPacker packer, String name, Color color) {
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        try {
+            pixmap.setColor(color);
+            pixmap.fill();
+            packer.pack(name, pixmap);
+        } finally {
+            pixmap.dispose();
+        }
+    }
+
+    private static void writeAtlas(PixmapPacker packer, FileHandle skinFile, FileHandle atlasFile) {
+        StringBuilder atlas = new StringBuilder();
+        for (int i = 0; i < packer.getPages().size; i++) {
+            PixmapPacker.Page page = packer.getPages().get(i);
+            String pageName = skinFile.nameWithoutExtension() + (i == 0 ? "" : String.valueOf(i + 1)) + ".png";
+            PixmapIO.writePNG(skinFile.sibling(pageName), page.getPixmap());
+
+            atlas.append(pageName).append('\n')
+                .append("size:").append(PAGE_SIZE).append(',').append(PAGE_SIZE).append('\n')
+                .append("format:RGBA8888\n")
+                .append("filter:Nearest,Nearest\n")
+                .append("repeat:none\n");
+            for (ObjectMap.Entry<String, PixmapPacker.PixmapPackerRectangle> entry : page.getRects()) {
+                PixmapPacker.PixmapPackerRectangle rect = entry.value;
+                atlas.append(entry.key).append('\n')
+                    .append("bounds:").append((int) rect.x).append(',').append((int) rect.y).append(',')
+                    .append((int) rect.width).append(',').append((int) rect.height).append('\n');
+            }
+            atlas.append('\n');
+        }
+        atlasFile.writeString(atlas.toString(), false, "UTF-8");
+    }
+
+    /**
+     * Style interfejsu - te same nazwy i wartości, których ekrany używały przy składaniu skina w kodzie.
+     * Kolejność sekcji ma znaczenie: Skin czyta je po kolei, a styl może odwoływać się tylko do wcześniejszych.
+     */
+    private static String skinJson(String font) {
+        return """
+            {
+              "Color": {
+                "white": { "hex": "ffffffff" },
+                "black": { "hex": "000000ff" },
+                "dark_gray": { "hex": "%s" },
+                "button_up": { "r": 0.1, "g": 0.1, "b": 0.3, "a": 1 },
+                "button_down": { "r": 0.05, "g": 0.05, "b": 0.25, "a": 1 },
+                "button_over": { "r": 0.3, "g": 0.4, "b": 0.8, "a": 1 },
+                "textfield_background": { "r": 0.1, "g": 0.1, "b": 0.2, "a": 1 },
+                "textfield_selection": { "r": 0.2, "g": 0.2, "b": 0.5, "a": 0.5 }
+              },
+              "TintedDrawable": {
+                "button_up": { "name": "white", "color": "button_up" },
+                "button_down": { "name": "white", "color": "button_down" },
+                "button_over": { "name": "white", "color": "button_over" },
+                "textfield_background": { "name": "white", "color": "textfield_background" },
+                "textfield_cursor": { "name": "white", "color": "white" },
+                "textfield_selection": { "name": "white", "color": "textfield_selection" },
+                "scroll_track": { "name": "white", "color": "dark_gray" }
+              },
+              "TextButtonStyle": {
+                "default": { "font": "%2$s", "up": "button_up", "down": "button_down", "over": "button_over" }
+              },
+              "LabelStyle": {
+                "default-label": { "font": "%2$s" }
+              },
+              "CheckBoxStyle": {
+                "default-checkbox": { "font": "%2$s", "fontColor": "white", "checkboxOff": "checkbox_off", "checkboxOn": "checkbox_on" }
+              },
+              "TextFieldStyle": {
+                "default-textfield": { "font": "%2$s", "fontColor": "white", "background": "textfield_background",
+                  "cursor": "textfield_cursor", "selection": "textfield_selection" }
+              },
+              "WindowStyle": {
+                "default": { "background": "selectbox_background", "titleFont": "%2$s", "titleFontColor": "white" }
+              },
+              "ListStyle": {
+                "default-list": { "font": "%2$s", "fontColorSelected": "black", "fontColorUnselected": "white",
+                  "selection": "list_selection" }
+              },
+              "ScrollPaneStyle": {
+                "default-scrollpane": { "background": "selectbox_background", "vScroll": "scroll_track",
+                  "vScrollKnob": "scrollbar_knob" }
+              },
+              "SelectBoxStyle": {
+                "default-selectbox": { "font": "%2$s", "fontColor": "white", "background": "selectbox_background",
+                  "scrollStyle": "default-scrollpane", "listStyle": "default-list" }
+              }
+            }
+            """.formatted(Color.DARK_GRAY.toString(), font);
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.HeroGame.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+
+/**
+ * Loader skina interfejsu wypalanego przez {@link UiSkinBaker}. Przy braku plików (pierwsze uruchomienie) albo
+ * po zmianie {@link UiSkinBaker#BAKE_VERSION} wypala je od nowa, potem czyta atlas i JSON jak zwykły skin.
+ * <p>
+ * Wypalanie i dekodowanie stron atlasu odbywa się poza wątkiem GL; w {@link #loadSync} zostaje wysłanie tekstur
+ * i odczyt stylów. Czcionka jest zależnością - skin odwołuje się do niej po nazwie zasobu w AssetManagerze.
+ * Ścieżkę JSON-a rozwiązuje resolver podany w konstruktorze, atlas leży obok pod tą samą nazwą.
+ */
+public class UiSkinLoader extends AsynchronousAssetLoader<Skin, UiSkinLoader.UiSkinParameter> {
+
+    private TextureAtlasData atlasData;
+    private Array<Pixmap> pages;
+
+    public static class UiSkinParameter extends AssetLoaderParameters<Skin> {
+        /** Czcionka styli - wczytywana jako zależność i dodawana do skina pod nazwą zasobu. */
+        public final AssetDescriptor<BitmapFont> font;
+
+        public UiSkinParameter(AssetDescriptor<BitmapFont> font) {
+            this.font = font;
+        }
+    }
+
+    public UiSkinLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, UiSkinParameter parameter) {
+        if (parameter == null || parameter.font == null) {
+            throw new GdxRuntimeException("UiSkinParameter with a font is required for " + fileName);
+        }
+        Array<AssetDescriptor> dependencies = new Array<>();
+        dependencies.add(parameter.font);
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, UiSkinParameter parameter) {
+        atlasData = prepareAtlas(file, parameter.font.fileName);
+        pages = decodePages(atlasData);
+    }
+
+    @Override
+    public Skin loadSync(AssetManager manager, String fileName, FileHandle file, UiSkinParameter parameter) {
+        TextureAtlasData data = atlasData;
+        Array<Pixmap> decoded = pages;
+        atlasData = null;
+        pages = null;
+        return createSkin(file, data, decoded, parameter.font.fileName, manager.get(parameter.font));
+    }
+
+    /**
+     * Synchroniczny odpowiednik loadera dla ładowania awaryjnego, bez AssetManagera. Wywoływać w wątku GL.
+     * Zwrócony skin należy do wywołującego (także {@code font} - zwolni go {@link Skin#dispose()}).
+     */
+    public static Skin loadNow(FileHandle skinFile, String fontName, BitmapFont font) {
+        TextureAtlasData data = prepareAtlas(skinFile, fontName);
+        return createSkin(skinFile, data, decodePages(data), fontName, font);
+    }
+
+    private static TextureAtlasData prepareAtlas(FileHandle skinFile, String fontName) {
+        try {
+            UiSkinBaker.bakeIfNeeded(skinFile, fontName);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to bake UI skin: " + skinFile.path(), e);
+        }
+        FileHandle atlasFile = UiSkinBaker.atlasFor(skinFile);
+        return new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+    }
+
+    private static Array<Pixmap> decodePages(TextureAtlasData data) {
+        Array<Pixmap> decoded = new Array<>(data.getPages().size);
+        try {
+            for (TextureAtlasData.Page page : data.getPages()) {
+                decoded.add(new Pixmap(page.textureFile));
+            }
+        } catch (GdxRuntimeException e) {
+            for (Pixmap pixmap : decoded) pixmap.dispose();
+            throw e;
+        }
+        return decoded;
+    }
+
+    private static Skin createSkin(FileHandle skinFile, TextureAtlasData data, Array<Pixmap> decoded,
+                                   String fontName, BitmapFont font) {
+        try {
+            // Tekstury z już zdekodowanych Pixmap - TextureAtlas nie wczyta wtedy plików stron ponownie
+            for (int i = 0; i < decoded.size; i++) {
+                TextureAtlasData.Page page = data.getPages().get(i);
+                page.texture = new Texture(decoded.get(i), page.format, page.useMipMaps);
+                page.texture.setFilter(page.minFilter, page.magFilter);
+                page.texture.setWrap(page.uWrap, page.vWrap);
+            }
+        } finally {
+            for (Pixmap pixmap : decoded) pixmap.dispose();
+        }
+        Skin skin = new Skin(new TextureAtlas(data)); // Skin zwalnia atlas w dispose()
+        skin.add(fontName, font, BitmapFont.class);
+        skin.load(skinFile);
+        return skin;
+    }
+}
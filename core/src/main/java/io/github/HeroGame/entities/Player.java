@@ -13,6 +13,8 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Disposable;
 
+import io.github.HeroGame.assets.TextureCache;
+import io.github.HeroGame.assets.TextureRequest;
 import io.github.HeroGame.entities.items.Item;
 import io.github.HeroGame.entities.stats.StatType;
 import io.github.HeroGame.entities.unit.Unit;
@@ -28,6 +30,8 @@ import io.github.HeroGame.states.PlayerDiggingState; // Nowy stan
 import io.github.HeroGame.states.PlayerBowShotState; // Nowy stan
 // Importuj inne potrzebne stany gracza, np. AttackState, MeditateState etc.
 
+import java.io.IOException;
+
 /**
  * Reprezentuje postać gracza w grze.
  * Dziedziczy po Unit i dodaje specyficzne dla gracza mechaniki jak ekwipunek,
@@ -43,11 +47,15 @@ public class Player extends Unit implements Disposable {
     private ObjectMap<String, Animation<TextureRegion>> animations;
     private float stateTime;
     private ObjectMap<String, Texture> loadedSheets;
+    private final TextureCache textureCache;
+    private final ObjectMap<String, TextureRequest> sheetRequests = new ObjectMap<>(); // Odwołania do współdzielonych arkuszy - oddawane w dispose()
 
     private static final int SKILL_POINTS_PER_LEVEL = 5;
     private static final String DEFAULT_PLAYER_ID = "player";
     private static final String DEFAULT_PLAYER_NAME = "Hero";
     private static final String SPRITES_BASE_PATH = "assets/sprites/player/";
+    // Arkusze używane w loadAnimations() - zlecane do dekodowania naraz, zanim pierwszy będzie potrzebny
+    private static final String[] SHEET_FILES = {"Char Idle.png", "Char Walk.png", "Char Attack.png"};
 
     private static final int FRAME_WIDTH = 32;
     private static final int FRAME_HEIGHT = 42;
@@ -61,8 +69,12 @@ public class Player extends Unit implements Disposable {
     }
     private FacingDirection currentFacingDirection;
 
-    public Player(Vector2 initialPosition) {
+    public Player(Vector2 initialPosition, TextureCache textureCache) {
         super(DEFAULT_PLAYER_ID, DEFAULT_PLAYER_NAME, Race.HUMAN, initialPosition);
+        this.textureCache = textureCache;
+        for (String fileName : SHEET_FILES) {
+            sheetRequests.put(fileName, textureCache.acquire(Gdx.files.internal(SPRITES_BASE_PATH + fileName)));
+        }
         this.inventory = new Array<>();
         this.skillPoints = 0;
         this.experienceToNextLevel = calculateExpToNextLevel(this.level);
@@ -108,7 +120,16 @@ public class Player extends Unit implements Disposable {
     private Texture getSheet(String fileName) {
         if (!loadedSheets.containsKey(fileName)) {
             try {
-                Texture sheet = new Texture(Gdx.files.internal(SPRITES_BASE_PATH + fileName));
+                TextureRequest request = sheetRequests.get(fileName);
+                if (request == null) {
+                    request = textureCache.acquire(Gdx.files.internal(SPRITES_BASE_PATH + fileName));
+                    sheetRequests.put(fileName, request);
+                }
+                Texture sheet = textureCache.finish(request);
+                if (sheet == null) {
+                    System.err.println("  FAILED to load texture sheet: '" + fileName + "' - " + request.getError());
+                    return null;
+                }
                 loadedSheets.put(fileName, sheet);
                 System.out.println("  Loaded texture sheet: '" + fileName + "' (Actual Width: " + sheet.getWidth() + ", Actual Height: " + sheet.getHeight() + ")");
                 return sheet;
@@ -272,13 +293,13 @@ public class Player extends Unit implements Disposable {
     @Override
     public void dispose() {
         System.out.println("Disposing Player resources...");
-        for (Texture texture : loadedSheets.values()) {
-            if (texture != null) {
-                texture.dispose();
-            }
+        // Arkusze należą do TextureCache - oddajemy tylko odwołania, kolejny Player może ich użyć ponownie
+        for (TextureRequest request : sheetRequests.values()) {
+            textureCache.release(request);
         }
+        sheetRequests.clear();
         loadedSheets.clear();
-        System.out.println("Player loadedSheets disposed.");
+        System.out.println("Player texture sheets released.");
     }
 
     private String getAnimationKey(String action, FacingDirection direction, ToolType tool) {
@@ -530,13 +551,41 @@ public class Player extends Unit implements Disposable {
     public void setCurrentTool(ToolType tool) { this.currentTool = tool; }
 
 
+    /**
+     * Migawka trwałego stanu gracza do zapisu gry.
+     */
+    public PlayerState captureState() {
+        PlayerState state = captureState(new PlayerState());
+        state.experienceToNextLevel = experienceToNextLevel;
+        state.skillPoints = skillPoints;
+        state.currentTool = currentTool;
+        state.facingDirection = currentFacingDirection;
+        return state;
+    }
+
+    /**
+     * Przywraca stan gracza z zapisu gry.
+     */
+    public void applyState(PlayerState state) {
+        super.applyState(state);
+        this.experienceToNextLevel = state.experienceToNextLevel > 0 ? state.experienceToNextLevel : calculateExpToNextLevel(level);
+        this.skillPoints = Math.max(0, state.skillPoints);
+        if (state.currentTool != null) this.currentTool = state.currentTool;
+        if (state.facingDirection != null) this.currentFacingDirection = state.facingDirection;
+    }
+
     @Override
     public String toJson() {
-        return super.toJson();
+        return PlayerStateTypeAdapter.INSTANCE.toJson(captureState());
     }
 
     @Override
     public void fromJson(String json) {
-        super.fromJson(json);
+        try {
+            PlayerState state = PlayerStateTypeAdapter.INSTANCE.fromJson(json);
+            if (state != null) applyState(state);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to deserialize Player from JSON: " + e.getMessage());
+        }
     }
 }
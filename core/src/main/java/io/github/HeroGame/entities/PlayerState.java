@@ -0,0 +1,14 @@
+package io.github.HeroGame.entities;
+
+import io.github.HeroGame.entities.unit.UnitState;
+
+/**
+ * Trwały stan gracza: stan jednostki plus pola specyficzne dla gracza.
+ * Zapisywany razem ze światem w {@link io.github.HeroGame.save.GameData}.
+ */
+public class PlayerState extends UnitState {
+    public int experienceToNextLevel;
+    public int skillPoints;
+    public Player.ToolType currentTool = Player.ToolType.NONE;
+    public Player.FacingDirection facingDirection = Player.FacingDirection.SOUTH;
+}
@@ -0,0 +1,57 @@
+package io.github.HeroGame.entities;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.HeroGame.entities.unit.UnitStateTypeAdapter;
+
+import java.io.IOException;
+
+/**
+ * Strumieniowy adapter Gson dla {@link PlayerState}: pola jednostki ({@link UnitStateTypeAdapter}) plus pola gracza.
+ */
+public final class PlayerStateTypeAdapter extends TypeAdapter<PlayerState> {
+    public static final PlayerStateTypeAdapter INSTANCE = new PlayerStateTypeAdapter();
+
+    private PlayerStateTypeAdapter() {
+    }
+
+    @Override
+    public void write(JsonWriter out, PlayerState state) throws IOException {
+        if (state == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        UnitStateTypeAdapter.writeFields(out, state);
+        out.name("experienceToNextLevel").value(state.experienceToNextLevel);
+        out.name("skillPoints").value(state.skillPoints);
+        out.name("currentTool").value(state.currentTool.name());
+        out.name("facing").value(state.facingDirection.name());
+        out.endObject();
+    }
+
+    @Override
+    public PlayerState read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        PlayerState state = new PlayerState();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (UnitStateTypeAdapter.readField(name, in, state)) continue;
+            switch (name) {
+                case "experienceToNextLevel" -> state.experienceToNextLevel = in.nextInt();
+                case "skillPoints" -> state.skillPoints = in.nextInt();
+                case "currentTool" -> state.currentTool = Player.ToolType.valueOf(in.nextString());
+                case "facing" -> state.facingDirection = Player.FacingDirection.valueOf(in.nextString());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return state;
+    }
+}
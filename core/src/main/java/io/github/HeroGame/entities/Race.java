@@ -1,8 +1,16 @@
 package io.github.HeroGame.entities;
 
+import io.github.HeroGame.entities.stats.DamageType;
+import io.github.HeroGame.entities.stats.ModifierSource;
+import io.github.HeroGame.entities.stats.ResistanceModifier;
+import io.github.HeroGame.entities.stats.Resistances;
+import io.github.HeroGame.entities.stats.StatModifier;
+import io.github.HeroGame.entities.stats.StatType;
+import io.github.HeroGame.entities.stats.Stats;
+
 /**
  * Enum for different races in the game.
- * Each race might have base stat modifiers or unique abilities.
+ * Each race applies its stat and resistance bonuses as {@link ModifierSource#RACE} modifiers.
  */
 public enum Race {
     HUMAN("race_human"),
@@ -21,6 +29,50 @@ public enum Race {
         return localizationKey;
     }
 
-    // Potentially add base stat modifiers or abilities here
-    // public Stats getBaseStatModifiers() { ... }
+    /**
+     * Replaces the race modifiers on the given stats and resistances with this race's bonuses.
+     * Base values are not touched, so this can be called again after a race change.
+     * @param stats The stats to modify.
+     * @param resistances The resistances to modify.
+     */
+    public void applyModifiers(Stats stats, Resistances resistances) {
+        stats.removeModifiers(ModifierSource.RACE);
+        resistances.removeModifiers(ModifierSource.RACE);
+        switch (this) {
+            case HUMAN -> {
+                addStat(stats, StatType.WISDOM, 1);
+                addStat(stats, StatType.LUCK, 1);
+            }
+            case DWARF -> {
+                addStat(stats, StatType.STRENGTH, 1);
+                addStat(stats, StatType.ENDURANCE, 2);
+                addStat(stats, StatType.DEXTERITY, -1);
+                addResistance(resistances, DamageType.POISON, 0.1f);
+            }
+            case ELF -> {
+                addStat(stats, StatType.DEXTERITY, 2);
+                addStat(stats, StatType.INTELLIGENCE, 1);
+                addStat(stats, StatType.ENDURANCE, -1);
+                addResistance(resistances, DamageType.MAGIC, 0.1f);
+            }
+            case DEMON -> {
+                addStat(stats, StatType.STRENGTH, 2);
+                addStat(stats, StatType.INTELLIGENCE, 1);
+                addResistance(resistances, DamageType.FIRE, 0.25f);
+                addResistance(resistances, DamageType.DARK, 0.25f);
+                addResistance(resistances, DamageType.HOLY, -0.25f);
+            }
+            case MONSTER -> {
+                // No racial bonuses - monsters get their stats from their own definitions
+            }
+        }
+    }
+
+    private static void addStat(Stats stats, StatType stat, int amount) {
+        stats.addModifier(new StatModifier(stat, amount, ModifierSource.RACE));
+    }
+
+    private static void addResistance(Resistances resistances, DamageType damageType, float amount) {
+        resistances.addModifier(new ResistanceModifier(damageType, amount, ModifierSource.RACE));
+    }
 }
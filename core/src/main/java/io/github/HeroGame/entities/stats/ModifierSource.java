@@ -0,0 +1,11 @@
+package io.github.HeroGame.entities.stats;
+
+/**
+ * Origin of a stat or resistance modifier.
+ * Lets a whole group of modifiers be removed at once, e.g. when unequipping or when buffs expire.
+ */
+public enum ModifierSource {
+    RACE,
+    EQUIPMENT,
+    BUFF
+}
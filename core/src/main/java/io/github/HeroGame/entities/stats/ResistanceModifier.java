@@ -0,0 +1,13 @@
+package io.github.HeroGame.entities.stats;
+
+/**
+ * Flat bonus (or penalty) applied on top of a base resistance.
+ * The resulting resistance is still clamped to 0.0 - 1.0.
+ * Modifiers are compared by identity when removed, so keep the instance you added.
+ *
+ * @param damageType The damage type whose resistance is modified.
+ * @param amount     Resistance to add (can be negative).
+ * @param source     Where the modifier comes from.
+ */
+public record ResistanceModifier(DamageType damageType, float amount, ModifierSource source) {
+}
@@ -1,102 +1,163 @@
 package io.github.HeroGame.entities.stats;
 
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Array;
 import io.github.HeroGame.utils.JsonSerializable;
 
+import java.io.IOException;
+
 /**
  * Holds all resistance values for a game unit.
  * Values are typically between 0.0 (no resistance) and 1.0 (full immunity).
+ * Every {@link DamageType} has a slot, indexed by {@link DamageType#ordinal()}.
+ * Effective values (base + modifiers, clamped) are cached and recomputed only after a change.
  */
 public class Resistances implements JsonSerializable {
-    private float physical;
-    private float fire;
-    private float cold;
-    private float poison;
-    private float magic;
-    // Add other resistances as needed
+    private static final DamageType[] DAMAGE_TYPES = DamageType.values();
+
+    private final float[] baseValues = new float[DAMAGE_TYPES.length];
+    // Derived state - not persisted, rebuilt from base values and modifiers
+    private final transient float[] effectiveValues = new float[DAMAGE_TYPES.length];
+    private final transient Array<ResistanceModifier> modifiers = new Array<>();
+    private transient boolean dirty = true;
 
     public Resistances() {
-        this.physical = 0.0f;
-        this.fire = 0.0f;
-        this.cold = 0.0f;
-        this.poison = 0.0f;
-        this.magic = 0.0f;
+        // All resistances start at 0.0
     }
 
     // Getters
-    public float getPhysical() { return physical; }
-    public float getFire() { return fire; }
-    public float getCold() { return cold; }
-    public float getPoison() { return poison; }
-    public float getMagic() { return magic; }
+    public float getPhysical() { return getResistance(DamageType.PHYSICAL); }
+    public float getFire() { return getResistance(DamageType.FIRE); }
+    public float getCold() { return getResistance(DamageType.COLD); }
+    public float getPoison() { return getResistance(DamageType.POISON); }
+    public float getMagic() { return getResistance(DamageType.MAGIC); }
+    public float getHoly() { return getResistance(DamageType.HOLY); }
+    public float getDark() { return getResistance(DamageType.DARK); }
 
     // Setters for loading or direct modification
-    public void setPhysical(float physical) { this.physical = Math.max(0f, Math.min(1f, physical)); }
-    public void setFire(float fire) { this.fire = Math.max(0f, Math.min(1f, fire)); }
-    public void setCold(float cold) { this.cold = Math.max(0f, Math.min(1f, cold)); }
-    public void setPoison(float poison) { this.poison = Math.max(0f, Math.min(1f, poison)); }
-    public void setMagic(float magic) { this.magic = Math.max(0f, Math.min(1f, magic)); }
+    public void setPhysical(float physical) { setResistance(DamageType.PHYSICAL, physical); }
+    public void setFire(float fire) { setResistance(DamageType.FIRE, fire); }
+    public void setCold(float cold) { setResistance(DamageType.COLD, cold); }
+    public void setPoison(float poison) { setResistance(DamageType.POISON, poison); }
+    public void setMagic(float magic) { setResistance(DamageType.MAGIC, magic); }
+    public void setHoly(float holy) { setResistance(DamageType.HOLY, holy); }
+    public void setDark(float dark) { setResistance(DamageType.DARK, dark); }
 
 
     /**
-     * Gets the resistance value for a specific damage type.
+     * Gets the effective resistance value for a specific damage type (base plus modifiers).
      * @param type The type of damage.
      * @return The resistance value (0.0 to 1.0).
      */
     public float getResistance(DamageType type) {
-        switch (type) {
-            case PHYSICAL: return physical;
-            case FIRE: return fire;
-            case COLD: return cold;
-            case POISON: return poison;
-            case MAGIC: return magic;
-            // Add cases for HOLY, DARK etc. if they have specific resistances
-            default: return 0.0f; // Default to no resistance for unhandled types
+        if (dirty) {
+            recompute();
         }
+        return effectiveValues[type.ordinal()];
     }
 
     /**
-     * Sets the resistance value for a specific damage type.
+     * Gets the base resistance value for a specific damage type, without modifiers.
+     * @param type The type of damage.
+     * @return The base resistance value (0.0 to 1.0).
+     */
+    public float getBaseResistance(DamageType type) {
+        return baseValues[type.ordinal()];
+    }
+
+    /**
+     * Sets the base resistance value for a specific damage type.
      * @param type The type of damage.
      * @param value The resistance value (0.0 to 1.0).
      */
     public void setResistance(DamageType type, float value) {
-        float clampedValue = Math.max(0f, Math.min(1f, value));
-        switch (type) {
-            case PHYSICAL: this.physical = clampedValue; break;
-            case FIRE: this.fire = clampedValue; break;
-            case COLD: this.cold = clampedValue; break;
-            case POISON: this.poison = clampedValue; break;
-            case MAGIC: this.magic = clampedValue; break;
-            default:
-                System.err.println("Cannot set resistance for unhandled damage type: " + type);
-                break;
+        baseValues[type.ordinal()] = clamp(value);
+        dirty = true;
+    }
+
+    /**
+     * Adds a modifier (race bonus, equipment, buff) on top of the base resistances.
+     * @param modifier The modifier to add.
+     */
+    public void addModifier(ResistanceModifier modifier) {
+        modifiers.add(modifier);
+        dirty = true;
+    }
+
+    /**
+     * Removes a previously added modifier (compared by identity).
+     * @param modifier The modifier to remove.
+     * @return True if the modifier was present.
+     */
+    public boolean removeModifier(ResistanceModifier modifier) {
+        if (modifiers.removeValue(modifier, true)) {
+            dirty = true;
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Removes all modifiers coming from the given source, e.g. all equipment bonuses.
+     * @param source The source whose modifiers should be removed.
+     */
+    public void removeModifiers(ModifierSource source) {
+        for (int i = modifiers.size - 1; i >= 0; i--) {
+            if (modifiers.get(i).source() == source) {
+                modifiers.removeIndex(i);
+                dirty = true;
+            }
+        }
+    }
+
+    public Array<ResistanceModifier> getModifiers() { return modifiers; }
+
+    /**
+     * Creates a copy holding the same base values (modifiers are not copied - they belong to their owners).
+     * Used for save snapshots.
+     */
+    public Resistances copy() {
+        Resistances copy = new Resistances();
+        copy.copyBaseValuesFrom(this);
+        return copy;
+    }
+
+    /**
+     * Replaces all base values with those of another Resistances object, keeping this object's modifiers.
+     * @param other The resistances to copy base values from.
+     */
+    public void copyBaseValuesFrom(Resistances other) {
+        System.arraycopy(other.baseValues, 0, baseValues, 0, baseValues.length);
+        dirty = true;
+    }
+
+    private void recompute() {
+        System.arraycopy(baseValues, 0, effectiveValues, 0, baseValues.length);
+        for (int i = 0; i < modifiers.size; i++) {
+            ResistanceModifier modifier = modifiers.get(i);
+            effectiveValues[modifier.damageType().ordinal()] += modifier.amount();
+        }
+        for (int i = 0; i < effectiveValues.length; i++) {
+            effectiveValues[i] = clamp(effectiveValues[i]);
+        }
+        dirty = false;
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0f, Math.min(1f, value));
     }
 
 
+    // Base values only - modifiers come from race, equipment and buffs and are re-applied by their owners
     @Override
     public String toJson() {
-        ObjectMap<String, Object> data = new ObjectMap<>();
-        data.put("physical", physical);
-        data.put("fire", fire);
-        data.put("cold", cold);
-        data.put("poison", poison);
-        data.put("magic", magic);
-        return new com.google.gson.Gson().toJson(data);
+        return ResistancesTypeAdapter.INSTANCE.toJson(this);
     }
 
     @Override
     public void fromJson(String json) {
-        com.google.gson.Gson gson = new com.google.gson.Gson();
-        Resistances loadedResistances = gson.fromJson(json, Resistances.class);
-        if (loadedResistances != null) {
-            this.physical = loadedResistances.physical;
-            this.fire = loadedResistances.fire;
-            this.cold = loadedResistances.cold;
-            this.poison = loadedResistances.poison;
-            this.magic = loadedResistances.magic;
-        } else {
+        try {
+            copyBaseValuesFrom(ResistancesTypeAdapter.INSTANCE.fromJson(json));
+        } catch (IOException | RuntimeException e) {
             System.err.println("Failed to deserialize Resistances from JSON: " + json);
         }
     }
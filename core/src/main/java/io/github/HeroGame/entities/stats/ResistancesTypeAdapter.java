@@ -0,0 +1,68 @@
+package io.github.HeroGame.entities.stats;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for {@link Resistances}.
+ * Writes base values only, as {"physical": 0.1, "fire": 0.0, ...} (lower-case {@link DamageType} names).
+ * Unknown keys are skipped and missing ones keep their defaults, so adding a damage type does not break old saves.
+ */
+public final class ResistancesTypeAdapter extends TypeAdapter<Resistances> {
+    public static final ResistancesTypeAdapter INSTANCE = new ResistancesTypeAdapter();
+
+    private static final DamageType[] DAMAGE_TYPES = DamageType.values();
+    private static final String[] KEYS = new String[DAMAGE_TYPES.length];
+    static {
+        for (DamageType type : DAMAGE_TYPES) {
+            KEYS[type.ordinal()] = type.name().toLowerCase();
+        }
+    }
+
+    private ResistancesTypeAdapter() {
+    }
+
+    @Override
+    public void write(JsonWriter out, Resistances resistances) throws IOException {
+        if (resistances == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (DamageType type : DAMAGE_TYPES) {
+            out.name(KEYS[type.ordinal()]).value(resistances.getBaseResistance(type));
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Resistances read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Resistances resistances = new Resistances();
+        in.beginObject();
+        while (in.hasNext()) {
+            DamageType type = find(in.nextName());
+            if (type != null) {
+                resistances.setResistance(type, (float) in.nextDouble());
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return resistances;
+    }
+
+    private static DamageType find(String key) {
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i].equals(key)) return DAMAGE_TYPES[i];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.HeroGame.entities.stats;
+
+/**
+ * Flat bonus (or penalty) applied on top of a base stat.
+ * Modifiers are compared by identity when removed, so keep the instance you added.
+ *
+ * @param stat   The stat to modify. Spirituality cannot be modified this way.
+ * @param amount Points to add (can be negative).
+ * @param source Where the modifier comes from.
+ */
+public record StatModifier(StatType stat, int amount, ModifierSource source) {
+}
@@ -1,66 +1,95 @@
 package io.github.HeroGame.entities.stats;
 
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Array;
 import io.github.HeroGame.utils.JsonSerializable; // Assuming you might want this for GSON
 
+import java.io.IOException;
+
 /**
  * Holds all statistics for a game unit.
+ * Values are stored in arrays indexed by {@link StatType#ordinal()}.
+ * Effective values (base + modifiers) are cached and recomputed only after a change.
  */
 public class Stats implements JsonSerializable {
-    private int strength;
-    private int dexterity;
-    private int intelligence;
-    private int endurance;
-    private int wisdom;
-    private int luck;
-    private int spirituality; // 0-100
+    private static final StatType[] STAT_TYPES = StatType.values();
+    private static final int SPIRITUALITY = StatType.SPIRITUALITY.ordinal();
+
+    private final int[] baseValues = new int[STAT_TYPES.length];
+    // Derived state - not persisted, rebuilt from base values and modifiers
+    private final transient int[] effectiveValues = new int[STAT_TYPES.length];
+    private final transient Array<StatModifier> modifiers = new Array<>();
+    private transient boolean dirty = true;
+    private transient int revision;
 
     public Stats() {
         // Default stats or load from configuration
-        this.strength = 5;
-        this.dexterity = 5;
-        this.intelligence = 5;
-        this.endurance = 5;
-        this.wisdom = 5;
-        this.luck = 5;
-        this.spirituality = 5; // Base spirituality
+        for (StatType type : STAT_TYPES) {
+            baseValues[type.ordinal()] = 5;
+        }
+        // Base spirituality is 5 as well (range 0-100)
     }
 
-    // Getters
-    public int getStrength() { return strength; }
-    public int getDexterity() { return dexterity; }
-    public int getIntelligence() { return intelligence; }
-    public int getEndurance() { return endurance; }
-    public int getWisdom() { return wisdom; }
-    public int getLuck() { return luck; }
-    public int getSpirituality() { return spirituality; }
+    // Getters (effective values, including modifiers)
+    public int getStrength() { return getStat(StatType.STRENGTH); }
+    public int getDexterity() { return getStat(StatType.DEXTERITY); }
+    public int getIntelligence() { return getStat(StatType.INTELLIGENCE); }
+    public int getEndurance() { return getStat(StatType.ENDURANCE); }
+    public int getWisdom() { return getStat(StatType.WISDOM); }
+    public int getLuck() { return getStat(StatType.LUCK); }
+    public int getSpirituality() { return baseValues[SPIRITUALITY]; }
 
     // Setters - primarily for loading, direct modification via addPoints
-    public void setStrength(int strength) { this.strength = strength; }
-    public void setDexterity(int dexterity) { this.dexterity = dexterity; }
-    public void setIntelligence(int intelligence) { this.intelligence = intelligence; }
-    public void setEndurance(int endurance) { this.endurance = endurance; }
-    public void setWisdom(int wisdom) { this.wisdom = wisdom; }
-    public void setLuck(int luck) { this.luck = luck; }
-    public void setSpirituality(int spirituality) { this.spirituality = Math.max(0, Math.min(100, spirituality)); }
+    public void setStrength(int strength) { setBaseStat(StatType.STRENGTH, strength); }
+    public void setDexterity(int dexterity) { setBaseStat(StatType.DEXTERITY, dexterity); }
+    public void setIntelligence(int intelligence) { setBaseStat(StatType.INTELLIGENCE, intelligence); }
+    public void setEndurance(int endurance) { setBaseStat(StatType.ENDURANCE, endurance); }
+    public void setWisdom(int wisdom) { setBaseStat(StatType.WISDOM, wisdom); }
+    public void setLuck(int luck) { setBaseStat(StatType.LUCK, luck); }
+
+    /**
+     * Sets spirituality (clamped to 0-100).
+     * Spirituality has no modifiers and does not feed derived stats, so this does not invalidate the cache.
+     */
+    public void setSpirituality(int spirituality) {
+        int clamped = Math.max(0, Math.min(100, spirituality));
+        baseValues[SPIRITUALITY] = clamped;
+        effectiveValues[SPIRITUALITY] = clamped;
+    }
 
 
     /**
-     * Gets the value of a specific stat.
+     * Gets the effective value of a specific stat (base value plus all modifiers).
      * @param type The type of stat to get.
      * @return The value of the stat.
      */
     public int getStat(StatType type) {
-        switch (type) {
-            case STRENGTH: return strength;
-            case DEXTERITY: return dexterity;
-            case INTELLIGENCE: return intelligence;
-            case ENDURANCE: return endurance;
-            case WISDOM: return wisdom;
-            case LUCK: return luck;
-            case SPIRITUALITY: return spirituality;
-            default: throw new IllegalArgumentException("Unknown StatType: " + type);
+        if (dirty) {
+            recompute();
+        }
+        return effectiveValues[type.ordinal()];
+    }
+
+    /**
+     * Gets the base value of a specific stat, without modifiers.
+     * @param type The type of stat to get.
+     * @return The base value of the stat.
+     */
+    public int getBaseStat(StatType type) {
+        return baseValues[type.ordinal()];
+    }
+
+    /**
+     * Sets the base value of a specific stat.
+     * @param type The type of stat to set.
+     * @param value The new base value.
+     */
+    public void setBaseStat(StatType type, int value) {
+        if (type == StatType.SPIRITUALITY) {
+            setSpirituality(value);
+            return;
         }
+        baseValues[type.ordinal()] = value;
+        markDirty();
     }
 
     /**
@@ -74,50 +103,108 @@ public class Stats implements JsonSerializable {
             System.err.println("Spirituality should be changed via Unit.gainSpirituality/loseSpirituality methods.");
             return; // Or throw an exception
         }
-        switch (type) {
-            case STRENGTH: strength += points; break;
-            case DEXTERITY: dexterity += points; break;
-            case INTELLIGENCE: intelligence += points; break;
-            case ENDURANCE: endurance += points; break;
-            case WISDOM: wisdom += points; break;
-            case LUCK: luck += points; break;
-        }
+        if (points == 0) return;
+        baseValues[type.ordinal()] += points;
+        markDirty();
         // Add min/max caps if necessary, e.g., stats cannot go below 1.
     }
 
-    // For GSON serialization, if needed
+    /**
+     * Adds a modifier (race bonus, equipment, buff) on top of the base stats.
+     * @param modifier The modifier to add.
+     */
+    public void addModifier(StatModifier modifier) {
+        if (modifier.stat() == StatType.SPIRITUALITY) {
+            System.err.println("Spirituality cannot be modified by stat modifiers.");
+            return;
+        }
+        modifiers.add(modifier);
+        markDirty();
+    }
+
+    /**
+     * Removes a previously added modifier (compared by identity).
+     * @param modifier The modifier to remove.
+     * @return True if the modifier was present.
+     */
+    public boolean removeModifier(StatModifier modifier) {
+        if (modifiers.removeValue(modifier, true)) {
+            markDirty();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all modifiers coming from the given source, e.g. all equipment bonuses.
+     * @param source The source whose modifiers should be removed.
+     */
+    public void removeModifiers(ModifierSource source) {
+        boolean removed = false;
+        for (int i = modifiers.size - 1; i >= 0; i--) {
+            if (modifiers.get(i).source() == source) {
+                modifiers.removeIndex(i);
+                removed = true;
+            }
+        }
+        if (removed) markDirty();
+    }
+
+    public Array<StatModifier> getModifiers() { return modifiers; }
+
+    /**
+     * Creates a copy holding the same base values (modifiers are not copied - they belong to their owners).
+     * Used for save snapshots.
+     */
+    public Stats copy() {
+        Stats copy = new Stats();
+        copy.copyBaseValuesFrom(this);
+        return copy;
+    }
+
+    /**
+     * Replaces all base values with those of another Stats object, keeping this object's modifiers.
+     * @param other The stats to copy base values from.
+     */
+    public void copyBaseValuesFrom(Stats other) {
+        System.arraycopy(other.baseValues, 0, baseValues, 0, baseValues.length);
+        markDirty();
+    }
+
+    /**
+     * Returns a counter that changes whenever any value affecting effective stats changes.
+     * Lets owners cache values derived from stats (max health, max mana) and recompute them only when needed.
+     * Spirituality changes do not bump the revision.
+     * @return The current revision.
+     */
+    public int getRevision() { return revision; }
+
+    private void markDirty() {
+        dirty = true;
+        revision++;
+    }
+
+    private void recompute() {
+        System.arraycopy(baseValues, 0, effectiveValues, 0, baseValues.length);
+        for (int i = 0; i < modifiers.size; i++) {
+            StatModifier modifier = modifiers.get(i);
+            effectiveValues[modifier.stat().ordinal()] += modifier.amount();
+        }
+        dirty = false;
+    }
+
+    // Base values only - modifiers come from race, equipment and buffs and are re-applied by their owners
     @Override
     public String toJson() {
-        // Basic GSON usage would serialize this object directly.
-        // This method is a placeholder if custom serialization logic is needed.
-        ObjectMap<String, Object> data = new ObjectMap<>();
-        data.put("strength", strength);
-        data.put("dexterity", dexterity);
-        data.put("intelligence", intelligence);
-        data.put("endurance", endurance);
-        data.put("wisdom", wisdom);
-        data.put("luck", luck);
-        data.put("spirituality", spirituality);
-        // Using a proper JSON library like GSON is recommended over manual construction.
-        return new com.google.gson.Gson().toJson(data);
+        return StatsTypeAdapter.INSTANCE.toJson(this);
     }
 
     @Override
     public void fromJson(String json) {
-        // Basic GSON usage would deserialize this object directly.
-        com.google.gson.Gson gson = new com.google.gson.Gson();
-        Stats loadedStats = gson.fromJson(json, Stats.class);
-        if (loadedStats != null) { // Check if deserialization was successful
-            this.strength = loadedStats.strength;
-            this.dexterity = loadedStats.dexterity;
-            this.intelligence = loadedStats.intelligence;
-            this.endurance = loadedStats.endurance;
-            this.wisdom = loadedStats.wisdom;
-            this.luck = loadedStats.luck;
-            this.spirituality = loadedStats.spirituality;
-        } else {
+        try {
+            copyBaseValuesFrom(StatsTypeAdapter.INSTANCE.fromJson(json));
+        } catch (IOException | RuntimeException e) {
             System.err.println("Failed to deserialize Stats from JSON: " + json);
-            // Initialize with default values or handle error appropriately
         }
     }
 }
@@ -0,0 +1,68 @@
+package io.github.HeroGame.entities.stats;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for {@link Stats}.
+ * Writes base values only, as {"strength": 5, "dexterity": 5, ...} (lower-case {@link StatType} names).
+ * Unknown keys are skipped and missing ones keep their defaults, so adding a stat does not break old saves.
+ */
+public final class StatsTypeAdapter extends TypeAdapter<Stats> {
+    public static final StatsTypeAdapter INSTANCE = new StatsTypeAdapter();
+
+    private static final StatType[] STAT_TYPES = StatType.values();
+    private static final String[] KEYS = new String[STAT_TYPES.length];
+    static {
+        for (StatType type : STAT_TYPES) {
+            KEYS[type.ordinal()] = type.name().toLowerCase();
+        }
+    }
+
+    private StatsTypeAdapter() {
+    }
+
+    @Override
+    public void write(JsonWriter out, Stats stats) throws IOException {
+        if (stats == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (StatType type : STAT_TYPES) {
+            out.name(KEYS[type.ordinal()]).value(stats.getBaseStat(type));
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Stats read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Stats stats = new Stats();
+        in.beginObject();
+        while (in.hasNext()) {
+            StatType type = find(in.nextName());
+            if (type != null) {
+                stats.setBaseStat(type, in.nextInt());
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return stats;
+    }
+
+    private static StatType find(String key) {
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i].equals(key)) return STAT_TYPES[i];
+        }
+        return null;
+    }
+}
@@ -17,6 +17,8 @@ import io.github.HeroGame.events.SpiritualityChangedEvent;
 import io.github.HeroGame.fsm.StateMachine;
 import io.github.HeroGame.utils.JsonSerializable; // Placeholder
 
+import java.io.IOException;
+
 /**
  * Abstrakcyjna klasa bazowa dla wszystkich jednostek w grze (Gracz, NPC, Przeciwnicy).
  * Definiuje wspólne atrybuty i zachowania.
@@ -45,6 +47,10 @@ public abstract class Unit implements JsonSerializable {
 
     protected TextureRegion currentFrame; // Aktualna klatka animacji/sprite jednostki
 
+    // Stan, dla którego policzono maxHealth/maxMana - przeliczamy tylko po zmianie statystyk lub poziomu
+    private transient int derivedStatsRevision;
+    private transient int derivedStatsLevel;
+
     protected static final float MAX_PROFICIENCY = 100.0f;
     protected static final float MEDITATION_RATE = 1.0f; // Punktów duchowości na sekundę medytacji
     protected static final float OVERLOAD_STAT_GAIN_RATE = 0.01f; // Punktów siły/wytrzymałości na sekundę przeciążenia
@@ -66,6 +72,7 @@ public abstract class Unit implements JsonSerializable {
         this.velocity = new Vector2();
         this.stats = new Stats(); // Inicjalizacja domyślnymi statystykami
         this.resistances = new Resistances();
+        race.applyModifiers(stats, resistances); // Premie rasowe jako modyfikatory - maxHealth/maxMana już je uwzględniają
         this.stateMachine = new StateMachine<>(this);
         this.weaponProficiencies = new ObjectMap<>();
         for (WeaponType type : WeaponType.values()) {
@@ -78,6 +85,8 @@ public abstract class Unit implements JsonSerializable {
         this.health = this.maxHealth;
         this.maxMana = calculateMaxMana();
         this.mana = this.maxMana;
+        this.derivedStatsRevision = stats.getRevision();
+        this.derivedStatsLevel = level;
         this.defense = 0;
         this.blockChance = 0.0f;
         this.gold = 0;
@@ -112,6 +121,11 @@ public abstract class Unit implements JsonSerializable {
      * @param deltaTime Czas od ostatniej klatki.
      */
     public void update(float deltaTime) {
+        // Statystyki pochodne przeliczane tylko, gdy zmieniły się statystyki bazowe, modyfikatory lub poziom
+        if (stats.getRevision() != derivedStatsRevision || level != derivedStatsLevel) {
+            refreshDependentStats();
+        }
+
         // Aktualizacja maszyny stanów
         stateMachine.update(deltaTime);
 
@@ -144,7 +158,8 @@ public abstract class Unit implements JsonSerializable {
         stats.setSpirituality(Math.max(0, oldSpirituality - amount));
         int newSpirituality = stats.getSpirituality();
         if (oldSpirituality != newSpirituality) {
-            EventManager.getInstance().publish(new SpiritualityChangedEvent(this, oldSpirituality, newSpirituality, -amount));
+            EventManager events = EventManager.getInstance();
+            events.enqueue(events.obtain(SpiritualityChangedEvent.class).set(this, oldSpirituality, newSpirituality, -amount));
             System.out.println(name + " lost " + amount + " spirituality. Current: " + newSpirituality);
         }
     }
@@ -159,7 +174,8 @@ public abstract class Unit implements JsonSerializable {
         stats.setSpirituality(Math.min(100, oldSpirituality + amount));
         int newSpirituality = stats.getSpirituality();
         if (oldSpirituality != newSpirituality) {
-            EventManager.getInstance().publish(new SpiritualityChangedEvent(this, oldSpirituality, newSpirituality, amount));
+            EventManager events = EventManager.getInstance();
+            events.enqueue(events.obtain(SpiritualityChangedEvent.class).set(this, oldSpirituality, newSpirituality, amount));
             System.out.println(name + " gained " + amount + " spirituality. Current: " + newSpirituality);
         }
     }
@@ -333,9 +349,12 @@ public abstract class Unit implements JsonSerializable {
 
     /**
      * Metoda do odświeżania statystyk zależnych od innych (np. maxHealth po zmianie Endurance).
-     * Powinna być wywoływana po zmianie statystyk bazowych lub poziomu.
+     * Wywoływana automatycznie w update() po zmianie statystyk bazowych, modyfikatorów lub poziomu;
+     * można ją wywołać wcześniej, jeśli nowe wartości są potrzebne od razu.
      */
     public void refreshDependentStats() {
+        derivedStatsRevision = stats.getRevision();
+        derivedStatsLevel = level;
         int oldMaxHealth = this.maxHealth;
         this.maxHealth = calculateMaxHealth();
         // Jeśli zdrowie przekracza nowe maxHealth, ustaw je na maxHealth
@@ -358,56 +377,82 @@ public abstract class Unit implements JsonSerializable {
     }
 
 
-    // Metody związane z zapisem/odczytem gry (implementacja JsonSerializable)
-    // Te metody będą bardziej złożone i będą wymagały biblioteki GSON
+    // Metody związane z zapisem/odczytem gry
+    // Trwały stan przechodzi przez UnitState (same dane), więc zapis może odbywać się w tle, a GSON nie dotyka tekstur i maszyny stanów
+
+    /**
+     * Kopiuje trwały stan jednostki do {@code state}. Wywoływane na wątku gry; wynik nie współdzieli mutowalnych obiektów z jednostką.
+     * @param state Obiekt do wypełnienia.
+     * @return Ten sam obiekt {@code state}.
+     */
+    public <S extends UnitState> S captureState(S state) {
+        state.id = id;
+        state.name = name;
+        state.race = race;
+        state.positionX = position.x;
+        state.positionY = position.y;
+        state.health = health;
+        state.maxHealth = maxHealth;
+        state.mana = mana;
+        state.maxMana = maxMana;
+        state.stats = stats.copy();
+        state.resistances = resistances.copy();
+        state.defense = defense;
+        state.blockChance = blockChance;
+        state.gold = gold;
+        state.experience = experience;
+        state.level = level;
+        state.weaponProficiencies = new ObjectMap<>(weaponProficiencies);
+        return state;
+    }
+
+    /**
+     * Przywraca trwały stan jednostki. Modyfikatory statystyk (ekwipunek, buffy) zostają - ich właściciele nakładają je sami;
+     * modyfikatory rasy są wymieniane, gdy wczytana rasa jest inna.
+     * @param state Wczytany stan.
+     */
+    public void applyState(UnitState state) {
+        if (state.id != null) this.id = state.id;
+        if (state.name != null) this.name = state.name;
+        if (state.race != null && state.race != this.race) {
+            this.race = state.race;
+            race.applyModifiers(stats, resistances); // Premie nowej rasy zamiast dotychczasowych
+        }
+        this.position.set(state.positionX, state.positionY);
+        this.velocity.setZero();
+        if (state.stats != null) this.stats.copyBaseValuesFrom(state.stats);
+        if (state.resistances != null) this.resistances.copyBaseValuesFrom(state.resistances);
+        this.defense = state.defense;
+        this.blockChance = state.blockChance;
+        this.gold = state.gold;
+        this.experience = state.experience;
+        this.level = Math.max(1, state.level);
+        for (ObjectMap.Entry<WeaponType, Float> entry : state.weaponProficiencies) {
+            weaponProficiencies.put(entry.key, entry.value);
+        }
+        this.maxHealth = Math.max(1, state.maxHealth);
+        this.health = Math.max(0, Math.min(state.health, maxHealth));
+        this.maxMana = Math.max(0, state.maxMana);
+        this.mana = Math.max(0, Math.min(state.mana, maxMana));
+        // Wczytane maxHealth/maxMana odpowiadają wczytanym statystykom - nie przeliczaj ich przy następnym update()
+        this.derivedStatsRevision = stats.getRevision();
+        this.derivedStatsLevel = level;
+        // StateMachine nie jest zapisywana - jednostka startuje w stanie domyślnym
+    }
+
     @Override
     public String toJson() {
-        // TODO: Implementacja serializacji do JSON przy użyciu GSON
-        // Należy zserializować wszystkie istotne pola: position, health, stats, etc.
-        // StateMachine może wymagać specjalnego traktowania (np. zapis nazwy aktualnego stanu)
-        com.google.gson.Gson gson = new com.google.gson.GsonBuilder()
-            // .registerTypeAdapter(StateMachine.class, new StateMachineSerializer()) // Przykładowy custom serializer
-            .create();
-        return gson.toJson(this); // Uproszczenie, GSON może wymagać konfiguracji dla niektórych typów
+        return UnitStateTypeAdapter.INSTANCE.toJson(captureState(new UnitState()));
     }
 
     @Override
     public void fromJson(String json) {
-        // TODO: Implementacja deserializacji z JSON przy użyciu GSON
-        com.google.gson.Gson gson = new com.google.gson.GsonBuilder()
-            // .registerTypeAdapter(StateMachine.class, new StateMachineDeserializer(this)) // Przykładowy custom deserializer
-            .create();
-        Unit loadedUnit = gson.fromJson(json, this.getClass()); // Użyj getClass() dla poprawnej deserializacji podklas
-
-        // Kopiowanie pól - GSON może to zrobić automatycznie, ale czasami potrzebna jest ręczna interwencja
-        this.id = loadedUnit.id;
-        this.name = loadedUnit.name;
-        this.position = new Vector2(loadedUnit.position); // Upewnij się, że Vector2 jest poprawnie serializowany/deserializowany
-        this.velocity = new Vector2(loadedUnit.velocity);
-        this.health = loadedUnit.health;
-        this.maxHealth = loadedUnit.maxHealth;
-        this.mana = loadedUnit.mana;
-        this.maxMana = loadedUnit.maxMana;
-        this.stats = loadedUnit.stats; // Zakładając, że Stats jest poprawnie (de)serializowany
-        this.race = loadedUnit.race;
-        this.resistances = loadedUnit.resistances; // Zakładając, że Resistances jest poprawnie (de)serializowany
-        this.defense = loadedUnit.defense;
-        this.blockChance = loadedUnit.blockChance;
-        this.gold = loadedUnit.gold;
-        this.experience = loadedUnit.experience;
-        this.level = loadedUnit.level;
-        this.weaponProficiencies = new ObjectMap<>(loadedUnit.weaponProficiencies); // Głęboka kopia, jeśli GSON nie robi
-        this.equippedWeapon = loadedUnit.equippedWeapon; // Zakładając, że Weapon jest poprawnie (de)serializowany
-
-        // StateMachine wymaga specjalnej obsługi - np. odtworzenie stanu na podstawie zapisanej nazwy
-        // this.stateMachine = new StateMachine<>(this);
-        // addStatesToStateMachine(); // Dodaj wszystkie możliwe stany
-        // if (loadedUnit.getPersistentStateName() != null) { // Załóżmy, że jest metoda do zapisu nazwy stanu
-        //    this.stateMachine.changeState(loadedUnit.getPersistentStateName());
-        // } else {
-        //    this.stateMachine.changeState(getDefaultStateName()); // Ustaw domyślny stan
-        // }
-        // Na razie pomijamy złożoną (de)serializację StateMachine
+        try {
+            UnitState state = UnitStateTypeAdapter.INSTANCE.fromJson(json);
+            if (state != null) applyState(state);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to deserialize " + getClass().getSimpleName() + " from JSON: " + e.getMessage());
+        }
     }
 
     /**
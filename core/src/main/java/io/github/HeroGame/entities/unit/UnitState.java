@@ -0,0 +1,33 @@
+package io.github.HeroGame.entities.unit;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.HeroGame.entities.Race;
+import io.github.HeroGame.entities.equipment.WeaponType;
+import io.github.HeroGame.entities.stats.Resistances;
+import io.github.HeroGame.entities.stats.Stats;
+
+/**
+ * Trwały stan jednostki - same dane, bez tekstur, animacji i maszyny stanów.
+ * Tworzony przez {@link Unit#captureState(UnitState)} na wątku gry, więc może być bezpiecznie
+ * serializowany w tle; przywracany przez {@link Unit#applyState(UnitState)}.
+ */
+public class UnitState {
+    public String id;
+    public String name;
+    public Race race;
+    public float positionX;
+    public float positionY;
+    public int health;
+    public int maxHealth;
+    public int mana;
+    public int maxMana;
+    public Stats stats;
+    public Resistances resistances;
+    public int defense;
+    public float blockChance;
+    public int gold;
+    public int experience;
+    public int level = 1;
+    public ObjectMap<WeaponType, Float> weaponProficiencies = new ObjectMap<>();
+    // Broń i ekwipunek nie są jeszcze zapisywane - brak rejestru przedmiotów, z którego można by je odtworzyć
+}
@@ -0,0 +1,136 @@
+package io.github.HeroGame.entities.unit;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.HeroGame.entities.Race;
+import io.github.HeroGame.entities.equipment.WeaponType;
+import io.github.HeroGame.entities.stats.ResistancesTypeAdapter;
+import io.github.HeroGame.entities.stats.StatsTypeAdapter;
+
+import java.io.IOException;
+
+/**
+ * Strumieniowy adapter Gson dla {@link UnitState} - zapis pole po polu przez {@link JsonWriter}, bez refleksji.
+ * Metody {@link #writeFields} i {@link #readField} są współdzielone z adapterami podklas (np. stanu gracza).
+ */
+public final class UnitStateTypeAdapter extends TypeAdapter<UnitState> {
+    public static final UnitStateTypeAdapter INSTANCE = new UnitStateTypeAdapter();
+
+    private UnitStateTypeAdapter() {
+    }
+
+    @Override
+    public void write(JsonWriter out, UnitState state) throws IOException {
+        if (state == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, state);
+        out.endObject();
+    }
+
+    @Override
+    public UnitState read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        UnitState state = new UnitState();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!readField(in.nextName(), in, state)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return state;
+    }
+
+    /**
+     * Zapisuje pola {@link UnitState} wewnątrz już otwartego obiektu JSON.
+     */
+    public static void writeFields(JsonWriter out, UnitState state) throws IOException {
+        out.name("id").value(state.id);
+        out.name("name").value(state.name);
+        out.name("race").value(state.race != null ? state.race.name() : null);
+        out.name("x").value(state.positionX);
+        out.name("y").value(state.positionY);
+        out.name("health").value(state.health);
+        out.name("maxHealth").value(state.maxHealth);
+        out.name("mana").value(state.mana);
+        out.name("maxMana").value(state.maxMana);
+        out.name("stats");
+        StatsTypeAdapter.INSTANCE.write(out, state.stats);
+        out.name("resistances");
+        ResistancesTypeAdapter.INSTANCE.write(out, state.resistances);
+        out.name("defense").value(state.defense);
+        out.name("blockChance").value(state.blockChance);
+        out.name("gold").value(state.gold);
+        out.name("experience").value(state.experience);
+        out.name("level").value(state.level);
+        out.name("weaponProficiencies").beginObject();
+        for (ObjectMap.Entry<WeaponType, Float> entry : state.weaponProficiencies) {
+            out.name(entry.key.name()).value(entry.value);
+        }
+        out.endObject();
+    }
+
+    /**
+     * Wczytuje jedno pole {@link UnitState}.
+     *
+     * @return false, jeśli nazwa nie należy do stanu jednostki - wywołujący musi wtedy sam obsłużyć lub pominąć wartość.
+     */
+    public static boolean readField(String name, JsonReader in, UnitState state) throws IOException {
+        switch (name) {
+            case "id" -> state.id = nextStringOrNull(in);
+            case "name" -> state.name = nextStringOrNull(in);
+            case "race" -> {
+                String race = nextStringOrNull(in);
+                state.race = race != null ? Race.valueOf(race) : null;
+            }
+            case "x" -> state.positionX = (float) in.nextDouble();
+            case "y" -> state.positionY = (float) in.nextDouble();
+            case "health" -> state.health = in.nextInt();
+            case "maxHealth" -> state.maxHealth = in.nextInt();
+            case "mana" -> state.mana = in.nextInt();
+            case "maxMana" -> state.maxMana = in.nextInt();
+            case "stats" -> state.stats = StatsTypeAdapter.INSTANCE.read(in);
+            case "resistances" -> state.resistances = ResistancesTypeAdapter.INSTANCE.read(in);
+            case "defense" -> state.defense = in.nextInt();
+            case "blockChance" -> state.blockChance = (float) in.nextDouble();
+            case "gold" -> state.gold = in.nextInt();
+            case "experience" -> state.experience = in.nextInt();
+            case "level" -> state.level = in.nextInt();
+            case "weaponProficiencies" -> {
+                in.beginObject();
+                while (in.hasNext()) {
+                    String weaponType = in.nextName();
+                    float value = (float) in.nextDouble();
+                    for (WeaponType type : WeaponType.values()) {
+                        if (type.name().equals(weaponType)) {
+                            state.weaponProficiencies.put(type, value);
+                            break;
+                        }
+                    }
+                }
+                in.endObject();
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
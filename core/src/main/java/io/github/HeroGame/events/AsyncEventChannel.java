@@ -0,0 +1,115 @@
+package io.github.HeroGame.events;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Kanał asynchroniczny {@link EventManager}: przekazuje migawki zdarzeń do listenerów
+ * wykonywanych na osobnym wątku wirtualnym (logowanie, telemetria, zapisy - wszystko, co robi I/O).
+ * <p>
+ * Wątek renderujący płaci tylko za wstawienie do nieblokującej kolejki. Kolejka jest ograniczona
+ * ({@code capacity}); gdy worker nie nadąża, nowe zdarzenia są odrzucane i liczone w {@link #getDroppedCount()}.
+ */
+final class AsyncEventChannel {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private record Envelope(Object event, Consumer<?>[] listeners) {}
+
+    private final ConcurrentLinkedQueue<Envelope> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final int capacity;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile boolean workerParked;
+
+    AsyncEventChannel(int capacity) {
+        this.capacity = capacity;
+        this.worker = Thread.ofVirtual().name("HeroGame-async-events").start(this::runWorker);
+    }
+
+    /**
+     * Wstawia zdarzenie do kanału. Wywoływane z wątku publikującego.
+     *
+     * @param event Niemodyfikowalna migawka zdarzenia.
+     * @param listeners Migawka listenerów asynchronicznych (nie jest modyfikowana po zbudowaniu).
+     * @return false, jeśli kolejka była pełna i zdarzenie zostało odrzucone.
+     */
+    boolean offer(Object event, Consumer<?>[] listeners) {
+        if (!running || pending.incrementAndGet() > capacity) {
+            if (running) pending.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(new Envelope(event, listeners));
+        if (workerParked) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runWorker() {
+        while (running || !queue.isEmpty()) {
+            Envelope envelope = queue.poll();
+            if (envelope == null) {
+                workerParked = true;
+                // Ponowne sprawdzenie po ustawieniu flagi - zapobiega zgubieniu wybudzenia
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                workerParked = false;
+                continue;
+            }
+            pending.decrementAndGet();
+            for (Consumer<?> listener : envelope.listeners()) {
+                try {
+                    ((Consumer<Object>) listener).accept(envelope.event());
+                } catch (Exception e) {
+                    System.err.println("Error executing async event listener for " + envelope.event().getClass().getSimpleName() + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+            delivered.incrementAndGet();
+        }
+    }
+
+    /**
+     * Zatrzymuje kanał. Zdarzenia już przyjęte są jeszcze dostarczane, maksymalnie przez podany czas.
+     *
+     * @param timeoutMillis Maksymalny czas oczekiwania na opróżnienie kolejki.
+     */
+    void shutdown(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            if (!worker.join(Duration.ofMillis(timeoutMillis))) {
+                System.err.println("Async event channel did not drain within " + timeoutMillis + " ms. Pending: " + pending.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    int getPendingCount() {
+        return pending.get();
+    }
+
+    long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+}
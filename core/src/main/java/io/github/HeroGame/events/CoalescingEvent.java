@@ -0,0 +1,28 @@
+package io.github.HeroGame.events;
+
+/**
+ * Zdarzenie opisujące zmianę stanu, które w kolejce {@link EventManager} może zostać scalone
+ * z wcześniejszym zdarzeniem tego samego typu i o tym samym kluczu.
+ * Dzięki temu kilka zmian w jednej klatce (np. duchowości tej samej jednostki)
+ * trafia do listenerów jako jedno zdarzenie.
+ *
+ * @param <T> Typ zdarzenia (ten sam, który implementuje interfejs).
+ */
+public interface CoalescingEvent<T extends CoalescingEvent<T>> {
+
+    /**
+     * Klucz, po którym rozpoznawane są duplikaty (np. jednostka, której dotyczy zmiana).
+     * Porównywany przez equals/hashCode, w obrębie jednej klasy zdarzenia.
+     *
+     * @return Klucz scalania, nie null.
+     */
+    Object getCoalescingKey();
+
+    /**
+     * Wchłania nowsze zdarzenie o tym samym kluczu. Oczekujące zdarzenie powinno po tym
+     * opisywać łączny efekt obu zmian.
+     *
+     * @param newer Późniejsze zdarzenie, które nie zostanie już rozesłane osobno.
+     */
+    void coalesce(T newer);
+}
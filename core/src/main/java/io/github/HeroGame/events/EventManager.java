@@ -1,19 +1,80 @@
 package io.github.HeroGame.events;
 
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
 import java.util.function.Consumer;
 
 /**
  * Prosty system zarządzania zdarzeniami oparty na mechanizmie publikuj/subskrybuj.
  * Umożliwia luźne powiązanie komponentów gry.
+ * <p>
+ * Publikacja nie alokuje pamięci: dla każdej klasy zdarzenia przechowywana jest gotowa tablica
+ * odbiorców (migawka), obejmująca również subskrybentów nadtypów i interfejsów zdarzenia.
+ * Migawki są unieważniane przy każdej zmianie subskrypcji i budowane ponownie przy pierwszej
+ * publikacji danego typu (copy-on-write), więc listener może bezpiecznie (od)subskrybować
+ * w trakcie obsługi zdarzenia.
+ * <p>
+ * Oprócz natychmiastowego {@link #publish(Object)} dostępna jest publikacja odroczona
+ * ({@link #enqueue(Object)}): zdarzenia trafiają do prealokowanego bufora cyklicznego i są rozsyłane
+ * raz na klatkę w {@link #processQueue()}. Zdarzenia {@link CoalescingEvent} o tym samym kluczu
+ * są w kolejce scalane. Klasa nie jest bezpieczna wątkowo - używać tylko z wątku renderującego.
+ * <p>
+ * Zdarzenia {@link PooledEvent} pobiera się przez {@link #obtain(Class)}; po rozesłaniu
+ * (lub scaleniu) EventManager sam zwraca je do puli. Pule są jawne ({@link #registerPool(Class, Pool)}),
+ * z {@code newObject()} wywołującym konstruktor - bez refleksji, której obraz natywny (GraalVM) nie ma.
+ * <p>
+ * Listenerzy zapisani przez {@link #subscribeAsync(Class, Consumer)} dostają migawki zdarzeń na osobnym
+ * wątku ({@link AsyncEventChannel}) - dla obsługi wykonującej I/O, która nie może blokować klatki.
  */
 public class EventManager {
+    private static final Consumer<?>[] NO_LISTENERS = new Consumer<?>[0];
+    private static final int INITIAL_QUEUE_CAPACITY = 256; // Potęga dwójki - indeksy liczone maską
+    private static final int ASYNC_CHANNEL_CAPACITY = 4096;
+    private static final long ASYNC_SHUTDOWN_TIMEOUT_MS = 2000;
+    private static final Logger log = new Logger(EventManager.class.getSimpleName(), Logger.DEBUG);
+
     private static EventManager instance;
     private final ObjectMap<Class<?>, Array<Consumer<?>>> listeners;
+    // Klasa zdarzenia -> wszyscy odbiorcy (typ dokładny, nadklasy, interfejsy). Nigdy nie modyfikowane w miejscu.
+    private final ObjectMap<Class<?>, Consumer<?>[]> dispatchCache;
+    private final ObjectMap<Class<?>, Array<Consumer<?>>> asyncListeners;
+    private final ObjectMap<Class<?>, Consumer<?>[]> asyncDispatchCache;
+    private final ObjectMap<Class<?>, Pool<?>> eventPools; // Klasa zdarzenia PooledEvent -> jej pula
+    private AsyncEventChannel asyncChannel; // Tworzony przy pierwszej subskrypcji asynchronicznej
+
+    // Kolejka zdarzeń odroczonych (bufor cykliczny). Sekwencja = numer kolejny zdarzenia w kolejce.
+    private Object[] queue;
+    private int queueHead;
+    private int queueSize;
+    private int queueHeadSequence;
+    // Klasa zdarzenia -> (klucz scalania -> sekwencja oczekującego zdarzenia)
+    private final ObjectMap<Class<?>, ObjectIntMap<Object>> coalescingIndex;
+
+    // Liczniki zdarzeń na klatkę, zamieniane miejscami w processQueue()
+    private ObjectIntMap<Class<?>> frameEventCounts;
+    private ObjectIntMap<Class<?>> lastFrameEventCounts;
+    private int frameCoalescedCount;
+    private int lastFrameCoalescedCount;
 
     private EventManager() {
         listeners = new ObjectMap<>();
+        dispatchCache = new ObjectMap<>();
+        asyncListeners = new ObjectMap<>();
+        asyncDispatchCache = new ObjectMap<>();
+        eventPools = new ObjectMap<>();
+        registerPool(SpiritualityChangedEvent.class, new Pool<>() {
+            @Override
+            protected SpiritualityChangedEvent newObject() {
+                return new SpiritualityChangedEvent();
+            }
+        });
+        queue = new Object[INITIAL_QUEUE_CAPACITY];
+        coalescingIndex = new ObjectMap<>();
+        frameEventCounts = new ObjectIntMap<>();
+        lastFrameEventCounts = new ObjectIntMap<>();
     }
 
     /**
@@ -29,25 +90,33 @@ public class EventManager {
 
     /**
      * Subskrybuje określony typ zdarzenia.
-     * Gdy zdarzenie tego typu zostanie opublikowane, podany listener zostanie wywołany.
+     * Gdy zdarzenie tego typu (lub jego podtypu) zostanie opublikowane, podany listener zostanie wywołany.
      *
-     * @param eventType Klasa zdarzenia do subskrypcji.
+     * @param eventType Klasa zdarzenia do subskrypcji (może być nadklasą lub interfejsem).
      * @param listener Consumer, który zostanie wykonany po opublikowaniu zdarzenia.
      * @param <T> Typ zdarzenia.
      */
     public <T> void subscribe(Class<T> eventType, Consumer<T> listener) {
-        // Sprawdź, czy klucz (eventType) już istnieje. Jeśli nie, dodaj nową Array.
-        if (!listeners.containsKey(eventType)) {
-            listeners.put(eventType, new Array<>());
-        }
-
-        @SuppressWarnings("unchecked") // Bezpieczne, ponieważ sprawdzamy typ przy publikacji
-        Array<Consumer<?>> eventListeners = listeners.get(eventType);
+        addListener(listeners, dispatchCache, eventType, listener);
+    }
 
-        // Dodaj listenera tylko jeśli jeszcze nie istnieje na liście
-        if (!eventListeners.contains((Consumer<?>) listener, true)) { // true dla identity comparison
-            eventListeners.add(listener);
+    /**
+     * Subskrybuje określony typ zdarzenia w kanale asynchronicznym.
+     * Listener zostanie wywołany na wątku roboczym, nie na wątku renderującym, i dostanie migawkę zdarzenia:
+     * kopię ({@link PooledEvent#copy()}) dla zdarzeń z puli albo sam obiekt zdarzenia, który w takim wypadku
+     * musi być niemodyfikowalny. Listener nie może dotykać stanu gry ani OpenGL - wyniki przekazuje
+     * przez {@code Gdx.app.postRunnable}. Przy przepełnieniu kanału zdarzenia są odrzucane
+     * (zob. {@link #getAsyncDroppedCount()}).
+     *
+     * @param eventType Klasa zdarzenia do subskrypcji (może być nadklasą lub interfejsem).
+     * @param listener Consumer wykonywany na wątku roboczym.
+     * @param <T> Typ zdarzenia.
+     */
+    public <T> void subscribeAsync(Class<T> eventType, Consumer<T> listener) {
+        if (asyncChannel == null || !asyncChannel.isRunning()) {
+            asyncChannel = new AsyncEventChannel(ASYNC_CHANNEL_CAPACITY);
         }
+        addListener(asyncListeners, asyncDispatchCache, eventType, listener);
     }
 
     /**
@@ -58,47 +127,361 @@ public class EventManager {
      * @param <T> Typ zdarzenia.
      */
     public <T> void unsubscribe(Class<T> eventType, Consumer<T> listener) {
-        if (listeners.containsKey(eventType)) {
-            @SuppressWarnings("unchecked")
-            Array<Consumer<?>> eventListeners = listeners.get(eventType);
-            eventListeners.removeValue((Consumer<?>) listener, true);
+        removeListener(listeners, dispatchCache, eventType, listener);
+    }
+
+    /**
+     * Odsubskrybowuje listener asynchroniczny od określonego typu zdarzenia.
+     * Zdarzenia już przekazane do kanału mogą jeszcze do niego dotrzeć.
+     *
+     * @param eventType Klasa zdarzenia.
+     * @param listener Consumer do usunięcia.
+     * @param <T> Typ zdarzenia.
+     */
+    public <T> void unsubscribeAsync(Class<T> eventType, Consumer<T> listener) {
+        removeListener(asyncListeners, asyncDispatchCache, eventType, listener);
+    }
+
+    private static void addListener(ObjectMap<Class<?>, Array<Consumer<?>>> registry, ObjectMap<Class<?>, Consumer<?>[]> cache,
+                                    Class<?> eventType, Consumer<?> listener) {
+        Array<Consumer<?>> eventListeners = registry.get(eventType);
+        if (eventListeners == null) {
+            eventListeners = new Array<>();
+            registry.put(eventType, eventListeners);
+        }
+
+        // Dodaj listenera tylko jeśli jeszcze nie istnieje na liście
+        if (!eventListeners.contains(listener, true)) { // true dla identity comparison
+            eventListeners.add(listener);
+            cache.clear();
+        }
+    }
+
+    private static void removeListener(ObjectMap<Class<?>, Array<Consumer<?>>> registry, ObjectMap<Class<?>, Consumer<?>[]> cache,
+                                       Class<?> eventType, Consumer<?> listener) {
+        Array<Consumer<?>> eventListeners = registry.get(eventType);
+        if (eventListeners != null && eventListeners.removeValue(listener, true)) {
             if (eventListeners.isEmpty()) {
-                listeners.remove(eventType);
+                registry.remove(eventType);
             }
+            cache.clear();
         }
     }
 
     /**
-     * Publikuje zdarzenie do wszystkich subskrybentów.
+     * Rejestruje pulę dla klasy zdarzenia {@link PooledEvent}. Wymagane przed pierwszym {@link #obtain(Class)} tej klasy.
      *
-     * @param event Obiekt zdarzenia do opublikowania.
+     * @param eventType Dokładna klasa zdarzenia (pula nie obsługuje podklas).
+     * @param pool Pula tworząca zdarzenia w {@code newObject()}.
+     * @param <T> Typ zdarzenia.
+     */
+    public <T extends PooledEvent<T>> void registerPool(Class<T> eventType, Pool<T> pool) {
+        eventPools.put(eventType, pool);
+    }
+
+    /**
+     * Pobiera zdarzenie z puli. Zdarzenie należy wypełnić danymi i przekazać do
+     * {@link #publish(Object)} lub {@link #enqueue(Object)}, które zwrócą je do puli po rozesłaniu.
+     *
+     * @param eventType Klasa zdarzenia z pulą zarejestrowaną przez {@link #registerPool(Class, Pool)}.
+     * @param <T> Typ zdarzenia.
+     * @return Wyczyszczone zdarzenie z puli.
+     * @throws IllegalArgumentException jeśli dla klasy nie zarejestrowano puli.
      */
     @SuppressWarnings("unchecked")
+    public <T extends PooledEvent<T>> T obtain(Class<T> eventType) {
+        Pool<T> pool = (Pool<T>) eventPools.get(eventType);
+        if (pool == null) {
+            throw new IllegalArgumentException("No event pool registered for " + eventType.getName());
+        }
+        return pool.obtain();
+    }
+
+    /**
+     * Publikuje zdarzenie do wszystkich subskrybentów jego klasy, nadklas i interfejsów.
+     * Zdarzenie {@link PooledEvent} przechodzi na własność EventManagera i wraca do puli po powrocie z tej metody.
+     *
+     * @param event Obiekt zdarzenia do opublikowania.
+     */
     public void publish(Object event) {
         if (event == null) {
             System.err.println("Attempted to publish a null event.");
             return;
         }
+        frameEventCounts.getAndIncrement(event.getClass(), 0, 1);
+        dispatch(event);
+        release(event);
+    }
+
+    /**
+     * Dodaje zdarzenie do kolejki odroczonej. Listenerzy zostaną wywołani dopiero w {@link #processQueue()}.
+     * Jeśli zdarzenie implementuje {@link CoalescingEvent}, a w kolejce czeka już zdarzenie tej samej
+     * klasy z tym samym kluczem, nowe zdarzenie zostaje w nie wchłonięte.
+     * Zdarzenie {@link PooledEvent} przechodzi na własność EventManagera, jak w {@link #publish(Object)}.
+     *
+     * @param event Obiekt zdarzenia do opublikowania w fazie rozsyłania kolejki.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void enqueue(Object event) {
+        if (event == null) {
+            System.err.println("Attempted to enqueue a null event.");
+            return;
+        }
         Class<?> eventType = event.getClass();
-        if (listeners.containsKey(eventType)) {
-            // Tworzymy kopię, aby uniknąć ConcurrentModificationException, jeśli listener modyfikuje listę
-            Array<Consumer<?>> consumers = new Array<>(listeners.get(eventType));
-            for (Consumer<?> consumer : consumers) {
-                try {
-                    // Bezpieczne rzutowanie, ponieważ subskrypcja gwarantuje zgodność typów
-                    ((Consumer<Object>) consumer).accept(event);
-                } catch (Exception e) {
-                    System.err.println("Error executing event listener for " + eventType.getSimpleName() + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
+        frameEventCounts.getAndIncrement(eventType, 0, 1);
+
+        if (event instanceof CoalescingEvent coalescing) {
+            ObjectIntMap<Object> pendingByKey = coalescingIndex.get(eventType);
+            if (pendingByKey == null) {
+                pendingByKey = new ObjectIntMap<>();
+                coalescingIndex.put(eventType, pendingByKey);
             }
+            Object key = coalescing.getCoalescingKey();
+            int pendingSequence = pendingByKey.get(key, -1);
+            if (pendingSequence != -1) {
+                ((CoalescingEvent) queue[slotOf(pendingSequence)]).coalesce(coalescing);
+                frameCoalescedCount++;
+                release(event);
+                return;
+            }
+            pendingByKey.put(key, queueHeadSequence + queueSize);
+        }
+
+        if (queueSize == queue.length) {
+            growQueue();
+        }
+        queue[(queueHead + queueSize) & (queue.length - 1)] = event;
+        queueSize++;
+    }
+
+    /**
+     * Faza rozsyłania kolejki - wywoływana raz na klatkę (z {@code MyGame.render()}).
+     * Rozsyła zdarzenia zebrane do tej pory; zdarzenia dodane przez listenerów w trakcie
+     * rozsyłania czekają do następnej klatki, co zapobiega kaskadom w obrębie jednej klatki.
+     * Zamyka również liczniki zdarzeń bieżącej klatki.
+     */
+    public void processQueue() {
+        int count = queueSize;
+        // Zdarzenia dodane w trakcie rozsyłania nie mogą być scalane z tymi, które są właśnie rozsyłane
+        for (ObjectIntMap<Object> pendingByKey : coalescingIndex.values()) {
+            pendingByKey.clear();
+        }
+        for (int i = 0; i < count; i++) {
+            Object event = queue[queueHead];
+            queue[queueHead] = null;
+            queueHead = (queueHead + 1) & (queue.length - 1);
+            queueSize--;
+            queueHeadSequence++;
+            dispatch(event);
+            release(event);
         }
+
+        ObjectIntMap<Class<?>> finished = frameEventCounts;
+        frameEventCounts = lastFrameEventCounts;
+        frameEventCounts.clear();
+        lastFrameEventCounts = finished;
+        lastFrameCoalescedCount = frameCoalescedCount;
+        frameCoalescedCount = 0;
     }
 
     /**
-     * Czyści wszystkich listenerów. Przydatne np. przy zamykaniu gry.
+     * Zwraca liczbę zdarzeń danej klasy (publikowanych natychmiast i kolejkowanych) w ostatniej pełnej klatce.
+     * @param eventType Klasa zdarzenia.
+     * @return Liczba zdarzeń, łącznie ze scalonymi.
+     */
+    public int getEventCountLastFrame(Class<?> eventType) {
+        return lastFrameEventCounts.get(eventType, 0);
+    }
+
+    /**
+     * Zwraca liczniki zdarzeń z ostatniej pełnej klatki, według klasy zdarzenia.
+     * Mapa jest ponownie używana - nie należy jej modyfikować ani przechowywać między klatkami.
+     * @return Liczniki zdarzeń ostatniej klatki.
+     */
+    public ObjectIntMap<Class<?>> getLastFrameEventCounts() {
+        return lastFrameEventCounts;
+    }
+
+    /**
+     * @return Liczba zdarzeń wchłoniętych przez scalanie w ostatniej pełnej klatce.
+     */
+    public int getCoalescedCountLastFrame() {
+        return lastFrameCoalescedCount;
+    }
+
+    /**
+     * @return Liczba zdarzeń oczekujących w kolejce odroczonej.
+     */
+    public int getQueuedEventCount() {
+        return queueSize;
+    }
+
+    /**
+     * @return Liczba zdarzeń odrzuconych przez przepełniony kanał asynchroniczny (od startu gry).
+     */
+    public long getAsyncDroppedCount() {
+        return asyncChannel != null ? asyncChannel.getDroppedCount() : 0;
+    }
+
+    /**
+     * @return Liczba zdarzeń dostarczonych przez kanał asynchroniczny (od startu gry).
+     */
+    public long getAsyncDeliveredCount() {
+        return asyncChannel != null ? asyncChannel.getDeliveredCount() : 0;
+    }
+
+    /**
+     * @return Liczba zdarzeń czekających w kanale asynchronicznym.
+     */
+    public int getAsyncPendingCount() {
+        return asyncChannel != null ? asyncChannel.getPendingCount() : 0;
+    }
+
+    /**
+     * Zatrzymuje kanał asynchroniczny, dając mu chwilę na dostarczenie przyjętych zdarzeń.
+     * Wywoływane przy zamykaniu gry (z {@code MyGame.dispose()}).
+     */
+    public void shutdown() {
+        asyncListeners.clear();
+        asyncDispatchCache.clear();
+        if (asyncChannel != null) {
+            // Kanał zostaje zachowany (zatrzymany), żeby liczniki były dostępne po zamknięciu
+            asyncChannel.shutdown(ASYNC_SHUTDOWN_TIMEOUT_MS);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(Object event) {
+        if (asyncChannel != null) {
+            Consumer<?>[] asyncConsumers = getDispatchTargets(asyncListeners, asyncDispatchCache, event.getClass());
+            if (asyncConsumers.length > 0) {
+                // Zdarzenie z puli wróci do niej po rozesłaniu - worker dostaje własną kopię
+                Object snapshot = event instanceof PooledEvent<?> pooled ? pooled.copy() : event;
+                asyncChannel.offer(snapshot, asyncConsumers);
+            }
+        }
+        // Lokalna referencja do migawki - zmiany subskrypcji w trakcie pętli tworzą nową tablicę
+        Consumer<?>[] consumers = getDispatchTargets(listeners, dispatchCache, event.getClass());
+        for (int i = 0; i < consumers.length; i++) {
+            try {
+                // Bezpieczne rzutowanie, ponieważ subskrypcja gwarantuje zgodność typów
+                ((Consumer<Object>) consumers[i]).accept(event);
+            } catch (Exception e) {
+                System.err.println("Error executing event listener for " + event.getClass().getSimpleName() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Sprawdza, czy ktokolwiek nasłuchuje zdarzeń danej klasy (bezpośrednio lub przez nadtyp).
+     * Pozwala pominąć budowanie zdarzenia, którego nikt nie odbierze.
+     *
+     * @param eventType Klasa zdarzenia.
+     * @return true, jeśli istnieje co najmniej jeden odbiorca.
+     */
+    public boolean hasListeners(Class<?> eventType) {
+        return getDispatchTargets(listeners, dispatchCache, eventType).length > 0
+            || getDispatchTargets(asyncListeners, asyncDispatchCache, eventType).length > 0;
+    }
+
+    /**
+     * Czyści wszystkich listenerów (również asynchronicznych) i porzuca zdarzenia oczekujące w kolejce.
+     * Przydatne np. przy zamykaniu gry. Kanał asynchroniczny działa dalej - zatrzymuje go {@link #shutdown()}.
      */
     public void clearAllListeners() {
         listeners.clear();
+        dispatchCache.clear();
+        asyncListeners.clear();
+        asyncDispatchCache.clear();
+        while (queueSize > 0) {
+            release(queue[queueHead]);
+            queue[queueHead] = null;
+            queueHead = (queueHead + 1) & (queue.length - 1);
+            queueSize--;
+            queueHeadSequence++;
+        }
+        for (ObjectIntMap<Object> pendingByKey : coalescingIndex.values()) {
+            pendingByKey.clear();
+        }
+    }
+
+    /**
+     * Zwraca zdarzenie do puli, jeśli jest zdarzeniem wielokrotnego użytku.
+     * Zdarzenia klas bez zarejestrowanej puli są pomijane. Pula przyjmuje też zdarzenie utworzone przez {@code new}
+     * (np. {@link PooledEvent#copy()}) - publikujący oddał je razem z publikacją, więc nikt inny go nie trzyma.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void release(Object event) {
+        if (event instanceof PooledEvent) {
+            Pool pool = eventPools.get(event.getClass());
+            if (pool != null) {
+                pool.free(event);
+            }
+        }
+    }
+
+    private int slotOf(int sequence) {
+        return (queueHead + (sequence - queueHeadSequence)) & (queue.length - 1);
+    }
+
+    /**
+     * Podwaja bufor kolejki. Kolejność i sekwencje zdarzeń nie zmieniają się,
+     * więc indeks scalania pozostaje poprawny.
+     */
+    private void growQueue() {
+        Object[] grown = new Object[queue.length * 2];
+        for (int i = 0; i < queueSize; i++) {
+            grown[i] = queue[(queueHead + i) & (queue.length - 1)];
+        }
+        log.error("Queue full (" + queue.length + " events), growing to " + grown.length + ".");
+        queue = grown;
+        queueHead = 0;
+    }
+
+    private static Consumer<?>[] getDispatchTargets(ObjectMap<Class<?>, Array<Consumer<?>>> registry,
+                                                    ObjectMap<Class<?>, Consumer<?>[]> cache, Class<?> eventType) {
+        Consumer<?>[] targets = cache.get(eventType);
+        if (targets == null) {
+            targets = buildDispatchTargets(registry, eventType);
+            cache.put(eventType, targets);
+        }
+        return targets;
+    }
+
+    /**
+     * Składa migawkę odbiorców dla klasy zdarzenia: najpierw typ dokładny, potem kolejne nadklasy,
+     * na końcu interfejsy. Listener zapisany na kilka pasujących typów jest wywoływany tylko raz.
+     */
+    private static Consumer<?>[] buildDispatchTargets(ObjectMap<Class<?>, Array<Consumer<?>>> registry, Class<?> eventType) {
+        Array<Consumer<?>> collected = new Array<>();
+        Array<Class<?>> interfaces = new Array<>();
+        for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+            collectListeners(registry, type, collected);
+            collectInterfaces(type, interfaces);
+        }
+        for (Class<?> type : interfaces) {
+            collectListeners(registry, type, collected);
+        }
+        return collected.isEmpty() ? NO_LISTENERS : collected.toArray(Consumer.class);
+    }
+
+    private static void collectListeners(ObjectMap<Class<?>, Array<Consumer<?>>> registry, Class<?> type, Array<Consumer<?>> collected) {
+        Array<Consumer<?>> typeListeners = registry.get(type);
+        if (typeListeners == null) return;
+        for (Consumer<?> listener : typeListeners) {
+            if (!collected.contains(listener, true)) {
+                collected.add(listener);
+            }
+        }
+    }
+
+    private static void collectInterfaces(Class<?> type, Array<Class<?>> interfaces) {
+        for (Class<?> iface : type.getInterfaces()) {
+            if (!interfaces.contains(iface, true)) {
+                interfaces.add(iface);
+                collectInterfaces(iface, interfaces);
+            }
+        }
     }
 }
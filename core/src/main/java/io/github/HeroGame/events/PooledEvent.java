@@ -0,0 +1,27 @@
+package io.github.HeroGame.events;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Zdarzenie wielokrotnego użytku, pobierane z puli przez {@link EventManager#obtain(Class)}.
+ * <p>
+ * Po opublikowaniu zdarzenie należy do {@link EventManager} - także utworzone przez {@code new} zamiast
+ * {@link EventManager#obtain(Class)}, więc publikujący nie może go potem używać. Po rozesłaniu do wszystkich listenerów
+ * (albo po wchłonięciu przez scalanie w kolejce) wraca do puli, a jego pola są czyszczone w {@link #reset()}.
+ * Listener nie może więc przechowywać referencji do zdarzenia po powrocie z obsługi -
+ * jeśli potrzebuje danych później, musi wykonać {@link #copy()}.
+ * <p>
+ * Każda klasa implementująca potrzebuje puli zarejestrowanej w {@link EventManager#registerPool(Class, Pool)} -
+ * jawnej podklasy {@link Pool} z {@code newObject()}, bez tworzenia przez refleksję.
+ *
+ * @param <T> Typ zdarzenia (ten sam, który implementuje interfejs).
+ */
+public interface PooledEvent<T extends PooledEvent<T>> extends Pool.Poolable {
+
+    /**
+     * Tworzy niezależną kopię zdarzenia, która nie należy do puli i może być przechowywana dowolnie długo.
+     *
+     * @return Nowy obiekt z tymi samymi danymi.
+     */
+    T copy();
+}
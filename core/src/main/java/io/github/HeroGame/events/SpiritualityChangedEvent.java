@@ -4,12 +4,22 @@ import io.github.HeroGame.entities.unit.Unit;
 
 /**
  * Zdarzenie publikowane, gdy zmienia się poziom duchowości jednostki.
+ * W kolejce zdarzeń kolejne zmiany tej samej jednostki są scalane w jedno zdarzenie.
+ * Instancje pobierane są z puli ({@link EventManager#obtain(Class)}) - listener, który chce
+ * zachować dane zdarzenia, musi użyć {@link #copy()}. Klasa jest finalna: pula zdarzeń tej klasy
+ * nie może dostać podklasy.
  */
-public class SpiritualityChangedEvent {
-    private final Unit unit;
-    private final int oldSpirituality;
-    private final int newSpirituality;
-    private final int changeAmount;
+public final class SpiritualityChangedEvent implements CoalescingEvent<SpiritualityChangedEvent>, PooledEvent<SpiritualityChangedEvent> {
+    private Unit unit;
+    private int oldSpirituality;
+    private int newSpirituality;
+    private int changeAmount;
+
+    /**
+     * Konstruktor pustego zdarzenia, używany przez pulę. Dane ustawia {@link #set(Unit, int, int, int)}.
+     */
+    public SpiritualityChangedEvent() {
+    }
 
     /**
      * Konstruktor zdarzenia zmiany duchowości.
@@ -19,10 +29,23 @@ public class SpiritualityChangedEvent {
      * @param changeAmount Ilość, o którą zmieniła się duchowość (dodatnia lub ujemna).
      */
     public SpiritualityChangedEvent(Unit unit, int oldSpirituality, int newSpirituality, int changeAmount) {
+        set(unit, oldSpirituality, newSpirituality, changeAmount);
+    }
+
+    /**
+     * Ustawia dane zdarzenia pobranego z puli.
+     * @param unit Jednostka, której duchowość się zmieniła.
+     * @param oldSpirituality Poprzednia wartość duchowości.
+     * @param newSpirituality Nowa wartość duchowości.
+     * @param changeAmount Ilość, o którą zmieniła się duchowość (dodatnia lub ujemna).
+     * @return To samo zdarzenie, do wywołań łańcuchowych.
+     */
+    public SpiritualityChangedEvent set(Unit unit, int oldSpirituality, int newSpirituality, int changeAmount) {
         this.unit = unit;
         this.oldSpirituality = oldSpirituality;
         this.newSpirituality = newSpirituality;
         this.changeAmount = changeAmount;
+        return this;
     }
 
     public Unit getUnit() {
@@ -40,4 +63,31 @@ public class SpiritualityChangedEvent {
     public int getChangeAmount() {
         return changeAmount;
     }
+
+    @Override
+    public Object getCoalescingKey() {
+        return unit;
+    }
+
+    /**
+     * Zachowuje wartość sprzed pierwszej zmiany, przyjmuje wartość po ostatniej i sumuje zmiany.
+     */
+    @Override
+    public void coalesce(SpiritualityChangedEvent newer) {
+        this.newSpirituality = newer.newSpirituality;
+        this.changeAmount += newer.changeAmount;
+    }
+
+    @Override
+    public SpiritualityChangedEvent copy() {
+        return new SpiritualityChangedEvent(unit, oldSpirituality, newSpirituality, changeAmount);
+    }
+
+    @Override
+    public void reset() {
+        unit = null; // Nie trzymaj referencji do jednostki w puli
+        oldSpirituality = 0;
+        newSpirituality = 0;
+        changeAmount = 0;
+    }
 }
@@ -6,6 +6,8 @@ import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.Logger;
+import io.github.HeroGame.assets.TextureCache;
+import io.github.HeroGame.save.SaveCodec;
 
 import java.util.Locale;
 import java.util.Objects;
@@ -22,6 +24,8 @@ public final class SettingsManager {
 
     // Default Values
     public static final String DEFAULT_LANGUAGE = Locale.ENGLISH.getLanguage(); // "en"
+    // Languages with a strings_<code>.properties bundle; MyGame preloads all of them at startup
+    public static final String[] SUPPORTED_LANGUAGES = {"en", "pl", "de", "id"};
     private static final int DEFAULT_WIDTH = 1280;
     private static final int DEFAULT_HEIGHT = 720;
 
@@ -30,6 +34,18 @@ public final class SettingsManager {
     private static final String KEY_FULLSCREEN = "fullscreen";
     private static final boolean DEFAULT_FULLSCREEN = false;
 
+    private static final String KEY_SAVE_CODEC = "saveCodec";
+    private static final String KEY_SAVE_COMPRESSION_LEVEL = "saveCompressionLevel";
+    private static final SaveCodec DEFAULT_SAVE_CODEC = SaveCodec.DEFLATE;
+    private static final int DEFAULT_SAVE_COMPRESSION_LEVEL = 6; // Dobry kompromis szybkość/rozmiar dla danych świata
+
+    private static final String KEY_TEXTURE_RETENTION_POLICY = "textureRetentionPolicy";
+    private static final String KEY_TEXTURE_RETENTION_SECONDS = "textureRetentionSeconds";
+    private static final String KEY_TEXTURE_BUDGET_MB = "textureBudgetMb";
+    private static final TextureCache.RetentionPolicy DEFAULT_TEXTURE_RETENTION_POLICY = TextureCache.RetentionPolicy.KEEP_FOR_TIME;
+    public static final int MIN_TEXTURE_BUDGET_MB = 16;
+    public static final int MAX_TEXTURE_BUDGET_MB = 4096;
+
     // Supported resolutions (Add more as needed)
     public record Resolution(int width, int height) {
         @Override
@@ -67,8 +83,7 @@ public final class SettingsManager {
         log.debug("setLanguage called with: " + languageCode);
         String oldLanguage = prefs.getString(KEY_LANGUAGE, "NOT_SET");
 
-        // Prosta walidacja - można to zrobić bardziej elegancko, np. z listą/setem obsługiwanych kodów
-        if (!languageCode.equals("en") && !languageCode.equals("pl") && !languageCode.equals("de") && !languageCode.equals("id")) { // <<< DODANO "id"
+        if (!isSupportedLanguage(languageCode)) {
             log.info("Unsupported language code set: " + languageCode + ". Falling back to default (" + DEFAULT_LANGUAGE + ").");
             languageCode = DEFAULT_LANGUAGE;
         }
@@ -79,6 +94,13 @@ public final class SettingsManager {
     }
 
 
+    public static boolean isSupportedLanguage(String languageCode) {
+        for (String supported : SUPPORTED_LANGUAGES) {
+            if (supported.equals(languageCode)) return true;
+        }
+        return false;
+    }
+
     public Locale getCurrentLocale() {
         String langCode = getLanguage();
         log.debug("getCurrentLocale: langCode from getLanguage() is '" + langCode + "'");
@@ -153,6 +175,96 @@ public final class SettingsManager {
         // Samo ustawienie preferencji nie zmienia trybu, to musi zrobić applySettings
     }
 
+    // --- Save compression ---
+    public SaveCodec getSaveCodec() {
+        String codecName = prefs.getString(KEY_SAVE_CODEC, DEFAULT_SAVE_CODEC.name());
+        try {
+            return SaveCodec.valueOf(codecName);
+        } catch (IllegalArgumentException e) {
+            log.info("Stored save codec '" + codecName + "' not supported. Using default: " + DEFAULT_SAVE_CODEC);
+            return DEFAULT_SAVE_CODEC;
+        }
+    }
+
+    public void setSaveCodec(SaveCodec codec) {
+        Objects.requireNonNull(codec, "Save codec cannot be null");
+        prefs.putString(KEY_SAVE_CODEC, codec.name());
+        prefs.flush();
+        log.info("Save codec set to: " + codec);
+    }
+
+    public int getSaveCompressionLevel() {
+        int level = prefs.getInteger(KEY_SAVE_COMPRESSION_LEVEL, DEFAULT_SAVE_COMPRESSION_LEVEL);
+        return Math.max(SaveCodec.MIN_LEVEL, Math.min(SaveCodec.MAX_LEVEL, level));
+    }
+
+    public void setSaveCompressionLevel(int level) {
+        if (level < SaveCodec.MIN_LEVEL || level > SaveCodec.MAX_LEVEL) {
+            log.error("Attempted to set unsupported save compression level: " + level);
+            return;
+        }
+        prefs.putInteger(KEY_SAVE_COMPRESSION_LEVEL, level);
+        prefs.flush();
+        log.info("Save compression level set to: " + level);
+    }
+
+    // --- Texture cache ---
+    public TextureCache.RetentionPolicy getTextureRetentionPolicy() {
+        String policyName = prefs.getString(KEY_TEXTURE_RETENTION_POLICY, DEFAULT_TEXTURE_RETENTION_POLICY.name());
+        try {
+            return TextureCache.RetentionPolicy.valueOf(policyName);
+        } catch (IllegalArgumentException e) {
+            log.info("Stored texture retention policy '" + policyName + "' not supported. Using default: " + DEFAULT_TEXTURE_RETENTION_POLICY);
+            return DEFAULT_TEXTURE_RETENTION_POLICY;
+        }
+    }
+
+    public float getTextureRetentionSeconds() {
+        float seconds = prefs.getFloat(KEY_TEXTURE_RETENTION_SECONDS, TextureCache.DEFAULT_RETENTION_SECONDS);
+        return seconds >= 0f ? seconds : TextureCache.DEFAULT_RETENTION_SECONDS;
+    }
+
+    /**
+     * @param seconds Only used by {@link TextureCache.RetentionPolicy#KEEP_FOR_TIME}.
+     */
+    public void setTextureRetention(TextureCache.RetentionPolicy policy, float seconds) {
+        Objects.requireNonNull(policy, "Texture retention policy cannot be null");
+        if (seconds < 0f) {
+            log.error("Attempted to set negative texture retention time: " + seconds);
+            return;
+        }
+        prefs.putString(KEY_TEXTURE_RETENTION_POLICY, policy.name());
+        prefs.putFloat(KEY_TEXTURE_RETENTION_SECONDS, seconds);
+        prefs.flush();
+        log.info("Texture retention set to: " + policy + " (" + seconds + " s)");
+    }
+
+    public int getTextureBudgetMegabytes() {
+        int megabytes = prefs.getInteger(KEY_TEXTURE_BUDGET_MB, (int) (TextureCache.DEFAULT_BUDGET_BYTES / (1024 * 1024)));
+        return Math.max(MIN_TEXTURE_BUDGET_MB, Math.min(MAX_TEXTURE_BUDGET_MB, megabytes));
+    }
+
+    public void setTextureBudgetMegabytes(int megabytes) {
+        if (megabytes < MIN_TEXTURE_BUDGET_MB || megabytes > MAX_TEXTURE_BUDGET_MB) {
+            log.error("Attempted to set unsupported texture budget: " + megabytes + " MB");
+            return;
+        }
+        prefs.putInteger(KEY_TEXTURE_BUDGET_MB, megabytes);
+        prefs.flush();
+        log.info("Texture budget set to: " + megabytes + " MB");
+    }
+
+    /**
+     * Applies the stored texture retention and GPU budget to the cache.
+     * Called at startup; call again after changing the texture settings.
+     */
+    public void applyTextureCacheSettings(TextureCache textureCache) {
+        textureCache.setRetentionPolicy(getTextureRetentionPolicy(), getTextureRetentionSeconds());
+        textureCache.setBudgetBytes(getTextureBudgetMegabytes() * 1024L * 1024L);
+        log.debug("Texture cache settings applied: " + textureCache.getRetentionPolicy() + ", "
+            + getTextureBudgetMegabytes() + " MB budget");
+    }
+
     // --- Apply Resolution ---
     /**
      * Applies the currently set resolution to the game window.
@@ -0,0 +1,246 @@
+package io.github.HeroGame.save;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.HeroGame.entities.PlayerState;
+import io.github.HeroGame.entities.PlayerStateTypeAdapter;
+import io.github.HeroGame.world.TileType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Binarny format zapisu gry (.sav).
+ * <p>
+ * Układ pliku (big-endian, jak w {@link DataOutputStream}):
+ * <pre>
+ * int    MAGIC ("HGSV")
+ * short  wersja formatu
+ * long   czas zapisu (ms od epoki)                 [od wersji 2]
+ * int    szerokość mapy, int wysokość mapy
+ * ubyte  kodek ({@link SaveCodec}) - wszystko dalej jest nim skompresowane  [od wersji 4]
+ * short  rozmiar chunka (w kafelkach, chunki są kwadratowe)
+ * ubyte  liczba wpisów palety, potem dla każdego: UTF nazwa {@link TileType}
+ * dla każdego chunka (wierszami chunków, od lewej do prawej):
+ *   ubyte  kodowanie (CHUNK_UNIFORM / CHUNK_RLE)
+ *   UNIFORM: ubyte indeks palety
+ *   RLE:     ushort liczba serii, potem pary (ushort długość, ubyte indeks palety)
+ * ubyte  czy jest stan gracza (0/1)                [od wersji 3]
+ * stan gracza jako JSON UTF-8 ({@link PlayerStateTypeAdapter}) do końca pliku
+ * </pre>
+ * Wersja 5 nie zmienia układu - numeracja jest wspólna z zapisem JSON ({@link SaveMigrations}).
+ * Pierwsze {@link #HEADER_SIZE} bajtów ma stały układ - lista zapisów czyta tylko je ({@link #readHeader(DataInputStream)}).
+ * Paleta zapisuje nazwy typów, a nie ordinale - zmiana kolejności w {@link TileType} nie psuje starych zapisów.
+ * Kafelki w chunku idą kolumnami (x zewnętrznie, y wewnętrznie), tak jak indeksowane jest {@code worldGridData[x][y]}.
+ */
+final class BinarySaveFormat {
+    static final int MAGIC = 0x48475356; // "HGSV"
+    static final short VERSION = (short) SaveMigrations.CURRENT_VERSION;
+    static final int HEADER_SIZE = 4 + 2 + 8 + 4 + 4;
+    static final int CHUNK_SIZE = 32;
+    private static final int BODY_BUFFER_SIZE = 16 * 1024;
+
+    private static final int CHUNK_UNIFORM = 0;
+    private static final int CHUNK_RLE = 1;
+    private static final TileType[] TILE_TYPES = TileType.values();
+
+    /**
+     * Nagłówek zapisu - wszystko, czego potrzebuje lista zapisów, bez czytania siatki świata.
+     * Dla zapisów w wersji 1 czas zapisu jest nieznany (0).
+     */
+    record Header(int version, long savedAtMillis, int mapWidth, int mapHeight) {}
+
+    private BinarySaveFormat() {
+    }
+
+    /**
+     * Zapisuje stan gry. Treść za nagłówkiem przechodzi przez {@code codec}; strumień jest na końcu zamykany
+     * (zamknięcie kończy kompresję), więc zapis musi być ostatnią operacją na {@code out}.
+     */
+    static void write(GameData data, DataOutputStream out, SaveCodec codec, int level) throws IOException {
+        int width = data.mapWidthTiles;
+        int height = data.mapHeightTiles;
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeByte(codec.getId());
+
+        try (DataOutputStream body = new DataOutputStream(new BufferedOutputStream(codec.wrap(out, level), BODY_BUFFER_SIZE))) {
+            writeBody(data, body);
+        }
+    }
+
+    private static void writeBody(GameData data, DataOutputStream out) throws IOException {
+        int width = data.mapWidthTiles;
+        int height = data.mapHeightTiles;
+        TileType[][] grid = data.worldGridData;
+
+        out.writeShort(CHUNK_SIZE);
+
+        // Paleta: wszystkie typy kafelków; indeks w palecie = ordinal w bieżącej wersji gry
+        out.writeByte(TILE_TYPES.length);
+        for (TileType type : TILE_TYPES) {
+            out.writeUTF(type.name());
+        }
+
+        // Bufor serii jednego chunka - długości i indeksy palety, maksymalnie tyle serii, ile kafelków
+        int[] runLengths = new int[CHUNK_SIZE * CHUNK_SIZE];
+        int[] runValues = new int[CHUNK_SIZE * CHUNK_SIZE];
+
+        for (int chunkY = 0; chunkY < height; chunkY += CHUNK_SIZE) {
+            for (int chunkX = 0; chunkX < width; chunkX += CHUNK_SIZE) {
+                int endX = Math.min(chunkX + CHUNK_SIZE, width);
+                int endY = Math.min(chunkY + CHUNK_SIZE, height);
+                int runCount = 0;
+                int current = -1;
+                for (int x = chunkX; x < endX; x++) {
+                    TileType[] column = grid[x];
+                    for (int y = chunkY; y < endY; y++) {
+                        TileType tile = column[y];
+                        int value = tile != null ? tile.ordinal() : TileType.NONE.ordinal();
+                        if (value == current) {
+                            runLengths[runCount - 1]++;
+                        } else {
+                            runValues[runCount] = value;
+                            runLengths[runCount] = 1;
+                            runCount++;
+                            current = value;
+                        }
+                    }
+                }
+
+                if (runCount == 1) {
+                    out.writeByte(CHUNK_UNIFORM);
+                    out.writeByte(runValues[0]);
+                } else {
+                    out.writeByte(CHUNK_RLE);
+                    out.writeShort(runCount);
+                    for (int i = 0; i < runCount; i++) {
+                        out.writeShort(runLengths[i]);
+                        out.writeByte(runValues[i]);
+                    }
+                }
+            }
+        }
+
+        // Stan gracza: kilkaset bajtów, strumieniowo przez adapter - ta sama reprezentacja co w eksporcie JSON
+        if (data.playerState != null) {
+            out.writeByte(1);
+            JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            PlayerStateTypeAdapter.INSTANCE.write(writer, data.playerState);
+            writer.flush(); // Bez close() - strumień należy do wywołującego
+        } else {
+            out.writeByte(0);
+        }
+    }
+
+    static Header readHeader(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a binary save file (bad magic: 0x" + Integer.toHexString(magic) + ")");
+        }
+        short version = in.readShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported save format version: " + version);
+        }
+        long savedAt = version >= 2 ? in.readLong() : 0L;
+        return new Header(version, savedAt, in.readInt(), in.readInt());
+    }
+
+    static GameData read(DataInputStream raw) throws IOException {
+        Header header = readHeader(raw);
+        if (header.version() < 4) {
+            return readBody(header, raw);
+        }
+        // Dekompresja strumieniowa - treść nie jest nigdy w całości w pamięci
+        SaveCodec codec = SaveCodec.fromId(raw.readUnsignedByte());
+        try (DataInputStream body = new DataInputStream(new BufferedInputStream(codec.wrap(raw), BODY_BUFFER_SIZE))) {
+            return readBody(header, body);
+        }
+    }
+
+    private static GameData readBody(Header header, DataInputStream in) throws IOException {
+        int width = header.mapWidth();
+        int height = header.mapHeight();
+        int chunkSize = in.readUnsignedShort();
+        if (width < 0 || height < 0 || chunkSize <= 0) {
+            throw new IOException("Corrupted save header: " + width + "x" + height + ", chunk " + chunkSize);
+        }
+
+        // Mapowanie palety z pliku na bieżące typy; nieznane nazwy (usunięte typy) stają się NONE
+        int paletteSize = in.readUnsignedByte();
+        TileType[] palette = new TileType[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            String name = in.readUTF();
+            palette[i] = TileType.NONE;
+            for (TileType type : TILE_TYPES) {
+                if (type.name().equals(name)) {
+                    palette[i] = type;
+                    break;
+                }
+            }
+        }
+
+        TileType[][] grid = new TileType[width][height];
+        for (int chunkY = 0; chunkY < height; chunkY += chunkSize) {
+            for (int chunkX = 0; chunkX < width; chunkX += chunkSize) {
+                int endX = Math.min(chunkX + chunkSize, width);
+                int endY = Math.min(chunkY + chunkSize, height);
+                int encoding = in.readUnsignedByte();
+                if (encoding == CHUNK_UNIFORM) {
+                    TileType tile = paletteEntry(palette, in.readUnsignedByte());
+                    for (int x = chunkX; x < endX; x++) {
+                        Arrays.fill(grid[x], chunkY, endY, tile);
+                    }
+                } else if (encoding == CHUNK_RLE) {
+                    int runCount = in.readUnsignedShort();
+                    int x = chunkX;
+                    int y = chunkY;
+                    for (int run = 0; run < runCount; run++) {
+                        int length = in.readUnsignedShort();
+                        TileType tile = paletteEntry(palette, in.readUnsignedByte());
+                        for (int i = 0; i < length; i++) {
+                            if (x >= endX) {
+                                throw new IOException("RLE run overflows chunk at " + chunkX + "," + chunkY);
+                            }
+                            grid[x][y] = tile;
+                            if (++y == endY) {
+                                y = chunkY;
+                                x++;
+                            }
+                        }
+                    }
+                    if (x != endX) {
+                        throw new IOException("RLE chunk at " + chunkX + "," + chunkY + " is incomplete");
+                    }
+                } else {
+                    throw new IOException("Unknown chunk encoding " + encoding + " at " + chunkX + "," + chunkY);
+                }
+            }
+        }
+        GameData data = new GameData(grid, width, height);
+        if (header.version() >= 3 && in.readUnsignedByte() == 1) {
+            // Ostatnia sekcja pliku - czytnik może buforować dalej bez szkody
+            data.playerState = PlayerStateTypeAdapter.INSTANCE.read(new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        }
+        SaveMigrations.upgrade(header.version(), data);
+        return data;
+    }
+
+    private static TileType paletteEntry(TileType[] palette, int index) throws IOException {
+        if (index >= palette.length) {
+            throw new IOException("Palette index out of range: " + index);
+        }
+        return palette[index];
+    }
+}
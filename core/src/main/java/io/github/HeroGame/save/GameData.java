@@ -1,6 +1,10 @@
 package io.github.HeroGame.save;
 
+import io.github.HeroGame.entities.Player;
+import io.github.HeroGame.entities.PlayerState;
 import io.github.HeroGame.world.TileType;
+
+import java.util.Arrays;
 // Import Array jest niepotrzebny, ponieważ TileType[][] to tablica wbudowana w Javie, nie libGDX Array.
 // Ale jeśli w przyszłości będziesz używać Array<TileType> dla wierszy, to będzie przydatny.
 
@@ -8,8 +12,14 @@ public class GameData {
     public TileType[][] worldGridData;
     public int mapWidthTiles;
     public int mapHeightTiles;
+    public PlayerState playerState; // null w zapisach sprzed zapisywania gracza
+    // Wersja formatu, z której stan został wczytany; po migracji treść jest już w bieżącym formacie
+    public int formatVersion = SaveMigrations.CURRENT_VERSION;
+    // Gracz, którego stan jest pobierany przy każdej migawce - tylko dla stanu "na żywo" z ekranu gry
+    private transient Player livePlayer;
+    // Kolumny siatki współdzielone z migawką - przed zmianą trzeba je skopiować (copy-on-write); null bez migawek
+    private transient boolean[] sharedColumns;
     // TODO: Tutaj w przyszłości można dodać więcej danych stanu gry, np.
-    // public PlayerState playerState;
     // public Array<Quest> activeQuests;
     // public long gameTime;
 
@@ -22,6 +32,56 @@ public class GameData {
         this.mapHeightTiles = mapHeightTiles;
     }
 
+    /**
+     * Tworzy migawkę stanu do zapisu w tle: kopiuje tylko tablicę kolumn, a same kolumny współdzieli z tym stanem
+     * (copy-on-write), i pobiera stan gracza. Koszt O(szerokość mapy) zamiast O(szerokość x wysokość).
+     * Dalsze zmiany przez {@link #setTile(int, int, TileType)} kopiują najpierw zmienianą kolumnę, więc nie wpływają
+     * na zapisywane dane - stan, z którego robione są migawki, trzeba więc zmieniać tylko przez tę metodę.
+     */
+    public GameData snapshot() {
+        TileType[][] gridCopy = null;
+        if (worldGridData != null) {
+            gridCopy = worldGridData.clone();
+            if (sharedColumns == null || sharedColumns.length != worldGridData.length) {
+                sharedColumns = new boolean[worldGridData.length];
+            }
+            Arrays.fill(sharedColumns, true);
+        }
+        GameData copy = new GameData(gridCopy, mapWidthTiles, mapHeightTiles);
+        copy.playerState = capturePlayerState();
+        return copy;
+    }
+
+    /**
+     * @return Bieżący stan podpiętego gracza (nowy obiekt), a bez gracza na żywo - stan wczytany z zapisu; może być null.
+     */
+    public PlayerState capturePlayerState() {
+        return livePlayer != null ? livePlayer.captureState() : playerState;
+    }
+
+    /**
+     * Zmienia kafelek. Kolumnę współdzieloną z migawką najpierw kopiuje - pierwsza zmiana kolumny po migawce
+     * kosztuje jedno {@code clone()} kolumny, kolejne już nic.
+     */
+    public void setTile(int x, int y, TileType type) {
+        if (sharedColumns != null && x < sharedColumns.length && sharedColumns[x]) {
+            worldGridData[x] = worldGridData[x].clone();
+            sharedColumns[x] = false;
+        }
+        worldGridData[x][y] = type;
+    }
+
+    /**
+     * Podpina gracza, którego stan ma trafiać do każdej migawki ({@link #snapshot()}).
+     */
+    public void attachPlayer(Player player) {
+        this.livePlayer = player;
+    }
+
+    public PlayerState getPlayerState() {
+        return playerState;
+    }
+
     // Gettery do bezpiecznego dostępu do danych
     public TileType[][] getWorldGridData() {
         return worldGridData;
@@ -0,0 +1,66 @@
+package io.github.HeroGame.save;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.HeroGame.entities.PlayerStateTypeAdapter;
+
+import java.io.IOException;
+
+/**
+ * Strumieniowy adapter Gson dla {@link GameData} - bez refleksji i bez budowania całego JSON-a w pamięci.
+ * Pole {@code formatVersion} jest zapisywane jako pierwsze, więc przy odczycie wersja jest znana, zanim pojawią się
+ * pozostałe klucze - starsze nazwy pól tłumaczy w locie {@link SaveMigrations}.
+ */
+final class GameDataTypeAdapter extends TypeAdapter<GameData> {
+    static final GameDataTypeAdapter INSTANCE = new GameDataTypeAdapter();
+
+    private GameDataTypeAdapter() {
+    }
+
+    @Override
+    public void write(JsonWriter out, GameData data) throws IOException {
+        if (data == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("formatVersion").value(SaveMigrations.CURRENT_VERSION);
+        out.name("mapWidthTiles").value(data.mapWidthTiles);
+        out.name("mapHeightTiles").value(data.mapHeightTiles);
+        out.name("worldGrid");
+        WorldGridTypeAdapter.INSTANCE.write(out, data.worldGridData);
+        out.name("player");
+        PlayerStateTypeAdapter.INSTANCE.write(out, data.playerState);
+        out.endObject();
+    }
+
+    @Override
+    public GameData read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        GameData data = new GameData();
+        int version = SaveMigrations.LEGACY_JSON_VERSION;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (SaveMigrations.renameField(version, in.nextName())) {
+                case "formatVersion" -> version = in.nextInt();
+                case "mapWidthTiles" -> data.mapWidthTiles = in.nextInt();
+                case "mapHeightTiles" -> data.mapHeightTiles = in.nextInt();
+                case "worldGrid" -> data.worldGridData = WorldGridTypeAdapter.INSTANCE.read(in);
+                case "player" -> data.playerState = PlayerStateTypeAdapter.INSTANCE.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        try {
+            SaveMigrations.upgrade(version, data);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.HeroGame.save;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Wczytywanie zapisu w tle ({@link GameSaveSystem#loadGameAsync(String)}). Ekran ładowania odpytuje zadanie
+ * co klatkę - tak jak {@code AssetManager.update()} - zamiast czekać na wątek wczytujący.
+ * <p>
+ * Zadanie z {@link GameSaveSystem#loadRegionWorldAsync(String)} kończy się światem w plikach regionów
+ * ({@link #getRegionWorld()}) zamiast stanu gry.
+ */
+public final class GameLoadTask {
+    private final String fileName;
+    private volatile float progress;
+    private volatile boolean done;
+    private volatile GameData result;
+    private volatile RegionWorld regionWorld;
+    private volatile Exception error;
+
+    GameLoadTask(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return Postęp 0-1, liczony z przeczytanych bajtów pliku (przed dekompresją).
+     */
+    public float getProgress() {
+        return progress;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return Wczytany stan albo null, jeśli zadanie trwa lub się nie powiodło.
+     */
+    public GameData getResult() {
+        return result;
+    }
+
+    /**
+     * @return Otwarty świat regionów albo null, jeśli zadanie trwa, się nie powiodło lub wczytuje zwykły stan gry.
+     *         Świat należy do odbiorcy - trzeba go zamknąć ({@link RegionWorld#close()}).
+     */
+    public RegionWorld getRegionWorld() {
+        return regionWorld;
+    }
+
+    /**
+     * @return Przyczyna niepowodzenia albo null.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    void complete(GameData data) {
+        this.result = data;
+        this.progress = 1f;
+        this.done = true;
+    }
+
+    void complete(RegionWorld world) {
+        this.regionWorld = world;
+        this.progress = 1f;
+        this.done = true;
+    }
+
+    void fail(Exception failure) {
+        this.error = failure;
+        this.done = true;
+    }
+
+    /**
+     * Opakowuje strumień pliku tak, by każdy przeczytany bajt przesuwał {@link #getProgress()}.
+     */
+    InputStream track(InputStream in, long totalBytes) {
+        if (totalBytes <= 0) return in;
+        return new FilterInputStream(in) {
+            private long bytesRead;
+
+            @Override
+            public int read() throws IOException {
+                int value = super.read();
+                if (value >= 0) advance(1);
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int count = super.read(buffer, offset, length);
+                if (count > 0) advance(count);
+                return count;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                advance(skipped);
+                return skipped;
+            }
+
+            private void advance(long count) {
+                bytesRead += count;
+                progress = Math.min(1f, bytesRead / (float) totalBytes);
+            }
+        };
+    }
+}
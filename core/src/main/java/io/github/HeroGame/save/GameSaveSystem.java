@@ -2,32 +2,112 @@ package io.github.HeroGame.save;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.Logger;
 import io.github.HeroGame.MyGame;
+import io.github.HeroGame.entities.PlayerState;
+import io.github.HeroGame.entities.PlayerStateTypeAdapter;
+import io.github.HeroGame.entities.stats.Resistances;
+import io.github.HeroGame.entities.stats.ResistancesTypeAdapter;
+import io.github.HeroGame.entities.stats.Stats;
+import io.github.HeroGame.entities.stats.StatsTypeAdapter;
+import io.github.HeroGame.entities.unit.UnitState;
+import io.github.HeroGame.entities.unit.UnitStateTypeAdapter;
+import io.github.HeroGame.managers.SettingsManager;
+import io.github.HeroGame.utils.AtomicFiles;
 import io.github.HeroGame.world.TileType;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.ReflectionAccessFilter;
 
 public class GameSaveSystem {
     private static final String SAVE_DIR = "saves/";
+    private static final String DEBUG_EXPORT_DIR = SAVE_DIR + "debug/";
+    private static final String WORLDS_DIR = SAVE_DIR + "worlds/"; // Światy w plikach regionów, po katalogu na świat
+    public static final String SAVE_EXTENSION = ".sav";
+    private static final String LEGACY_JSON_EXTENSION = ".json";
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
     private static final String AUTOSAVE_PREFIX = "autosave_";
     private static final float AUTOSAVE_INTERVAL = 60; // 1 minuta w sekundach dla testów
+    private static final String AUTOSAVE_FILE_NAME = AUTOSAVE_PREFIX + "latest" + SAVE_EXTENSION; // zawsze nadpisuje jeden plik!
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 50_000; // Po tylu rekordach dziennik jest zwijany w nowy zapis bazowy
 
     private float timeSinceLastAutosave = 0;
     private final Logger log;
     private final MyGame game;
     private final Gson gson;
+    private boolean jsonDebugExport = false; // Dodatkowy, czytelny zrzut JSON do saves/debug/ przy każdym zapisie
+
+    // Jeden wątek zapisu: zapisy wykonują się po kolei, więc dwa zapisy do tego samego pliku nigdy się nie przeplatają
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HeroGame-save");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger savesInProgress = new AtomicInteger();
+
+    // Dziennik edycji bieżącej sesji: autozapis = bazowy zapis autosave + dopisywane edycje
+    private final TileEditJournal journal = new TileEditJournal();
+    private GameData journaledState;
+
+    // Indeks katalogu zapisów: nazwa pliku -> opis z nagłówka; wpis ważny, dopóki plik ma ten sam rozmiar i datę
+    private final ConcurrentHashMap<String, SaveMetadata> saveIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Wynik zapisu w tle. Metody wywoływane są na wątku renderującym (przez {@code Gdx.app.postRunnable}).
+     */
+    public interface SaveListener {
+        void onSaveComplete(String fileName);
+        void onSaveFailed(String fileName, Exception error);
+    }
+
+    /**
+     * Wynik zbiorczej aktualizacji zapisów ({@link #upgradeSavesAsync(Consumer)}).
+     */
+    public record UpgradeReport(int upgraded, int upToDate, int failed) {}
 
     public GameSaveSystem(MyGame game) {
         this.game = Objects.requireNonNull(game, "MyGame instance cannot be null");
         this.log = new Logger(GameSaveSystem.class.getSimpleName(), Logger.DEBUG);
 
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        // Adaptery strumieniowe: zapis i odczyt idą prosto z/do pliku, bez refleksji i pośrednich String-ów
+        this.gson = new GsonBuilder()
+            .setPrettyPrinting()
+            .registerTypeAdapter(GameData.class, GameDataTypeAdapter.INSTANCE)
+            .registerTypeAdapter(TileType[][].class, WorldGridTypeAdapter.INSTANCE)
+            .registerTypeAdapter(PlayerState.class, PlayerStateTypeAdapter.INSTANCE)
+            .registerTypeAdapter(UnitState.class, UnitStateTypeAdapter.INSTANCE)
+            .registerTypeAdapter(Stats.class, StatsTypeAdapter.INSTANCE)
+            .registerTypeAdapter(Resistances.class, ResistancesTypeAdapter.INSTANCE)
+            // Typ bez adaptera to błąd od razu, a nie cicha refleksja - obraz natywny (GraalVM) jej nie ma
+            .addReflectionAccessFilter(type -> ReflectionAccessFilter.FilterResult.BLOCK_ALL)
+            .create();
 
         FileHandle saveDir = Gdx.files.local(SAVE_DIR);
         if (!saveDir.exists()) {
@@ -36,6 +116,40 @@ public class GameSaveSystem {
         }
     }
 
+    /**
+     * Rozpoczyna sesję z dziennikiem edycji dla podanego stanu gry. W tle zapisywany jest pełny zapis bazowy
+     * autozapisu; kolejne autozapisy dopisują już tylko zmiany zgłoszone przez {@link #recordTileEdit(int, int, TileType)}.
+     *
+     * @param liveState Stan gry, który ekran gry modyfikuje na bieżąco (ten sam obiekt trafia później do {@link #update}).
+     */
+    public void startJournal(GameData liveState) {
+        this.journaledState = Objects.requireNonNull(liveState, "GameData to journal cannot be null");
+        timeSinceLastAutosave = 0;
+        compactJournal(liveState);
+    }
+
+    /**
+     * Kończy sesję z dziennikiem - dopisuje niezapisane edycje. Wywoływane przy zamykaniu ekranu gry.
+     * Nie robi nic, jeśli w międzyczasie nowy ekran rozpoczął już własną sesję.
+     *
+     * @param liveState Stan przekazany wcześniej do {@link #startJournal(GameData)}.
+     */
+    public void stopJournal(GameData liveState) {
+        if (journaledState != null && journaledState == liveState) {
+            flushJournal(journaledState);
+            journaledState = null;
+        }
+    }
+
+    /**
+     * Zgłasza zmianę kafelka do dziennika. Koszt: zapis trzech liczb do bufora w pamięci.
+     */
+    public void recordTileEdit(int x, int y, TileType type) {
+        if (journaledState != null) {
+            journal.record(x, y, type);
+        }
+    }
+
     public void update(float delta, GameData currentGameState) {
         timeSinceLastAutosave += delta;
         if (timeSinceLastAutosave >= AUTOSAVE_INTERVAL) {
@@ -44,14 +158,278 @@ public class GameSaveSystem {
         }
     }
 
+    /**
+     * Zapisuje stan gry w formacie binarnym ({@link BinarySaveFormat}) z kompresją ustawioną w {@link SettingsManager},
+     * razem z miniaturą PNG ({@link SaveThumbnails}).
+     * Przy włączonym {@link #setJsonDebugExport(boolean)} dodatkowo zapisuje kopię JSON do saves/debug/.
+     */
     public void saveGame(String fileName, GameData dataToSave) {
+        SettingsManager settings = game.getSettingsManager();
+        saveGame(fileName, dataToSave, settings.getSaveCodec(), settings.getSaveCompressionLevel());
+    }
+
+    /**
+     * Zapisuje stan gry z podanym kodekiem - np. {@link SaveCodec#NONE} dla zapisów do ręcznej analizy.
+     *
+     * @param level Poziom kompresji {@link SaveCodec#MIN_LEVEL}-{@link SaveCodec#MAX_LEVEL}.
+     */
+    public void saveGame(String fileName, GameData dataToSave, SaveCodec codec, int level) {
         Objects.requireNonNull(dataToSave, "GameData to save cannot be null");
-        String jsonText = gson.toJson(dataToSave);
+        Objects.requireNonNull(codec, "SaveCodec cannot be null");
+        FileHandle file = Gdx.files.local(SAVE_DIR + fileName);
+        long start = System.nanoTime();
+        writeBinary(file, dataToSave, codec, level);
+        saveIndex.remove(fileName); // Nagłówek się zmienił - indeks odczyta go ponownie
+        log.info("Game saved to: " + file.path() + " (" + codec + ", " + file.length() + " bytes, "
+            + (System.nanoTime() - start) / 1_000_000 + " ms)");
+        try {
+            SaveThumbnails.write(file, dataToSave); // Miniatura dla listy zapisów - jej brak nie psuje zapisu
+        } catch (RuntimeException e) {
+            log.error("Failed to write save thumbnail for: " + file.path(), e);
+        }
+
+        if (jsonDebugExport) {
+            exportJson(fileName, dataToSave);
+        }
+    }
+
+    /**
+     * Zapisuje grę w tle. Na wątku wywołującym (GL) wykonywana jest tylko migawka {@link GameData#snapshot()};
+     * serializacja i zapis na dysk odbywają się na wątku zapisu. Wynik trafia do {@code listener}
+     * na wątku renderującym.
+     *
+     * @param fileName Nazwa pliku w katalogu zapisów.
+     * @param liveState Bieżący stan gry - nie jest modyfikowany ani przechowywany.
+     * @param listener Odbiorca wyniku, może być null.
+     */
+    public void saveGameAsync(String fileName, GameData liveState, SaveListener listener) {
+        SettingsManager settings = game.getSettingsManager();
+        saveGameAsync(fileName, liveState, settings.getSaveCodec(), settings.getSaveCompressionLevel(), listener);
+    }
+
+    /**
+     * Jak {@link #saveGameAsync(String, GameData, SaveListener)}, z kodekiem wybranym dla tego zapisu.
+     * Kompresja wykonuje się na wątku zapisu.
+     * <p>
+     * Nadpisanie starego zapisu JSON ({@code nazwa.json}) zapisuje {@code nazwa.sav} i usuwa plik JSON -
+     * format binarny nie trafia do pliku z rozszerzeniem .json, jak przy {@link #upgradeSavesAsync(Consumer)}.
+     */
+    public void saveGameAsync(String fileName, GameData liveState, SaveCodec codec, int level, SaveListener listener) {
+        Objects.requireNonNull(liveState, "GameData to save cannot be null");
+        String targetName = binarySaveName(fileName);
+        Runnable afterWrite = targetName.equals(fileName) ? null : () -> removeLegacySave(Gdx.files.local(SAVE_DIR + fileName));
+        enqueueSave(targetName, liveState.snapshot(), codec, level, afterWrite, listener);
+    }
+
+    /**
+     * @return Nazwa pliku w formacie binarnym: {@code nazwa.json} -> {@code nazwa.sav}, inne bez zmian.
+     */
+    private static String binarySaveName(String fileName) {
+        return fileName.endsWith(LEGACY_JSON_EXTENSION)
+            ? fileName.substring(0, fileName.length() - LEGACY_JSON_EXTENSION.length()) + SAVE_EXTENSION
+            : fileName;
+    }
+
+    /**
+     * Usuwa zapis JSON zastąpiony plikiem .sav o tej samej nazwie. Miniatura zostaje - jest wspólna dla obu nazw.
+     */
+    private void removeLegacySave(FileHandle legacyFile) {
+        legacyFile.delete();
+        saveIndex.remove(legacyFile.name());
+        deleteRegionWorld(legacyFile.name());
+    }
+
+    private void enqueueSave(String fileName, GameData snapshot, Runnable afterWrite, SaveListener listener) {
+        // Ustawienia czytane na wątku GL - Preferences nie są bezpieczne wątkowo
+        SettingsManager settings = game.getSettingsManager();
+        enqueueSave(fileName, snapshot, settings.getSaveCodec(), settings.getSaveCompressionLevel(), afterWrite, listener);
+    }
+
+    private void enqueueSave(String fileName, GameData snapshot, SaveCodec codec, int level, Runnable afterWrite, SaveListener listener) {
+        savesInProgress.incrementAndGet();
+        saveExecutor.execute(() -> {
+            Exception failure = null;
+            try {
+                saveGame(fileName, snapshot, codec, level);
+                if (afterWrite != null) {
+                    afterWrite.run();
+                }
+            } catch (Exception e) {
+                failure = e;
+                log.error("Background save failed: " + fileName, e);
+            } finally {
+                savesInProgress.decrementAndGet();
+            }
+            notifyListener(listener, fileName, failure);
+        });
+    }
+
+    private static void notifyListener(SaveListener listener, String fileName, Exception failure) {
+        if (listener == null) return;
+        Gdx.app.postRunnable(() -> {
+            if (failure == null) {
+                listener.onSaveComplete(fileName);
+            } else {
+                listener.onSaveFailed(fileName, failure);
+            }
+        });
+    }
+
+    /**
+     * Otwiera zapis jako świat w plikach regionów ({@link RegionWorld}, katalog {@code saves/worlds/<nazwa pliku>/}),
+     * w tle - jak {@link #loadGameAsync(String)}, za zapisami z kolejki. Wynik: {@link GameLoadTask#getRegionWorld()}.
+     * <p>
+     * Świat przekonwertowany z tej samej wersji zapisu otwiera się w czasie stałym (tylko plik meta). Przy pierwszym
+     * otwarciu albo gdy zapis nadpisano po konwersji, świat jest budowany z zapisu od nowa - koszt proporcjonalny
+     * do mapy, ale poza wątkiem GL. Autozapisów nie da się tak otworzyć: są nadpisywane co kilka minut.
+     */
+    public GameLoadTask loadRegionWorldAsync(String fileName) {
+        GameLoadTask task = new GameLoadTask(fileName);
         FileHandle file = Gdx.files.local(SAVE_DIR + fileName);
-        file.writeString(jsonText, false);
-        log.info("Game saved to: " + file.path());
+        FileHandle directory = Gdx.files.local(WORLDS_DIR + fileName);
+        if (journaledState != null) {
+            flushJournal(journaledState);
+        }
+        saveExecutor.execute(() -> {
+            try {
+                if (!file.exists()) {
+                    throw new GdxRuntimeException("Save file not found: " + file.path());
+                }
+                if (isAutosave(file)) {
+                    throw new GdxRuntimeException("Autosaves cannot be opened as region worlds: " + file.path());
+                }
+                SaveMetadata source = readMetadata(file);
+                RegionWorld world = openConvertedWorld(directory, source);
+                if (world == null) {
+                    world = createRegionWorld(directory, readSave(file, task), source);
+                }
+                task.complete(world);
+            } catch (Exception e) {
+                log.error("Failed to open save as region world: " + file.path(), e);
+                task.fail(e);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * @return Świat z katalogu, jeśli powstał z tej wersji zapisu; null, gdy go nie ma, jest nieaktualny albo uszkodzony.
+     */
+    private RegionWorld openConvertedWorld(FileHandle directory, SaveMetadata source) {
+        if (!directory.child(RegionWorld.META_FILE).exists()) return null;
+        try {
+            RegionWorld world = RegionWorld.open(directory);
+            if (world.isConvertedFrom(source)) {
+                log.info("Region world opened: " + directory.path() + " (" + world.getMapWidthTiles() + "x" + world.getMapHeightTiles() + ")");
+                return world;
+            }
+            world.close();
+            log.info("Save changed since region world conversion, converting again: " + directory.path());
+        } catch (IOException e) {
+            log.error("Failed to open region world " + directory.path() + ", converting again", e);
+        }
+        return null;
+    }
+
+    private RegionWorld createRegionWorld(FileHandle directory, GameData data, SaveMetadata source) throws IOException {
+        long start = System.nanoTime();
+        RegionWorld world = RegionWorld.create(directory, data, source);
+        log.info("Region world created: " + directory.path() + " (" + data.mapWidthTiles + "x" + data.mapHeightTiles + ", "
+            + (System.nanoTime() - start) / 1_000_000 + " ms)");
+        return world;
+    }
+
+    /**
+     * Usuwa świat regionów przekonwertowany z zapisu - razem z zapisem, by nie został osierocony katalog.
+     */
+    private void deleteRegionWorld(String fileName) {
+        FileHandle directory = Gdx.files.local(WORLDS_DIR + fileName);
+        if (directory.exists() && !directory.deleteDirectory()) {
+            log.error("Failed to delete region world: " + directory.path());
+        }
+    }
+
+    /**
+     * Autozapis świata w plikach regionów: co {@link #AUTOSAVE_INTERVAL} sekund zapisuje zmienione chunki.
+     */
+    public void update(float delta, RegionWorld world) {
+        timeSinceLastAutosave += delta;
+        if (timeSinceLastAutosave >= AUTOSAVE_INTERVAL) {
+            saveRegionWorld(world, null);
+            timeSinceLastAutosave = 0;
+        }
+    }
+
+    /**
+     * Zapisuje zmienione chunki świata regionów. Kopiowanie chunków do zmapowanych sektorów odbywa się na wątku GL
+     * (kilobajt na chunk), a synchroniczny zrzut stron na dysk - na wątku zapisu.
+     */
+    public void saveRegionWorld(RegionWorld world, SaveListener listener) {
+        String worldName = world.getDirectory().name();
+        int written;
+        try {
+            written = world.flushDirty();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write region world chunks: " + worldName, e);
+            notifyListener(listener, worldName, e);
+            return;
+        }
+        Runnable force = world.drainPendingForce();
+        savesInProgress.incrementAndGet();
+        saveExecutor.execute(() -> {
+            Exception failure = null;
+            try {
+                force.run();
+            } catch (Exception e) {
+                failure = e;
+                log.error("Failed to force region world to disk: " + worldName, e);
+            } finally {
+                savesInProgress.decrementAndGet();
+            }
+            notifyListener(listener, worldName, failure);
+        });
+        log.debug("Region world save queued: " + worldName + " (" + written + " dirty chunks)");
+    }
+
+    /**
+     * @return true, jeśli jakiś zapis w tle jest w toku lub czeka w kolejce.
+     */
+    public boolean isSaveInProgress() {
+        return savesInProgress.get() > 0;
+    }
+
+    /**
+     * Zapis przez plik tymczasowy i podmianę - przerwany zapis (np. zamknięcie gry) nie niszczy poprzedniej wersji.
+     * Podmiana to zmiana nazwy ({@link AtomicFiles#replace}), a nie kopiowanie, więc na dysku nigdy nie ma połowy pliku.
+     */
+    private void writeBinary(FileHandle file, GameData data, SaveCodec codec, int level) {
+        FileHandle tempFile = file.sibling(file.name() + TEMP_SUFFIX);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(tempFile.write(false), IO_BUFFER_SIZE))) {
+            BinarySaveFormat.write(data, out, codec, level);
+        } catch (IOException e) {
+            tempFile.delete();
+            throw new GdxRuntimeException("Failed to write save file: " + file.path(), e);
+        }
+        AtomicFiles.replace(tempFile, file);
     }
 
+    /**
+     * Czeka na dokończenie zapisów w tle i zatrzymuje wątek zapisu. Wywoływane przy zamykaniu gry.
+     */
+    public void dispose() {
+        saveExecutor.shutdown();
+        try {
+            if (!saveExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.error("Background saves did not finish within " + SHUTDOWN_TIMEOUT_SECONDS + " s.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wczytuje zapis gry. Rozpoznaje format po nagłówku, więc starsze zapisy JSON nadal się wczytują.
+     */
     public GameData loadGame(String fileName) {
         FileHandle file = Gdx.files.local(SAVE_DIR + fileName);
         if (!file.exists()) {
@@ -59,26 +437,295 @@ public class GameSaveSystem {
             return null;
         }
         try {
-            String jsonText = file.readString();
-            GameData loadedData = gson.fromJson(jsonText, GameData.class);
-            log.info("Game loaded from: " + file.path());
-            return loadedData;
+            return readSave(file, null);
         } catch (Exception e) {
             log.error("Failed to load game from file: " + file.path(), e);
             return null;
         }
     }
 
+    /**
+     * Wczytuje zapis w tle. Wątek renderujący odpytuje zwrócone zadanie ({@link GameLoadTask#isDone()}),
+     * więc gra nie zamiera nawet przy dużych zapisach.
+     * <p>
+     * Odczyt idzie na wątku zapisu, za wszystkimi zapisami z kolejki. Niezapisane edycje bieżącej sesji są najpierw
+     * dopisywane do dziennika, więc np. autozapis wczytuje się razem z ostatnimi zmianami, a nie sprzed nich.
+     */
+    public GameLoadTask loadGameAsync(String fileName) {
+        GameLoadTask task = new GameLoadTask(fileName);
+        FileHandle file = Gdx.files.local(SAVE_DIR + fileName);
+        if (journaledState != null) {
+            flushJournal(journaledState);
+        }
+        saveExecutor.execute(() -> {
+            try {
+                if (!file.exists()) {
+                    throw new GdxRuntimeException("Save file not found: " + file.path());
+                }
+                task.complete(readSave(file, task));
+            } catch (Exception e) {
+                log.error("Failed to load game from file: " + file.path(), e);
+                task.fail(e);
+            }
+        });
+        return task;
+    }
+
+    /**
+     * @param progress Zadanie, którego postęp ma śledzić odczyt pliku; null przy wczytywaniu synchronicznym.
+     */
+    private GameData readSave(FileHandle file, GameLoadTask progress) throws IOException {
+        long start = System.nanoTime();
+        boolean binary = isBinarySave(file);
+        InputStream raw = progress != null ? progress.track(file.read(), file.length()) : file.read();
+        GameData loadedData;
+        if (binary) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(raw, IO_BUFFER_SIZE))) {
+                loadedData = BinarySaveFormat.read(in);
+            }
+        } else {
+            // Strumieniowo przez GameDataTypeAdapter - bez wczytywania całego pliku do String
+            try (Reader reader = new BufferedReader(new InputStreamReader(raw, StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+                loadedData = gson.fromJson(reader, GameData.class);
+            }
+        }
+        if (loadedData == null) {
+            throw new IOException("Save file is empty: " + file.path());
+        }
+        replayJournal(file, loadedData);
+        log.info("Game loaded from: " + file.path() + " (format v" + loadedData.formatVersion + ", "
+            + (System.nanoTime() - start) / 1_000_000 + " ms)");
+        return loadedData;
+    }
+
+    /**
+     * Eksportuje stan gry do czytelnego JSON-a (saves/debug/), do podglądu i debugowania.
+     * Pliki z tego katalogu nie pojawiają się na liście zapisów.
+     */
+    public void exportJson(String fileName, GameData dataToSave) {
+        String baseName = fileName.endsWith(SAVE_EXTENSION)
+            ? fileName.substring(0, fileName.length() - SAVE_EXTENSION.length())
+            : fileName;
+        FileHandle file = Gdx.files.local(DEBUG_EXPORT_DIR + baseName + LEGACY_JSON_EXTENSION);
+        try (Writer writer = new BufferedWriter(file.writer(false, "UTF-8"), IO_BUFFER_SIZE)) {
+            gson.toJson(dataToSave, GameData.class, gson.newJsonWriter(writer));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to export debug JSON: " + file.path(), e);
+            return;
+        }
+        log.debug("Debug JSON exported to: " + file.path());
+    }
+
+    public void setJsonDebugExport(boolean jsonDebugExport) {
+        this.jsonDebugExport = jsonDebugExport;
+    }
+
+    public boolean isJsonDebugExport() {
+        return jsonDebugExport;
+    }
+
+    /**
+     * Odtwarza dziennik edycji zapisany obok pliku (po awarii gry nie został zwinięty w zapis bazowy).
+     * Uszkodzony dziennik nie blokuje wczytania - zostaje sam zapis bazowy.
+     */
+    private void replayJournal(FileHandle saveFile, GameData loadedData) {
+        FileHandle journalFile = journalFileFor(saveFile);
+        if (loadedData == null || !journalFile.exists()) return;
+        try {
+            int applied = TileEditJournal.replay(journalFile, loadedData);
+            log.info("Replayed " + applied + " journaled edits from: " + journalFile.path());
+        } catch (IOException e) {
+            log.error("Failed to replay journal " + journalFile.path() + ", using base save only", e);
+        }
+    }
+
+    private static FileHandle journalFileFor(FileHandle saveFile) {
+        return saveFile.sibling(saveFile.nameWithoutExtension() + TileEditJournal.EXTENSION);
+    }
+
+    private static boolean isBinarySave(FileHandle file) throws IOException {
+        if (file.length() < 4) return false;
+        try (DataInputStream in = new DataInputStream(file.read())) {
+            return in.readInt() == BinarySaveFormat.MAGIC;
+        }
+    }
+
     private void autoSave(GameData currentGameState) {
-        String autosaveFileName = AUTOSAVE_PREFIX + "latest.json"; // zawsze nadpisuje jeden plik!
-        saveGame(autosaveFileName, currentGameState);
-        log.info("Autosaved game to: " + autosaveFileName);
+        if (currentGameState == journaledState) {
+            // Sesja z dziennikiem: zwykle tylko dopisanie kilku rekordów; co jakiś czas zwinięcie w nowy zapis bazowy
+            if (journal.getRecordsSinceCompaction() >= JOURNAL_COMPACTION_THRESHOLD) {
+                compactJournal(currentGameState);
+            } else {
+                flushJournal(currentGameState);
+            }
+            return;
+        }
+        if (isSaveInProgress()) {
+            log.debug("Skipping autosave - previous save still in progress.");
+            return;
+        }
+        saveGameAsync(AUTOSAVE_FILE_NAME, currentGameState, null);
+        log.info("Autosave queued: " + AUTOSAVE_FILE_NAME);
+    }
+
+    /**
+     * Dopisuje do dziennika zebrane edycje i stan gracza - gracz zmienia się bez edycji świata (ruch, statystyki),
+     * więc jego rekord trafia do dziennika przy każdym autozapisie.
+     */
+    private void flushJournal(GameData state) {
+        int[] edits = journal.drainPending();
+        PlayerState player = state.capturePlayerState(); // Pobrany na wątku GL - wątek zapisu tylko go serializuje
+        if (edits.length == 0 && player == null) return;
+        int width = state.mapWidthTiles;
+        int height = state.mapHeightTiles;
+        FileHandle journalFile = journalFileFor(Gdx.files.local(SAVE_DIR + AUTOSAVE_FILE_NAME));
+        saveExecutor.execute(() -> {
+            try {
+                TileEditJournal.append(journalFile, edits, player, width, height);
+            } catch (Exception e) {
+                log.error("Failed to append to journal: " + journalFile.path(), e);
+            }
+        });
+        log.debug("Journal flush queued: " + edits.length / TileEditJournal.INTS_PER_EDIT + " edits"
+            + (player != null ? " + player state." : "."));
+    }
+
+    /**
+     * Zapisuje pełny zapis bazowy autozapisu i usuwa dziennik, gdy baza jest już na dysku.
+     * Migawka i wyczyszczenie bufora dzieją się w tej samej chwili na wątku GL, więc żadna edycja nie ginie.
+     */
+    private void compactJournal(GameData state) {
+        journal.reset();
+        FileHandle journalFile = journalFileFor(Gdx.files.local(SAVE_DIR + AUTOSAVE_FILE_NAME));
+        enqueueSave(AUTOSAVE_FILE_NAME, state.snapshot(), () -> {
+            if (journalFile.exists()) {
+                journalFile.delete();
+            }
+        }, null);
+        log.info("Journal compaction queued: " + AUTOSAVE_FILE_NAME);
+    }
+
+    /**
+     * Przepisuje w tle wszystkie zapisy w starszych wersjach formatu do bieżącej wersji binarnej.
+     * Zwykłe wczytanie i tak migruje stare zapisy w locie - to polecenie tylko oszczędza tę pracę przy kolejnych odczytach.
+     * Zapisy JSON stają się plikami .sav o tej samej nazwie; autozapisy są pomijane (gra i tak je nadpisuje).
+     * Praca idzie na wątku zapisu, więc nie przeplata się z innymi zapisami.
+     *
+     * @param onFinished Odbiorca wyniku na wątku renderującym, może być null.
+     */
+    public void upgradeSavesAsync(Consumer<UpgradeReport> onFinished) {
+        SettingsManager settings = game.getSettingsManager();
+        SaveCodec codec = settings.getSaveCodec();
+        int level = settings.getSaveCompressionLevel();
+        savesInProgress.incrementAndGet();
+        saveExecutor.execute(() -> {
+            int upgraded = 0;
+            int upToDate = 0;
+            int failed = 0;
+            try {
+                for (SaveMetadata save : listSaveMetadata()) {
+                    if (save.isAutosave() || save.getFormatVersion() == SaveMigrations.CURRENT_VERSION) {
+                        upToDate++;
+                        continue;
+                    }
+                    try {
+                        upgradeSave(save.getFile(), codec, level);
+                        upgraded++;
+                    } catch (Exception e) {
+                        failed++;
+                        log.error("Failed to upgrade save: " + save.getFileName(), e);
+                    }
+                }
+            } finally {
+                savesInProgress.decrementAndGet();
+            }
+            UpgradeReport report = new UpgradeReport(upgraded, upToDate, failed);
+            log.info("Save upgrade finished: " + report);
+            if (onFinished != null) {
+                Gdx.app.postRunnable(() -> onFinished.accept(report));
+            }
+        });
+    }
+
+    private void upgradeSave(FileHandle file, SaveCodec codec, int level) {
+        String targetName = binarySaveName(file.name());
+        boolean convertsJson = !targetName.equals(file.name());
+        if (convertsJson && Gdx.files.local(SAVE_DIR + targetName).exists()) {
+            throw new GdxRuntimeException("Cannot convert " + file.name() + ": " + targetName + " already exists");
+        }
+        GameData data = loadGame(file.name());
+        if (data == null) {
+            throw new GdxRuntimeException("Failed to read save for upgrade: " + file.path());
+        }
+        saveGame(targetName, data, codec, level);
+        if (convertsJson) {
+            removeLegacySave(file);
+        }
+        log.info("Upgraded save " + file.name() + " from format version " + data.formatVersion
+            + " to " + SaveMigrations.CURRENT_VERSION + " (" + targetName + ")");
     }
 
     public FileHandle[] listSaveFiles() {
         FileHandle saveDir = Gdx.files.local(SAVE_DIR);
         if (!saveDir.exists()) return new FileHandle[0];
-        return saveDir.list((dir, name) -> name.endsWith(".json"));
+        return saveDir.list((dir, name) -> name.endsWith(SAVE_EXTENSION) || name.endsWith(LEGACY_JSON_EXTENSION));
+    }
+
+    /**
+     * Zwraca opisy wszystkich zapisów, od najnowszego. Czyta tylko nagłówki plików, których nie ma
+     * w indeksie albo które zmieniły się od ostatniego odczytu.
+     */
+    public Array<SaveMetadata> listSaveMetadata() {
+        FileHandle[] files = listSaveFiles();
+        Array<SaveMetadata> result = new Array<>(files.length);
+        for (FileHandle file : files) {
+            SaveMetadata cached = saveIndex.get(file.name());
+            if (cached == null || !cached.matches(file)) {
+                cached = readMetadata(file);
+                saveIndex.put(file.name(), cached);
+            }
+            result.add(cached);
+        }
+        // Usuń z indeksu pliki, których już nie ma
+        if (saveIndex.size() > files.length) {
+            saveIndex.keySet().removeIf(name -> !Gdx.files.local(SAVE_DIR + name).exists());
+        }
+        result.sort((a, b) -> Long.compare(sortTime(b), sortTime(a)));
+        return result;
+    }
+
+    /**
+     * Buduje listę zapisów poza wątkiem renderującym i przekazuje ją do {@code onListed} na wątku renderującym.
+     */
+    public void listSaveMetadataAsync(Consumer<Array<SaveMetadata>> onListed) {
+        Thread.ofVirtual().name("HeroGame-save-index").start(() -> {
+            Array<SaveMetadata> saves;
+            try {
+                saves = listSaveMetadata();
+            } catch (Exception e) {
+                log.error("Failed to list save files", e);
+                saves = new Array<>();
+            }
+            final Array<SaveMetadata> result = saves;
+            Gdx.app.postRunnable(() -> onListed.accept(result));
+        });
+    }
+
+    private SaveMetadata readMetadata(FileHandle file) {
+        if (file.length() >= BinarySaveFormat.HEADER_SIZE) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read(), BinarySaveFormat.HEADER_SIZE))) {
+                BinarySaveFormat.Header header = BinarySaveFormat.readHeader(in);
+                return new SaveMetadata(file, header.version(), header.savedAtMillis(), header.mapWidth(), header.mapHeight(),
+                    file.length(), file.lastModified());
+            } catch (IOException e) {
+                // Stary zapis JSON albo uszkodzony plik - pokaż go z samą nazwą i datą
+            }
+        }
+        return SaveMetadata.unknown(file);
+    }
+
+    private static long sortTime(SaveMetadata metadata) {
+        return metadata.getSavedAtMillis() > 0 ? metadata.getSavedAtMillis() : metadata.getFile().lastModified();
     }
 
     public boolean deleteSaveFile(String fileName) {
@@ -89,6 +736,12 @@ public class GameSaveSystem {
                 return false;
             }
             log.info("Deleting save file: " + file.path());
+            saveIndex.remove(fileName);
+            FileHandle thumbnail = SaveThumbnails.fileFor(file);
+            if (thumbnail.exists()) {
+                thumbnail.delete();
+            }
+            deleteRegionWorld(fileName);
             return file.delete();
         }
         log.error("Attempted to delete non-existent save file: " + file.path());
@@ -0,0 +1,134 @@
+package io.github.HeroGame.save;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plik regionu: stała siatka {@link #REGION_CHUNKS}x{@link #REGION_CHUNKS} chunków świata, dostępna przez {@link FileChannel#map}.
+ * <p>
+ * Układ pliku:
+ * <pre>
+ * int    MAGIC ("HGRG")
+ * short  wersja, short zarezerwowane
+ * int    liczba zajętych sektorów
+ * int    zarezerwowane
+ * int[REGION_CHUNKS * REGION_CHUNKS]  tabela przesunięć: numer sektora chunka + 1 (0 = chunk nie istnieje)
+ * ... wyrównanie do {@link #DATA_OFFSET}
+ * sektory po {@link #SECTOR_SIZE} bajtów - jeden sektor = jeden chunk, bajt na kafelek (indeks palety świata)
+ * </pre>
+ * Odczyt chunka to wycinek zmapowanego bufora (bez kopiowania), zapis chunka dotyka tylko jego sektora.
+ * Klasa nie jest bezpieczna wątkowo.
+ */
+final class RegionFile implements Closeable {
+    static final int REGION_CHUNKS = 32;
+    static final int CHUNK_SIZE = BinarySaveFormat.CHUNK_SIZE;
+    static final int SECTOR_SIZE = CHUNK_SIZE * CHUNK_SIZE;
+
+    private static final int MAGIC = 0x48475247; // "HGRG"
+    private static final short VERSION = 1;
+    private static final int SECTOR_COUNT_OFFSET = 8;
+    private static final int TABLE_OFFSET = 16;
+    private static final int DATA_OFFSET = 8192; // Za tabelą (16 + 4096 bajtów), wyrównane do 4 KB
+    private static final int GROW_SECTORS = 64; // Plik rośnie skokami, żeby nie remapować przy każdym nowym chunku
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int sectorCount;
+
+    RegionFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() < DATA_OFFSET;
+        map(Math.max(channel.size(), DATA_OFFSET));
+        if (fresh) {
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.putInt(SECTOR_COUNT_OFFSET, 0);
+        } else {
+            if (buffer.getInt(0) != MAGIC) {
+                channel.close();
+                throw new IOException("Not a region file: " + path);
+            }
+            short version = buffer.getShort(4);
+            if (version != VERSION) {
+                channel.close();
+                throw new IOException("Unsupported region file version " + version + ": " + path);
+            }
+        }
+        this.sectorCount = buffer.getInt(SECTOR_COUNT_OFFSET);
+    }
+
+    private void map(long size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    boolean hasChunk(int localX, int localY) {
+        return buffer.getInt(tableIndex(localX, localY)) != 0;
+    }
+
+    /**
+     * Zwraca chunk jako wycinek zmapowanego pliku - bez kopiowania. Wycinek jest tylko do odczytu
+     * i pozostaje ważny do następnego {@link #writeChunk} powiększającego plik lub {@link #close()}.
+     *
+     * @return {@link #SECTOR_SIZE} bajtów (kolumnami: x zewnętrznie, y wewnętrznie) albo null, jeśli chunka nie ma.
+     */
+    ByteBuffer readChunk(int localX, int localY) {
+        int entry = buffer.getInt(tableIndex(localX, localY));
+        if (entry == 0) return null;
+        return buffer.slice(sectorOffset(entry - 1), SECTOR_SIZE).asReadOnlyBuffer();
+    }
+
+    /**
+     * Zapisuje chunk na miejscu jego sektora; nowy chunk dostaje kolejny wolny sektor na końcu pliku.
+     *
+     * @param tiles {@link #SECTOR_SIZE} bajtów w układzie jak w {@link #readChunk}.
+     */
+    void writeChunk(int localX, int localY, byte[] tiles) throws IOException {
+        if (tiles.length != SECTOR_SIZE) {
+            throw new IllegalArgumentException("Chunk must have " + SECTOR_SIZE + " tiles, got " + tiles.length);
+        }
+        int tableIndex = tableIndex(localX, localY);
+        int entry = buffer.getInt(tableIndex);
+        if (entry == 0) {
+            int sector = sectorCount;
+            long required = sectorOffset(sector) + SECTOR_SIZE;
+            if (required > buffer.capacity()) {
+                map(sectorOffset(sector + GROW_SECTORS));
+            }
+            sectorCount++;
+            buffer.putInt(SECTOR_COUNT_OFFSET, sectorCount);
+            entry = sector + 1;
+            buffer.putInt(tableIndex, entry);
+        }
+        buffer.put(sectorOffset(entry - 1), tiles);
+    }
+
+    /**
+     * Wymusza zapis zmienionych stron na dysk. Po {@link #close()} nic nie robi (zamknięcie samo wymusza zapis).
+     */
+    void flush() {
+        MappedByteBuffer mapped = buffer;
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+        buffer = null; // Mapowanie zwalnia GC - JDK nie udostępnia jawnego unmap
+    }
+
+    private static int tableIndex(int localX, int localY) {
+        return TABLE_OFFSET + (localY * REGION_CHUNKS + localX) * Integer.BYTES;
+    }
+
+    private static int sectorOffset(int sector) {
+        return DATA_OFFSET + sector * SECTOR_SIZE;
+    }
+}
@@ -0,0 +1,423 @@
+package io.github.HeroGame.save;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.HeroGame.entities.Player;
+import io.github.HeroGame.entities.PlayerState;
+import io.github.HeroGame.entities.PlayerStateTypeAdapter;
+import io.github.HeroGame.world.TileType;
+import io.github.HeroGame.utils.AtomicFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Świat zapisany w plikach regionów ({@link RegionFile}) - dla map zbyt dużych, by trzymać je w całości w pamięci.
+ * <p>
+ * Katalog świata zawiera plik {@link #META_FILE} (rozmiar mapy, znacznik zapisu źródłowego, paleta typów, stan gracza) oraz pliki
+ * {@code r.<rx>.<ry>.region}, każdy z siatką {@link RegionFile#REGION_CHUNKS}x{@link RegionFile#REGION_CHUNKS} chunków.
+ * Otwarcie świata czyta tylko plik meta; regiony są mapowane przy pierwszym dostępie, a kafelki czytane
+ * wprost ze zmapowanej pamięci. Edycje trafiają do kopii zmienionych chunków i są zapisywane
+ * przez {@link #flushDirty()} - tylko do sektorów tych chunków.
+ * <p>
+ * Klasa nie jest bezpieczna wątkowo - używana wyłącznie na wątku GL; do wątku zapisu trafia tylko
+ * zadanie z {@link #drainPendingForce()}.
+ */
+public final class RegionWorld implements Closeable {
+    static final String META_FILE = "world.meta";
+    private static final String REGION_PREFIX = "r.";
+    private static final String REGION_EXTENSION = ".region";
+    private static final int META_MAGIC = 0x48475257; // "HGRW"
+    private static final short META_VERSION = 2; // 2: znacznik zapisu źródłowego
+    private static final int CHUNK_SIZE = RegionFile.CHUNK_SIZE;
+    private static final int REGION_CHUNKS = RegionFile.REGION_CHUNKS;
+    private static final int MAX_PALETTE_SIZE = 256; // Jeden bajt na kafelek
+    private static final TileType[] TILE_TYPES = TileType.values();
+
+    private final FileHandle directory;
+    private final int mapWidthTiles;
+    private final int mapHeightTiles;
+    // Wersja zapisu, z którego świat powstał (data z nagłówka i wersja formatu) - po nadpisaniu zapisu świat jest nieaktualny
+    private final long sourceSavedAtMillis;
+    private final int sourceFormatVersion;
+    private final int chunksX;
+    private final int regionsX;
+
+    // Paleta pliku: indeks w pliku -> typ, oraz odwrotnie (ordinal -> indeks, -1 = brak w palecie)
+    private TileType[] palette;
+    private final int[] paletteIndexByOrdinal = new int[TILE_TYPES.length];
+    private final IntMap<RegionFile> regions = new IntMap<>();
+    // Zmienione chunki: indeks chunka -> pełna kopia jego kafelków, czekająca na flushDirty()
+    private final IntMap<byte[]> dirtyChunks = new IntMap<>();
+    // Regiony zmienione od ostatniego force - ich strony trzeba jeszcze zrzucić na dysk
+    private final Array<RegionFile> unforcedRegions = new Array<>(false, 4);
+    private PlayerState playerState;
+    // Gracz, którego stan trafia do pliku meta przy każdym flushDirty() - jak GameData.attachPlayer
+    private Player livePlayer;
+    private boolean metaDirty;
+
+    private RegionWorld(FileHandle directory, int mapWidthTiles, int mapHeightTiles, long sourceSavedAtMillis, int sourceFormatVersion,
+                        TileType[] palette, PlayerState playerState) {
+        this.directory = directory;
+        this.mapWidthTiles = mapWidthTiles;
+        this.mapHeightTiles = mapHeightTiles;
+        this.sourceSavedAtMillis = sourceSavedAtMillis;
+        this.sourceFormatVersion = sourceFormatVersion;
+        this.chunksX = (mapWidthTiles + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.regionsX = (chunksX + REGION_CHUNKS - 1) / REGION_CHUNKS;
+        this.palette = palette;
+        this.playerState = playerState;
+        Arrays.fill(paletteIndexByOrdinal, -1);
+        for (int i = palette.length - 1; i >= 0; i--) {
+            paletteIndexByOrdinal[palette[i].ordinal()] = i;
+        }
+    }
+
+    /**
+     * Otwiera istniejący świat. Czas nie zależy od rozmiaru mapy - czytany jest tylko plik meta.
+     */
+    public static RegionWorld open(FileHandle directory) throws IOException {
+        FileHandle metaFile = directory.child(META_FILE);
+        if (!metaFile.exists()) {
+            throw new IOException("Region world not found: " + directory.path());
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(metaFile.read()))) {
+            if (in.readInt() != META_MAGIC) {
+                throw new IOException("Not a region world meta file: " + metaFile.path());
+            }
+            short version = in.readShort();
+            if (version < 1 || version > META_VERSION) {
+                throw new IOException("Unsupported region world version: " + version);
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            long sourceSavedAt = 0L; // Wersja 1 bez znacznika - nie pasuje do żadnego zapisu
+            int sourceVersion = SaveMetadata.UNKNOWN;
+            if (version >= 2) {
+                sourceSavedAt = in.readLong();
+                sourceVersion = in.readInt();
+            }
+            if (width <= 0 || height <= 0) {
+                throw new IOException("Corrupted region world size: " + width + "x" + height);
+            }
+            int paletteSize = in.readUnsignedShort();
+            TileType[] palette = new TileType[paletteSize];
+            for (int i = 0; i < paletteSize; i++) {
+                String name = in.readUTF();
+                palette[i] = TileType.NONE; // Usunięte typy stają się NONE, jak w BinarySaveFormat
+                for (TileType type : TILE_TYPES) {
+                    if (type.name().equals(name)) {
+                        palette[i] = type;
+                        break;
+                    }
+                }
+            }
+            PlayerState player = null;
+            if (in.readUnsignedByte() == 1) {
+                player = PlayerStateTypeAdapter.INSTANCE.read(new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+            return new RegionWorld(directory, width, height, sourceSavedAt, sourceVersion, palette, player);
+        }
+    }
+
+    /**
+     * Tworzy świat regionów z pełnego stanu gry (np. przy konwersji zwykłego zapisu). Istniejące pliki regionów
+     * w katalogu są usuwane.
+     *
+     * @param source Zapis, z którego pochodzi stan - jego data i wersja trafiają do pliku meta ({@link #isConvertedFrom}).
+     */
+    public static RegionWorld create(FileHandle directory, GameData data, SaveMetadata source) throws IOException {
+        directory.mkdirs();
+        for (FileHandle old : directory.list(REGION_EXTENSION)) {
+            old.delete();
+        }
+        RegionWorld world = new RegionWorld(directory, data.mapWidthTiles, data.mapHeightTiles,
+            source.getSavedAtMillis(), source.getFormatVersion(), TILE_TYPES.clone(), data.playerState);
+        int chunksY = (data.mapHeightTiles + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        byte[] tiles = new byte[RegionFile.SECTOR_SIZE];
+        for (int chunkY = 0; chunkY < chunksY; chunkY++) {
+            for (int chunkX = 0; chunkX < world.chunksX; chunkX++) {
+                world.encodeChunk(data.worldGridData, chunkX, chunkY, tiles);
+                world.regionFor(chunkX, chunkY).writeChunk(chunkX % REGION_CHUNKS, chunkY % REGION_CHUNKS, tiles);
+            }
+        }
+        for (RegionFile region : world.regions.values()) {
+            world.unforcedRegions.add(region);
+        }
+        world.metaDirty = true;
+        world.flushDirty();
+        world.force();
+        return world;
+    }
+
+    private void encodeChunk(TileType[][] grid, int chunkX, int chunkY, byte[] tiles) {
+        int originX = chunkX * CHUNK_SIZE;
+        int originY = chunkY * CHUNK_SIZE;
+        int none = paletteIndex(TileType.NONE);
+        Arrays.fill(tiles, (byte) none);
+        int endX = Math.min(originX + CHUNK_SIZE, mapWidthTiles);
+        int endY = Math.min(originY + CHUNK_SIZE, mapHeightTiles);
+        for (int x = originX; x < endX; x++) {
+            TileType[] column = grid[x];
+            int base = (x - originX) * CHUNK_SIZE - originY;
+            for (int y = originY; y < endY; y++) {
+                TileType tile = column[y];
+                tiles[base + y] = (byte) (tile != null ? paletteIndex(tile) : none);
+            }
+        }
+    }
+
+    public TileType getTile(int x, int y) {
+        if (x < 0 || x >= mapWidthTiles || y < 0 || y >= mapHeightTiles) {
+            return TileType.NONE;
+        }
+        int chunkX = x / CHUNK_SIZE;
+        int chunkY = y / CHUNK_SIZE;
+        int offset = (x % CHUNK_SIZE) * CHUNK_SIZE + (y % CHUNK_SIZE);
+        byte[] dirty = dirtyChunks.get(chunkIndex(chunkX, chunkY));
+        if (dirty != null) {
+            return palette[dirty[offset] & 0xFF];
+        }
+        ByteBuffer chunk = chunkSlice(chunkX, chunkY);
+        if (chunk == null) {
+            return TileType.NONE;
+        }
+        return palette[chunk.get(offset) & 0xFF];
+    }
+
+    /**
+     * Zmienia kafelek. Pierwsza edycja chunka kopiuje go (1 KB) do pamięci; na dysk trafia przy {@link #flushDirty()}.
+     */
+    public void setTile(int x, int y, TileType type) {
+        if (x < 0 || x >= mapWidthTiles || y < 0 || y >= mapHeightTiles) {
+            throw new IndexOutOfBoundsException("Tile " + x + "," + y + " outside " + mapWidthTiles + "x" + mapHeightTiles);
+        }
+        int chunkX = x / CHUNK_SIZE;
+        int chunkY = y / CHUNK_SIZE;
+        int key = chunkIndex(chunkX, chunkY);
+        byte[] tiles = dirtyChunks.get(key);
+        if (tiles == null) {
+            tiles = new byte[RegionFile.SECTOR_SIZE];
+            ByteBuffer chunk = chunkSlice(chunkX, chunkY);
+            if (chunk != null) {
+                chunk.get(0, tiles);
+            } else {
+                Arrays.fill(tiles, (byte) paletteIndex(TileType.NONE));
+            }
+            dirtyChunks.put(key, tiles);
+        }
+        tiles[(x % CHUNK_SIZE) * CHUNK_SIZE + (y % CHUNK_SIZE)] = (byte) paletteIndex(type);
+    }
+
+    public boolean hasDirtyChunks() {
+        return dirtyChunks.size > 0 || metaDirty;
+    }
+
+    /**
+     * Zapisuje zmienione chunki do ich sektorów w zmapowanych plikach (kopiowanie w pamięci - system zapisuje
+     * strony w tle) oraz plik meta, jeśli się zmienił. Trwałość na dysku gwarantuje dopiero {@link #force()}.
+     *
+     * @return Liczba zapisanych chunków.
+     */
+    public int flushDirty() throws IOException {
+        int written = dirtyChunks.size;
+        for (IntMap.Entry<byte[]> entry : dirtyChunks.entries()) {
+            int chunkX = entry.key % chunksX;
+            int chunkY = entry.key / chunksX;
+            RegionFile region = regionFor(chunkX, chunkY);
+            region.writeChunk(chunkX % REGION_CHUNKS, chunkY % REGION_CHUNKS, entry.value);
+            if (!unforcedRegions.contains(region, true)) {
+                unforcedRegions.add(region);
+            }
+        }
+        dirtyChunks.clear();
+        if (livePlayer != null) {
+            playerState = livePlayer.captureState();
+            metaDirty = true;
+        }
+        if (metaDirty) {
+            writeMeta();
+            metaDirty = false;
+        }
+        return written;
+    }
+
+    /**
+     * Wymusza zapis zmapowanych stron na dysk (synchronicznie, na bieżącym wątku).
+     */
+    public void force() {
+        drainPendingForce().run();
+    }
+
+    /**
+     * Oddaje zadanie zrzucenia na dysk regionów zmienionych przez {@link #flushDirty()} - do wykonania
+     * na wątku zapisu, żeby synchroniczny zapis stron nie blokował klatki.
+     */
+    public Runnable drainPendingForce() {
+        RegionFile[] pending = unforcedRegions.toArray(RegionFile.class);
+        unforcedRegions.clear();
+        return () -> {
+            for (RegionFile region : pending) {
+                region.flush();
+            }
+        };
+    }
+
+    /**
+     * Podpina gracza, którego stan ma być zapisywany przy każdym {@link #flushDirty()}.
+     */
+    public void attachPlayer(Player player) {
+        this.livePlayer = player;
+    }
+
+    public void setPlayerState(PlayerState playerState) {
+        this.playerState = playerState;
+        this.metaDirty = true;
+    }
+
+    public PlayerState getPlayerState() {
+        return playerState;
+    }
+
+    public int getMapWidthTiles() {
+        return mapWidthTiles;
+    }
+
+    public int getMapHeightTiles() {
+        return mapHeightTiles;
+    }
+
+    /**
+     * Czy świat powstał z tej wersji zapisu. Zapis nadpisany po konwersji (nowa data w nagłówku) już nie pasuje.
+     */
+    public boolean isConvertedFrom(SaveMetadata save) {
+        return save.getSavedAtMillis() == sourceSavedAtMillis && save.getFormatVersion() == sourceFormatVersion;
+    }
+
+    public FileHandle getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Wczytuje cały świat do pamięci - koszt proporcjonalny do rozmiaru mapy, np. do eksportu w zwykłym formacie.
+     */
+    public GameData toGameData() {
+        TileType[][] grid = new TileType[mapWidthTiles][mapHeightTiles];
+        for (int x = 0; x < mapWidthTiles; x++) {
+            for (int y = 0; y < mapHeightTiles; y++) {
+                grid[x][y] = getTile(x, y);
+            }
+        }
+        GameData data = new GameData(grid, mapWidthTiles, mapHeightTiles);
+        data.playerState = playerState;
+        return data;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushDirty();
+        unforcedRegions.clear(); // close() regionu sam wymusza zapis
+        IOException failure = null;
+        for (RegionFile region : regions.values()) {
+            try {
+                region.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        regions.clear();
+        if (failure != null) throw failure;
+    }
+
+    private ByteBuffer chunkSlice(int chunkX, int chunkY) {
+        RegionFile region = regions.get(regionIndex(chunkX, chunkY));
+        if (region == null) {
+            FileHandle file = regionFile(chunkX / REGION_CHUNKS, chunkY / REGION_CHUNKS);
+            if (!file.exists()) return null; // Region nigdy nie zapisany - nie twórz pustych plików przy samym czytaniu
+            try {
+                region = regionFor(chunkX, chunkY);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to open region file: " + file.path(), e);
+            }
+        }
+        return region.readChunk(chunkX % REGION_CHUNKS, chunkY % REGION_CHUNKS);
+    }
+
+    private RegionFile regionFor(int chunkX, int chunkY) throws IOException {
+        int key = regionIndex(chunkX, chunkY);
+        RegionFile region = regions.get(key);
+        if (region == null) {
+            region = new RegionFile(regionFile(chunkX / REGION_CHUNKS, chunkY / REGION_CHUNKS).file().toPath());
+            regions.put(key, region);
+        }
+        return region;
+    }
+
+    private FileHandle regionFile(int regionX, int regionY) {
+        return directory.child(REGION_PREFIX + regionX + "." + regionY + REGION_EXTENSION);
+    }
+
+    private int chunkIndex(int chunkX, int chunkY) {
+        return chunkY * chunksX + chunkX;
+    }
+
+    private int regionIndex(int chunkX, int chunkY) {
+        return (chunkY / REGION_CHUNKS) * regionsX + chunkX / REGION_CHUNKS;
+    }
+
+    /**
+     * Indeks typu w palecie pliku; typ spoza palety (dodany w nowszej wersji gry) jest do niej dopisywany.
+     */
+    private int paletteIndex(TileType type) {
+        int index = paletteIndexByOrdinal[type.ordinal()];
+        if (index < 0) {
+            if (palette.length >= MAX_PALETTE_SIZE) {
+                throw new IllegalStateException("Region world palette is full, cannot add " + type);
+            }
+            index = palette.length;
+            palette = Arrays.copyOf(palette, index + 1);
+            palette[index] = type;
+            paletteIndexByOrdinal[type.ordinal()] = index;
+            metaDirty = true;
+        }
+        return index;
+    }
+
+    private void writeMeta() throws IOException {
+        FileHandle metaFile = directory.child(META_FILE);
+        FileHandle tempFile = directory.child(META_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(tempFile.write(false)))) {
+            out.writeInt(META_MAGIC);
+            out.writeShort(META_VERSION);
+            out.writeInt(mapWidthTiles);
+            out.writeInt(mapHeightTiles);
+            out.writeLong(sourceSavedAtMillis);
+            out.writeInt(sourceFormatVersion);
+            out.writeShort(palette.length);
+            for (TileType type : palette) {
+                out.writeUTF(type.name());
+            }
+            if (playerState != null) {
+                out.writeByte(1);
+                JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                PlayerStateTypeAdapter.INSTANCE.write(writer, playerState);
+                writer.flush();
+            } else {
+                out.writeByte(0);
+            }
+        }
+        AtomicFiles.replace(tempFile, metaFile); // Zmiana nazwy - plik meta jest zawsze cały, stary albo nowy
+    }
+}
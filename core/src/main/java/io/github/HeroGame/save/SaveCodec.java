@@ -0,0 +1,90 @@
+package io.github.HeroGame.save;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Kompresja treści zapisu binarnego (wszystko po stałym nagłówku - nagłówek zostaje nieskompresowany,
+ * żeby lista zapisów mogła go czytać bez dekompresji).
+ * Identyfikator kodeka jest zapisywany w pliku, więc odczyt nie zależy od bieżących ustawień.
+ */
+public enum SaveCodec {
+    NONE(0),
+    DEFLATE(1),
+    GZIP(2);
+
+    public static final int MIN_LEVEL = Deflater.BEST_SPEED;
+    public static final int MAX_LEVEL = Deflater.BEST_COMPRESSION;
+    private static final int STREAM_BUFFER_SIZE = 16 * 1024;
+
+    private final int id;
+
+    SaveCodec(int id) {
+        this.id = id;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    static SaveCodec fromId(int id) throws IOException {
+        for (SaveCodec codec : values()) {
+            if (codec.id == id) return codec;
+        }
+        throw new IOException("Unknown save codec id: " + id);
+    }
+
+    /**
+     * Opakowuje strumień wyjściowy. Zamknięcie zwróconego strumienia kończy kompresję i zamyka {@code out}.
+     *
+     * @param level Poziom kompresji 1-9 (ignorowany dla {@link #NONE}).
+     */
+    OutputStream wrap(OutputStream out, int level) throws IOException {
+        int clampedLevel = Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+        return switch (this) {
+            case NONE -> out;
+            case DEFLATE -> new DeflaterOutputStream(out, new Deflater(clampedLevel), STREAM_BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        def.end(); // Własny Deflater - DeflaterOutputStream nie zwalnia go sam
+                    }
+                }
+            };
+            case GZIP -> new GZIPOutputStream(out, STREAM_BUFFER_SIZE) {
+                {
+                    def.setLevel(clampedLevel);
+                }
+            };
+        };
+    }
+
+    /**
+     * Opakowuje strumień wejściowy - dekompresja odbywa się strumieniowo podczas czytania.
+     */
+    InputStream wrap(InputStream in) throws IOException {
+        return switch (this) {
+            case NONE -> in;
+            case DEFLATE -> new InflaterInputStream(in, new Inflater(), STREAM_BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+            case GZIP -> new GZIPInputStream(in, STREAM_BUFFER_SIZE);
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.HeroGame.save;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Opis pliku zapisu do wyświetlenia na liście zapisów - odczytany z nagłówka, bez wczytywania świata.
+ * {@link #toString()} zwraca tekst pozycji listy (scene2d {@code List} wyświetla właśnie toString()).
+ */
+public final class SaveMetadata {
+    public static final int UNKNOWN = -1;
+
+    private final FileHandle file;
+    private final int formatVersion;
+    private final long savedAtMillis;
+    private final int mapWidthTiles;
+    private final int mapHeightTiles;
+    private final long fileSize;
+    private final long lastModified;
+    private final String displayText;
+
+    SaveMetadata(FileHandle file, int formatVersion, long savedAtMillis, int mapWidthTiles, int mapHeightTiles,
+                 long fileSize, long lastModified) {
+        this.file = file;
+        this.formatVersion = formatVersion;
+        this.savedAtMillis = savedAtMillis;
+        this.mapWidthTiles = mapWidthTiles;
+        this.mapHeightTiles = mapHeightTiles;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.displayText = buildDisplayText();
+    }
+
+    /**
+     * Opis zapisu, którego nagłówka nie da się odczytać tanio (stary zapis JSON lub uszkodzony plik).
+     */
+    static SaveMetadata unknown(FileHandle file) {
+        return new SaveMetadata(file, UNKNOWN, file.lastModified(), UNKNOWN, UNKNOWN, file.length(), file.lastModified());
+    }
+
+    private String buildDisplayText() {
+        StringBuilder text = new StringBuilder(file.name());
+        text.append("   ");
+        if (mapWidthTiles != UNKNOWN) {
+            text.append(mapWidthTiles).append('x').append(mapHeightTiles).append("   ");
+        }
+        long when = savedAtMillis > 0 ? savedAtMillis : lastModified;
+        text.append(new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date(when)));
+        return text.toString();
+    }
+
+    /**
+     * Czy opis nadal odpowiada plikowi na dysku (do unieważniania indeksu katalogu).
+     */
+    boolean matches(FileHandle current) {
+        return current.lastModified() == lastModified && current.length() == fileSize;
+    }
+
+    public FileHandle getFile() {
+        return file;
+    }
+
+    public String getFileName() {
+        return file.name();
+    }
+
+    /**
+     * @return Plik miniatury zapisu - może nie istnieć (zapisy sprzed miniatur).
+     */
+    public FileHandle getThumbnailFile() {
+        return SaveThumbnails.fileFor(file);
+    }
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public long getSavedAtMillis() {
+        return savedAtMillis;
+    }
+
+    public int getMapWidthTiles() {
+        return mapWidthTiles;
+    }
+
+    public int getMapHeightTiles() {
+        return mapHeightTiles;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public boolean isAutosave() {
+        return GameSaveSystem.isAutosave(file);
+    }
+
+    @Override
+    public String toString() {
+        return displayText;
+    }
+}
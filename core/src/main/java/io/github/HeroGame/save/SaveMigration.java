@@ -0,0 +1,28 @@
+package io.github.HeroGame.save;
+
+/**
+ * Krok migracji zapisu z wersji {@link #fromVersion()} do następnej. Kroki działają w trakcie jedynego,
+ * strumieniowego odczytu pliku - stary zapis nigdy nie jest wczytywany do drzewa JSON ani parsowany drugi raz.
+ *
+ * @see SaveMigrations
+ */
+interface SaveMigration {
+
+    /**
+     * Najwyższa wersja formatu, której dotyczy krok - krok jest stosowany do zapisów w wersji {@code <=} tej wartości.
+     */
+    int fromVersion();
+
+    /**
+     * Tłumaczy nazwę pola ze starego zapisu JSON na bieżącą. Wołane dla każdego klucza, zanim czytnik go obsłuży.
+     */
+    default String renameField(String name) {
+        return name;
+    }
+
+    /**
+     * Uzupełnia stan po odczycie (np. wartości domyślne pól, których stary format nie miał).
+     */
+    default void upgrade(GameData data) {
+    }
+}
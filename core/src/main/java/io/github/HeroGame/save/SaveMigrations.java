@@ -0,0 +1,70 @@
+package io.github.HeroGame.save;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Wersje formatu zapisu i łańcuch migracji między nimi.
+ * <p>
+ * Jedna numeracja obowiązuje dla zapisu binarnego (wersja w nagłówku {@link BinarySaveFormat}) i dla JSON-a
+ * (pole {@code formatVersion}). Różnice w układzie bajtów czyta sam {@link BinarySaveFormat}; różnice w znaczeniu
+ * i nazwach pól obsługują kroki {@link SaveMigration}, stosowane w kolejności rosnących wersji:
+ * <ol>
+ *   <li>{@link GameDataTypeAdapter} przepuszcza każdy klucz przez {@link #renameField(int, String)},</li>
+ *   <li>po odczycie całości {@link #upgrade(int, GameData)} uzupełnia stan i ustawia {@link GameData#formatVersion}.</li>
+ * </ol>
+ * Nowa wersja formatu = podbicie {@link #CURRENT_VERSION} i (jeśli stare zapisy trzeba poprawić) dopisanie kroku do {@link #STEPS}.
+ */
+final class SaveMigrations {
+    /** Zapis JSON sprzed wersjonowania (brak pola {@code formatVersion}). */
+    static final int LEGACY_JSON_VERSION = 0;
+    /** 1: nagłówek binarny, 2: czas zapisu, 3: stan gracza, 4: kodek kompresji, 5: wersja również w JSON. */
+    static final int CURRENT_VERSION = 5;
+
+    private static final Array<SaveMigration> STEPS = new Array<>(SaveMigration.class);
+
+    static {
+        // 0 -> 1: stary JSON (refleksja Gson) miał siatkę pod kluczem "worldGridData"
+        STEPS.add(new SaveMigration() {
+            @Override
+            public int fromVersion() {
+                return LEGACY_JSON_VERSION;
+            }
+
+            @Override
+            public String renameField(String name) {
+                return "worldGridData".equals(name) ? "worldGrid" : name;
+            }
+        });
+    }
+
+    private SaveMigrations() {
+    }
+
+    /**
+     * Nazwa pola w bieżącym formacie dla klucza odczytanego z zapisu w wersji {@code version}.
+     */
+    static String renameField(int version, String name) {
+        if (version >= CURRENT_VERSION) return name;
+        for (SaveMigration step : STEPS) {
+            if (version <= step.fromVersion()) {
+                name = step.renameField(name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Stosuje kroki migracji do wczytanego stanu i oznacza go wersją źródłową.
+     */
+    static void upgrade(int version, GameData data) {
+        if (version > CURRENT_VERSION) {
+            throw new IllegalArgumentException("Save format version " + version + " is newer than supported " + CURRENT_VERSION);
+        }
+        for (SaveMigration step : STEPS) {
+            if (version <= step.fromVersion()) {
+                step.upgrade(data);
+            }
+        }
+        data.formatVersion = version;
+    }
+}
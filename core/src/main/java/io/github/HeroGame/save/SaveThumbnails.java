@@ -0,0 +1,73 @@
+package io.github.HeroGame.save;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import io.github.HeroGame.utils.AtomicFiles;
+import io.github.HeroGame.world.TileType;
+
+/**
+ * Miniatury zapisów: pomniejszony podgląd siatki świata zapisywany jako PNG obok pliku zapisu
+ * ({@code nazwa.sav} -> {@code nazwa.png}).
+ * <p>
+ * Miniatura powstaje z migawki świata, więc nie potrzebuje kontekstu GL - {@link Pixmap} i {@link PixmapIO}
+ * działają na wątku zapisu, razem z samym zapisem.
+ */
+final class SaveThumbnails {
+    static final String EXTENSION = ".png";
+    static final int MAX_WIDTH = 160;
+    static final int MAX_HEIGHT = 120;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private SaveThumbnails() {
+    }
+
+    static FileHandle fileFor(FileHandle saveFile) {
+        return saveFile.sibling(saveFile.nameWithoutExtension() + EXTENSION);
+    }
+
+    /**
+     * Rysuje i zapisuje miniaturę. Przez plik tymczasowy - lista zapisów nigdy nie widzi połowy PNG.
+     */
+    static void write(FileHandle saveFile, GameData data) {
+        if (data.worldGridData == null || data.mapWidthTiles <= 0 || data.mapHeightTiles <= 0) return;
+        FileHandle thumbnail = fileFor(saveFile);
+        FileHandle tempFile = thumbnail.sibling(thumbnail.name() + TEMP_SUFFIX);
+        Pixmap pixmap = render(data);
+        try {
+            PixmapIO.writePNG(tempFile, pixmap);
+        } finally {
+            pixmap.dispose();
+        }
+        AtomicFiles.replace(tempFile, thumbnail);
+    }
+
+    /**
+     * Jeden piksel na kafelek, a dla map większych niż {@link #MAX_WIDTH}x{@link #MAX_HEIGHT} - kafelek
+     * próbkowany co {@code step}. Oś y jest odwracana: w świecie rośnie w górę, w obrazie w dół.
+     */
+    private static Pixmap render(GameData data) {
+        int step = Math.max(1, Math.max(
+            (data.mapWidthTiles + MAX_WIDTH - 1) / MAX_WIDTH,
+            (data.mapHeightTiles + MAX_HEIGHT - 1) / MAX_HEIGHT));
+        int width = Math.max(1, data.mapWidthTiles / step);
+        int height = Math.max(1, data.mapHeightTiles / step);
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        for (int px = 0; px < width; px++) {
+            TileType[] column = data.worldGridData[px * step];
+            for (int py = 0; py < height; py++) {
+                pixmap.drawPixel(px, height - 1 - py, colorOf(column[py * step]));
+            }
+        }
+        return pixmap;
+    }
+
+    private static int colorOf(TileType type) {
+        if (type == null) return 0x000000FF;
+        return switch (type) {
+            case DIRT -> 0x7A5230FF;
+            case GRASS -> 0x4C9A2AFF;
+            case NONE -> 0x000000FF;
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package io.github.HeroGame.save;
+
+import com.badlogic.gdx.files.FileHandle;
+import io.github.HeroGame.entities.PlayerState;
+import io.github.HeroGame.entities.PlayerStateTypeAdapter;
+import io.github.HeroGame.world.TileType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Dziennik zmian świata dopisywany na końcu pliku (write-ahead log) obok pełnego zapisu bazowego.
+ * <p>
+ * Edycje trafiają najpierw do bufora w pamięci ({@link #record(int, int, TileType)} - wątek GL).
+ * Przy autozapisie bufor jest przekazywany ({@link #drainPending()}) do wątku zapisu, który dopisuje
+ * go do pliku ({@link #append(FileHandle, int[], PlayerState, int, int)}) razem z bieżącym stanem gracza -
+ * przy odtwarzaniu wygrywa ostatni rekord gracza. Po kompaktowaniu (nowy pełny zapis bazowy) plik dziennika
+ * jest usuwany.
+ * <p>
+ * Format pliku:
+ * <pre>
+ * int    MAGIC ("HGJL")
+ * short  wersja
+ * int    szerokość mapy, int wysokość mapy
+ * ubyte  liczba wpisów palety, potem dla każdego: UTF nazwa {@link TileType}
+ * rekordy: ubyte typ (RECORD_TILE), int x, int y, ubyte indeks palety
+ *          ubyte typ (RECORD_PLAYER), int długość, stan gracza jako JSON UTF-8 ({@link PlayerStateTypeAdapter})
+ * </pre>
+ * Wersja 1 zawiera tylko rekordy kafelków i nadal się odtwarza.
+ * Niepełny ostatni rekord (przerwany zapis przy awarii) jest przy odtwarzaniu pomijany.
+ */
+final class TileEditJournal {
+    static final String EXTENSION = ".journal";
+
+    private static final int MAGIC = 0x48474A4C; // "HGJL"
+    private static final short VERSION = 2;
+    private static final int RECORD_TILE = 1;
+    private static final int RECORD_PLAYER = 2; // od wersji 2
+    static final int INTS_PER_EDIT = 3; // x, y, ordinal
+    private static final TileType[] TILE_TYPES = TileType.values();
+
+    private int[] pending = new int[INTS_PER_EDIT * 64];
+    private int pendingSize; // w intach
+    private int recordsSinceCompaction;
+
+    /**
+     * Zapamiętuje zmianę kafelka. Wywoływane na wątku GL przy każdej edycji - tylko zapis do tablicy.
+     */
+    void record(int x, int y, TileType type) {
+        if (pendingSize + INTS_PER_EDIT > pending.length) {
+            pending = Arrays.copyOf(pending, pending.length * 2);
+        }
+        pending[pendingSize++] = x;
+        pending[pendingSize++] = y;
+        pending[pendingSize++] = type.ordinal();
+    }
+
+    /**
+     * Oddaje zebrane edycje do zapisu w tle i czyści bufor.
+     *
+     * @return Kopia bufora (x, y, ordinal) - wątek zapisu może ją czytać bez synchronizacji.
+     */
+    int[] drainPending() {
+        int[] drained = Arrays.copyOf(pending, pendingSize);
+        recordsSinceCompaction += pendingSize / INTS_PER_EDIT;
+        pendingSize = 0;
+        return drained;
+    }
+
+    /**
+     * Porzuca bufor i licznik - wywoływane, gdy stan zostaje zapisany w całości jako nowa baza.
+     */
+    void reset() {
+        pendingSize = 0;
+        recordsSinceCompaction = 0;
+    }
+
+    int getRecordsSinceCompaction() {
+        return recordsSinceCompaction;
+    }
+
+    /**
+     * Dopisuje edycje i stan gracza do pliku dziennika. Wywoływane na wątku zapisu.
+     *
+     * @param player Stan gracza z chwili opróżnienia bufora albo null, jeśli gra go nie ma.
+     */
+    static void append(FileHandle journalFile, int[] edits, PlayerState player, int mapWidth, int mapHeight) throws IOException {
+        boolean writeHeader = !journalFile.exists() || journalFile.length() == 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(journalFile.write(true)))) {
+            if (writeHeader) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeInt(mapWidth);
+                out.writeInt(mapHeight);
+                out.writeByte(TILE_TYPES.length);
+                for (TileType type : TILE_TYPES) {
+                    out.writeUTF(type.name());
+                }
+            }
+            for (int i = 0; i < edits.length; i += INTS_PER_EDIT) {
+                out.writeByte(RECORD_TILE);
+                out.writeInt(edits[i]);
+                out.writeInt(edits[i + 1]);
+                out.writeByte(edits[i + 2]);
+            }
+            if (player != null) {
+                byte[] json = PlayerStateTypeAdapter.INSTANCE.toJson(player).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(RECORD_PLAYER);
+                out.writeInt(json.length);
+                out.write(json);
+            }
+        }
+    }
+
+    /**
+     * Odtwarza dziennik na wczytanym stanie gry.
+     *
+     * @return Liczba zastosowanych rekordów.
+     */
+    static int replay(FileHandle journalFile, GameData target) throws IOException {
+        int applied = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(journalFile.read()))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a journal file: " + journalFile.path());
+            }
+            short version = in.readShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported journal version: " + version);
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            if (width != target.mapWidthTiles || height != target.mapHeightTiles) {
+                throw new IOException("Journal map size " + width + "x" + height + " does not match save "
+                    + target.mapWidthTiles + "x" + target.mapHeightTiles);
+            }
+            int paletteSize = in.readUnsignedByte();
+            TileType[] palette = new TileType[paletteSize];
+            for (int i = 0; i < paletteSize; i++) {
+                String name = in.readUTF();
+                palette[i] = TileType.NONE;
+                for (TileType type : TILE_TYPES) {
+                    if (type.name().equals(name)) {
+                        palette[i] = type;
+                        break;
+                    }
+                }
+            }
+
+            while (true) {
+                int recordType = in.read();
+                if (recordType < 0) break; // Koniec dziennika
+                if (recordType == RECORD_PLAYER) {
+                    PlayerState player;
+                    try {
+                        byte[] json = new byte[in.readInt()];
+                        in.readFully(json);
+                        player = PlayerStateTypeAdapter.INSTANCE.fromJson(new String(json, StandardCharsets.UTF_8));
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (player != null) {
+                        target.playerState = player;
+                    }
+                    applied++;
+                    continue;
+                }
+                if (recordType != RECORD_TILE) {
+                    throw new IOException("Unknown journal record type " + recordType + " after " + applied + " records");
+                }
+                int x;
+                int y;
+                int index;
+                try {
+                    x = in.readInt();
+                    y = in.readInt();
+                    index = in.readUnsignedByte();
+                } catch (EOFException e) {
+                    break; // Rekord urwany przez awarię - wszystko przed nim jest poprawne
+                }
+                if (x < 0 || x >= width || y < 0 || y >= height || index >= palette.length) {
+                    throw new IOException("Corrupted journal record " + applied + ": " + x + "," + y + " -> " + index);
+                }
+                target.worldGridData[x][y] = palette[index];
+                applied++;
+            }
+        }
+        return applied;
+    }
+}
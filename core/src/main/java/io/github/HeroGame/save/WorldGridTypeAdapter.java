@@ -0,0 +1,139 @@
+package io.github.HeroGame.save;
+
+import com.badlogic.gdx.utils.Array;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.HeroGame.world.TileType;
+
+import java.io.IOException;
+
+/**
+ * Strumieniowy adapter Gson dla siatki świata {@code TileType[x][y]}.
+ * <p>
+ * Zapis: {@code {"palette": ["NONE", "DIRT", "GRASS"], "columns": ["1112...", ...]}} - jedna kolumna (stałe x)
+ * to jeden napis, a każdy kafelek to jeden znak (indeks palety w systemie 36-kowym). Plik pozostaje czytelny,
+ * a pretty-printing nie rozbija go na linię na kafelek.
+ * <p>
+ * Odczyt przyjmuje też stary układ: tablicę tablic nazw typów (zapisy JSON sprzed tej zmiany).
+ */
+final class WorldGridTypeAdapter extends TypeAdapter<TileType[][]> {
+    static final WorldGridTypeAdapter INSTANCE = new WorldGridTypeAdapter();
+
+    private static final TileType[] TILE_TYPES = TileType.values();
+
+    private WorldGridTypeAdapter() {
+    }
+
+    @Override
+    public void write(JsonWriter out, TileType[][] grid) throws IOException {
+        if (grid == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("palette").beginArray();
+        for (TileType type : TILE_TYPES) {
+            out.value(type.name());
+        }
+        out.endArray();
+        out.name("columns").beginArray();
+        StringBuilder column = new StringBuilder();
+        for (TileType[] tiles : grid) {
+            column.setLength(0);
+            for (TileType tile : tiles) {
+                column.append(Character.forDigit(tile != null ? tile.ordinal() : TileType.NONE.ordinal(), Character.MAX_RADIX));
+            }
+            out.value(column.toString());
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public TileType[][] read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BEGIN_ARRAY) {
+            return readLegacy(in);
+        }
+
+        TileType[] palette = TILE_TYPES;
+        String[] columns = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "palette" -> {
+                    Array<TileType> entries = new Array<>(TileType.class);
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        entries.add(tileByName(in.nextString()));
+                    }
+                    in.endArray();
+                    palette = entries.toArray();
+                }
+                case "columns" -> {
+                    Array<String> entries = new Array<>(String.class);
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        entries.add(in.nextString());
+                    }
+                    in.endArray();
+                    columns = entries.toArray();
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (columns == null) {
+            throw new IOException("World grid has no columns");
+        }
+
+        TileType[][] grid = new TileType[columns.length][];
+        for (int x = 0; x < columns.length; x++) {
+            String column = columns[x];
+            grid[x] = new TileType[column.length()];
+            for (int y = 0; y < column.length(); y++) {
+                int index = Character.digit(column.charAt(y), Character.MAX_RADIX);
+                if (index < 0 || index >= palette.length) {
+                    throw new IOException("Invalid tile '" + column.charAt(y) + "' at " + x + "," + y);
+                }
+                grid[x][y] = palette[index];
+            }
+        }
+        return grid;
+    }
+
+    private static TileType[][] readLegacy(JsonReader in) throws IOException {
+        Array<TileType[]> columns = new Array<>(TileType[].class);
+        Array<TileType> column = new Array<>(TileType.class);
+        in.beginArray();
+        while (in.hasNext()) {
+            column.clear();
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    column.add(TileType.NONE);
+                } else {
+                    column.add(tileByName(in.nextString()));
+                }
+            }
+            in.endArray();
+            columns.add(column.toArray());
+        }
+        in.endArray();
+        return columns.toArray();
+    }
+
+    private static TileType tileByName(String name) {
+        for (TileType type : TILE_TYPES) {
+            if (type.name().equals(name)) return type;
+        }
+        return TileType.NONE; // Typ usunięty z gry
+    }
+}
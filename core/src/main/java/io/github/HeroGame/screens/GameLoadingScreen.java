@@ -0,0 +1,136 @@
+package io.github.HeroGame.screens;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.utils.I18NBundle;
+import com.badlogic.gdx.utils.Logger;
+import io.github.HeroGame.MyGame;
+import io.github.HeroGame.save.GameLoadTask;
+import io.github.HeroGame.save.RegionWorld;
+
+import java.io.IOException;
+
+/**
+ * Ekran wczytywania zapisu: czeka na odczyt pliku w tle ({@link GameLoadTask}), potem buduje {@link GameScreen}
+ * krok po kroku, kilka kroków na klatkę, i przełącza ekran dopiero, gdy wszystko jest gotowe.
+ * Zadanie otwierające świat w plikach regionów ({@link GameLoadTask#getRegionWorld()}) przechodzi od razu
+ * do {@link GameScreen} z tym światem.
+ */
+public class GameLoadingScreen extends BaseScreen {
+
+    private final Logger log = new Logger(GameLoadingScreen.class.getSimpleName(), Logger.DEBUG);
+    private static final long BUILD_BUDGET_NANOS = 8_000_000L; // Połowa klatki przy 60 FPS na budowę ekranu gry
+    private static final float READ_SHARE = 0.6f; // Udział odczytu pliku w pasku postępu; reszta to budowa ekranu
+
+    private final GameLoadTask loadTask;
+    private GameScreen gameScreen; // Budowany ekran gry - przekazany do MyGame.setScreen po ostatnim kroku
+    private boolean handedOver;
+    private boolean failed;
+    private Label progressLabel;
+
+    public GameLoadingScreen(MyGame game, GameLoadTask loadTask) {
+        super(game);
+        this.loadTask = loadTask;
+    }
+
+    @Override
+    public void show() {
+        super.show();
+        rebuildUI();
+        log.info("Loading save in background: " + loadTask.getFileName());
+    }
+
+    @Override
+    public void render(float delta) {
+        if (!failed) {
+            if (gameScreen == null) {
+                if (loadTask.isDone()) {
+                    if (loadTask.getRegionWorld() != null) {
+                        log.info("Region world opened, switching screens.");
+                        handedOver = true;
+                        game.setScreen(new GameScreen(game, loadTask.getRegionWorld()));
+                        return;
+                    }
+                    if (loadTask.getResult() == null) {
+                        failed = true;
+                        showLoadError();
+                    } else {
+                        gameScreen = GameScreen.deferred(game, loadTask.getResult());
+                    }
+                }
+            } else {
+                long start = System.nanoTime();
+                boolean ready = false;
+                while (!ready && System.nanoTime() - start < BUILD_BUDGET_NANOS) {
+                    float before = gameScreen.getBuildProgress();
+                    ready = gameScreen.buildStep();
+                    if (!ready && gameScreen.getBuildProgress() == before) {
+                        break; // Krok czeka na teksturę z TexturePipeline - wyśle ją MyGame.render() po tej klatce
+                    }
+                }
+                if (ready) {
+                    log.info("GameScreen built, switching screens.");
+                    handedOver = true;
+                    game.setScreen(gameScreen); // Zwalnia ten ekran - nic więcej w tej klatce
+                    return;
+                }
+            }
+            updateProgress();
+        }
+        super.render(delta);
+    }
+
+    private void updateProgress() {
+        if (progressLabel == null) return;
+        float progress = gameScreen == null
+            ? loadTask.getProgress() * READ_SHARE
+            : READ_SHARE + gameScreen.getBuildProgress() * (1f - READ_SHARE);
+        progressLabel.setText(game.getI18nBundle().format("loading_game", (int) (progress * 100)));
+    }
+
+    private void showLoadError() {
+        I18NBundle i18n = game.getI18nBundle();
+        Dialog errorDialog = new Dialog(i18n.get("error_title"), game.getSkin()) {
+            @Override
+            protected void result(Object object) {
+                game.setScreen(new MainMenuScreen(game));
+            }
+        };
+        errorDialog.text(i18n.get("save_load_error_generic"), game.getSkin().get("default-label", Label.LabelStyle.class));
+        errorDialog.button(i18n.get("ok"), null, game.getSkin().get("default", TextButton.TextButtonStyle.class));
+        errorDialog.show(stage);
+    }
+
+    @Override
+    protected void rebuildUI() {
+        stage.clear();
+        progressLabel = new Label(game.getI18nBundle().format("loading_game", 0), game.getSkin(), "default-label");
+        Table table = new Table();
+        table.setFillParent(true);
+        table.center();
+        table.add(progressLabel);
+        stage.addActor(table);
+        if (failed) {
+            showLoadError();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        log.debug("Disposing GameLoadingScreen.");
+        if (gameScreen != null && !handedOver) {
+            gameScreen.dispose(); // Przerwana budowa (np. zamknięcie gry) - zwolnij wczytane już tekstury
+        }
+        RegionWorld regionWorld = loadTask.getRegionWorld();
+        if (regionWorld != null && !handedOver) {
+            try {
+                regionWorld.close(); // Świat otwarty, ale ekran gry go nie przejął
+            } catch (IOException e) {
+                log.error("Failed to close region world: " + regionWorld.getDirectory().path(), e);
+            }
+        }
+        super.dispose();
+    }
+}
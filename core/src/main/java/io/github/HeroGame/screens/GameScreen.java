@@ -17,6 +17,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
@@ -31,17 +32,37 @@ import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import io.github.HeroGame.MyGame;
+import io.github.HeroGame.assets.TextureCache;
+import io.github.HeroGame.assets.TextureRequest;
 import io.github.HeroGame.entities.Player; // Import Player
 import io.github.HeroGame.save.GameData;
+import io.github.HeroGame.save.GameLoadTask;
 import io.github.HeroGame.save.GameSaveSystem;
+import io.github.HeroGame.save.RegionWorld;
 import io.github.HeroGame.world.NeighborCombination;
 import io.github.HeroGame.world.TileType;
 
+import java.io.IOException;
+import java.util.Locale;
+
 public class GameScreen extends BaseScreen implements Disposable, InputProcessor {
 
     private static final Logger log = new Logger(GameScreen.class.getSimpleName(), Logger.DEBUG);
 
     private static final int TILE_SIZE = 32;
+    // Widok świata w plikach regionów - mapa jest zbyt duża, by pokazać ją w całości
+    private static final int REGION_VIEW_WIDTH_TILES = 30;
+    private static final int REGION_VIEW_HEIGHT_TILES = 20;
+    private static final String[] TILE_TEXTURE_NAMES = {
+        "grass_gggg.png", "grass_dggg.png", "grass_gdgg.png", "grass_ggdg.png", "grass_gggd.png",
+        "grass_ddgg.png", "grass_ggdd.png", "grass_dgdg.png", "grass_gddg.png",
+        "grass_dg_gd.png", "grass_gd_dg.png",
+        "grass_dddg.png", "grass_ddgd.png", "grass_dgdd.png", "grass_gddd.png",
+        "grass_dddd.png",
+        "dirt_base.png"
+    };
+    // Kroki buildStep(): tekstury kafelków, tablica kombinacji, gracz z sesją zapisu
+    private static final int BUILD_STEPS = TILE_TEXTURE_NAMES.length + 2;
     private int mapWidthTiles;
     private int mapHeightTiles;
     private GameSaveSystem saveSystem;
@@ -50,8 +71,11 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
     private Viewport worldViewport;
 
     private TileType[][] worldGridData;
+    private GameData liveGameState; // Opakowuje worldGridData (ta sama tablica) - przekazywany do autozapisu i dziennika
+    private RegionWorld regionWorld; // Zamiast worldGridData/liveGameState, gdy świat jest w plikach regionów
 
     private ObjectMap<String, TextureRegion> individualTileTextures;
+    private TextureRequest[] tileTextureRequests; // Odwołania do tekstur kafelków w TextureCache, indeksy jak TILE_TEXTURE_NAMES
     private ObjectMap<NeighborCombination, TextureRegion> tileLookupMap;
 
     private TiledMap tiledMapSource;
@@ -59,11 +83,16 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
 
     private boolean isPaused;
     private Table pauseTable;
+    private Label savingIndicator; // Widoczny, gdy zapis gry trwa w tle
+    private Label textureStatsLabel; // Nakładka debugowania (F3): pamięć GPU tekstur z TextureCache
+    private boolean textureStatsVisible;
 
     private boolean paintModeActive;
     private TileType currentPaintTileType;
 
     private Player player; // Instancja gracza
+    private GameData pendingLoadedData; // Wczytany stan czekający na ostatni krok buildStep()
+    private int buildPhase;
 
 
     public GameScreen(final MyGame game, TiledMap tiledMapSource) {
@@ -89,8 +118,9 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
         // Inicjalizacja gracza
         // Pozycja startowa gracza - np. środek mapy lub zdefiniowany punkt startowy
         Vector2 playerStartPos = new Vector2(mapWidthTiles * TILE_SIZE / 2f, mapHeightTiles * TILE_SIZE / 2f);
-        this.player = new Player(playerStartPos);
+        this.player = new Player(playerStartPos, game.getTextureCache());
         log.info("Player initialized at: " + playerStartPos);
+        startSaveSession();
 
 
         isPaused = false;
@@ -103,6 +133,18 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
     }
 
     public GameScreen(final MyGame game, GameData loadedGameData) {
+        this(game, loadedGameData, true);
+    }
+
+    /**
+     * Ekran dla wczytanego stanu, którego ciężkie kroki (tekstury kafelków, gracz, dziennik autozapisu)
+     * wykonują kolejne wywołania {@link #buildStep()} - {@link GameLoadingScreen} rozkłada je na wiele klatek.
+     */
+    static GameScreen deferred(MyGame game, GameData loadedGameData) {
+        return new GameScreen(game, loadedGameData, false);
+    }
+
+    private GameScreen(final MyGame game, GameData loadedGameData, boolean buildNow) {
         super(game);
         log.debug("GameScreen constructor called for LOADED GAME (GameData).");
 
@@ -124,28 +166,113 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
         }
 
         this.tiledMapSource = null;
-        loadIndividualTileTextures();
+        this.individualTileTextures = new ObjectMap<>();
         worldCamera = new OrthographicCamera();
         worldViewport = new FitViewport(mapWidthTiles * TILE_SIZE, mapHeightTiles * TILE_SIZE, worldCamera);
         worldViewport.apply(true);
 
-        populateTileLookup();
-
         this.skin = game.getSkin();
         this.saveSystem = game.getGameSaveSystem();
 
-        // TODO: Wczytaj stan gracza z loadedGameData
+        isPaused = false;
+        paintModeActive = false;
+        currentPaintTileType = TileType.GRASS;
+
+        if (buildNow) {
+            // Wszystkie kroki od razu, jak w pozostałych konstruktorach. Nie przez buildStep(): ten czeka na upload
+            // tekstur w MyGame.render(), którego w trakcie konstruktora nie ma
+            loadIndividualTileTextures();
+            populateTileLookup();
+            createLoadedPlayer(loadedGameData);
+            this.buildPhase = BUILD_STEPS;
+        } else {
+            this.pendingLoadedData = loadedGameData;
+            this.buildPhase = 0;
+        }
+    }
+
+    /**
+     * Wykonuje kolejny krok budowy ekranu dla wczytanego stanu: jedna tekstura kafelka, potem tablica
+     * kombinacji kafelków, na końcu gracz i sesja zapisu. Pierwszy krok zleca dekodowanie wszystkich tekstur
+     * naraz; kolejne czekają, aż TexturePipeline wyśle daną teksturę na GPU (bez postępu, gdy jeszcze jej nie ma).
+     *
+     * @return true, gdy ekran jest gotowy do wyświetlenia.
+     */
+    boolean buildStep() {
+        int textureCount = TILE_TEXTURE_NAMES.length;
+        if (buildPhase < textureCount) {
+            if (tileTextureRequests == null) {
+                requestTileTextures();
+            }
+            if (!tileTextureRequests[buildPhase].isDone()) {
+                return false;
+            }
+            collectTileTexture(buildPhase);
+        } else if (buildPhase == textureCount) {
+            populateTileLookup();
+        } else if (buildPhase == textureCount + 1) {
+            createLoadedPlayer(pendingLoadedData);
+            pendingLoadedData = null;
+        }
+        if (buildPhase < BUILD_STEPS) {
+            buildPhase++;
+        }
+        return buildPhase == BUILD_STEPS;
+    }
+
+    /**
+     * @return Postęp budowy ekranu 0-1.
+     */
+    float getBuildProgress() {
+        return buildPhase / (float) BUILD_STEPS;
+    }
+
+    private void createLoadedPlayer(GameData loadedGameData) {
         Vector2 playerStartPos = new Vector2(mapWidthTiles * TILE_SIZE / 2f, mapHeightTiles * TILE_SIZE / 2f); // Domyślna pozycja
-        // if (loadedGameData != null && loadedGameData.getPlayerData() != null) {
-        //     this.player = new Player(new Vector2(0,0)); // Tymczasowa pozycja, zostanie nadpisana
-        //     this.player.fromJson(loadedGameData.getPlayerData()); // Załóżmy, że GameData ma getPlayerData()
-        //     playerStartPos.set(player.getPosition());
-        //     log.info("Player loaded from save data at: " + player.getPosition());
-        // } else {
-        this.player = new Player(playerStartPos);
-        log.info("Player initialized at: " + playerStartPos + " (no save data for player or new game).");
-        // }
+        this.player = new Player(playerStartPos, game.getTextureCache());
+        if (loadedGameData != null && loadedGameData.getPlayerState() != null) {
+            player.applyState(loadedGameData.getPlayerState());
+            log.info("Player loaded from save data at: " + player.getPosition());
+        } else {
+            log.info("Player initialized at: " + playerStartPos + " (no save data for player or new game).");
+        }
+        startSaveSession();
+
+        worldCamera.position.set(player.getPosition().x, player.getPosition().y, 0);
+        worldCamera.update();
+    }
+
+    /**
+     * Ekran gry dla świata w plikach regionów. Otwarcie nie zależy od rozmiaru mapy: kafelki są czytane
+     * ze zmapowanych plików dopiero przy rysowaniu widocznego fragmentu.
+     */
+    public GameScreen(final MyGame game, RegionWorld regionWorld) {
+        super(game);
+        log.debug("GameScreen constructor called for REGION WORLD.");
+
+        this.regionWorld = regionWorld;
+        this.mapWidthTiles = regionWorld.getMapWidthTiles();
+        this.mapHeightTiles = regionWorld.getMapHeightTiles();
+        this.tiledMapSource = null;
+        log.info("Opened region world with dimensions: " + mapWidthTiles + "x" + mapHeightTiles);
+
+        loadIndividualTileTextures();
+        worldCamera = new OrthographicCamera();
+        worldViewport = new FitViewport(REGION_VIEW_WIDTH_TILES * TILE_SIZE, REGION_VIEW_HEIGHT_TILES * TILE_SIZE, worldCamera);
+        worldViewport.apply(true);
 
+        populateTileLookup();
+
+        this.skin = game.getSkin();
+        this.saveSystem = game.getGameSaveSystem();
+
+        Vector2 playerStartPos = new Vector2(mapWidthTiles * TILE_SIZE / 2f, mapHeightTiles * TILE_SIZE / 2f);
+        this.player = new Player(playerStartPos, game.getTextureCache());
+        if (regionWorld.getPlayerState() != null) {
+            player.applyState(regionWorld.getPlayerState());
+            log.info("Player loaded from region world at: " + player.getPosition());
+        }
+        regionWorld.attachPlayer(player); // Bez dziennika - zmienione chunki zapisuje saveSystem.update(delta, regionWorld)
 
         isPaused = false;
         paintModeActive = false;
@@ -155,6 +282,15 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
         worldCamera.update();
     }
 
+    /**
+     * Łączy świat i gracza w stan "na żywo" dla zapisów i rozpoczyna dziennik autozapisu.
+     */
+    private void startSaveSession() {
+        liveGameState = new GameData(worldGridData, mapWidthTiles, mapHeightTiles);
+        liveGameState.attachPlayer(player);
+        saveSystem.startJournal(liveGameState);
+    }
+
     private void initializeWorldGridFromTiledMap() {
         if (tiledMapSource == null) {
             log.error("CRITICAL: TiledMap source is null. Cannot initialize world grid from Tiled map. Using default empty map.");
@@ -216,25 +352,29 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
 
     private void loadIndividualTileTextures() {
         individualTileTextures = new ObjectMap<>();
-        String basePath = "assets/tiles/"; // Upewnij się, że ta ścieżka jest poprawna
+        requestTileTextures();
+        for (int i = 0; i < TILE_TEXTURE_NAMES.length; i++) {
+            game.getTextureCache().finish(tileTextureRequests[i]); // Pozostałe dekodują się w tym czasie równolegle
+            collectTileTexture(i);
+        }
+    }
 
-        String[] tileNames = {
-            "grass_gggg.png", "grass_dggg.png", "grass_gdgg.png", "grass_ggdg.png", "grass_gggd.png",
-            "grass_ddgg.png", "grass_ggdd.png", "grass_dgdg.png", "grass_gddg.png",
-            "grass_dg_gd.png", "grass_gd_dg.png",
-            "grass_dddg.png", "grass_ddgd.png", "grass_dgdd.png", "grass_gddd.png",
-            "grass_dddd.png",
-            "dirt_base.png"
-        };
+    private void requestTileTextures() {
+        String basePath = "assets/tiles/"; // Upewnij się, że ta ścieżka jest poprawna
+        tileTextureRequests = new TextureRequest[TILE_TEXTURE_NAMES.length];
+        for (int i = 0; i < TILE_TEXTURE_NAMES.length; i++) {
+            tileTextureRequests[i] = game.getTextureCache().acquire(Gdx.files.internal(basePath + TILE_TEXTURE_NAMES[i]));
+        }
+    }
 
-        for (String name : tileNames) {
-            try {
-                Texture texture = new Texture(Gdx.files.internal(basePath + name));
-                individualTileTextures.put(name.replace(".png", ""), new TextureRegion(texture));
-                log.debug("Loaded individual tile: " + name);
-            } catch (Exception e) {
-                log.error("Failed to load individual tile: " + basePath + name, e);
-            }
+    private void collectTileTexture(int index) {
+        String name = TILE_TEXTURE_NAMES[index];
+        Texture texture = tileTextureRequests[index].getTexture();
+        if (texture != null) {
+            individualTileTextures.put(name.replace(".png", ""), new TextureRegion(texture));
+            log.debug("Loaded individual tile: " + name);
+        } else {
+            log.error("Failed to load individual tile: " + tileTextureRequests[index].getFile().path(), tileTextureRequests[index].getError());
         }
     }
 
@@ -303,17 +443,23 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
 
         batch.begin();
 
-        // Renderowanie mapy (kafelków)
-        for (int x = 0; x < mapWidthTiles; x++) {
-            for (int y = 0; y < mapHeightTiles; y++) {
+        // Renderowanie mapy (kafelków) - tylko zakres widziany przez kamerę
+        float camHalfWidth = worldCamera.viewportWidth * worldCamera.zoom / 2;
+        float camHalfHeight = worldCamera.viewportHeight * worldCamera.zoom / 2;
+        int firstX = Math.max(0, (int) Math.floor((worldCamera.position.x - camHalfWidth) / TILE_SIZE));
+        int firstY = Math.max(0, (int) Math.floor((worldCamera.position.y - camHalfHeight) / TILE_SIZE));
+        int lastX = Math.min(mapWidthTiles - 1, (int) Math.floor((worldCamera.position.x + camHalfWidth) / TILE_SIZE));
+        int lastY = Math.min(mapHeightTiles - 1, (int) Math.floor((worldCamera.position.y + camHalfHeight) / TILE_SIZE));
+        for (int x = firstX; x <= lastX; x++) {
+            for (int y = firstY; y <= lastY; y++) {
                 TextureRegion baseTile = tileLookupMap.get(new NeighborCombination(TileType.DIRT, TileType.DIRT, TileType.DIRT, TileType.DIRT, TileType.DIRT));
                 if (baseTile != null) {
                     batch.draw(baseTile, x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE);
                 }
             }
         }
-        for (int dx = 0; dx <= mapWidthTiles; dx++) {
-            for (int dy = 0; dy <= mapHeightTiles; dy++) {
+        for (int dx = Math.max(0, firstX - 1); dx <= Math.min(mapWidthTiles, lastX + 1); dx++) {
+            for (int dy = Math.max(0, firstY - 1); dy <= Math.min(mapHeightTiles, lastY + 1); dy++) {
                 TileType bl = getTileTypeForDualGrid(dx, dy);
                 TileType br = getTileTypeForDualGrid(dx + 1, dy);
                 TileType tl = getTileTypeForDualGrid(dx, dy + 1);
@@ -357,10 +503,36 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
             Gdx.gl.glDisable(GL20.GL_BLEND);
         }
 
+        if (savingIndicator != null) {
+            boolean saving = saveSystem.isSaveInProgress();
+            if (saving && !savingIndicator.isVisible()) {
+                savingIndicator.getParent().toFront(); // Nad menu pauzy i dialogami
+            }
+            savingIndicator.setVisible(saving);
+        }
+
+        if (textureStatsVisible && textureStatsLabel != null) {
+            updateTextureStats();
+        }
+
+        if (regionWorld != null) {
+            saveSystem.update(delta, regionWorld); // Autozapis: zmienione chunki do ich sektorów
+        } else {
+            saveSystem.update(delta, liveGameState); // Autozapis: dopisanie zmian do dziennika
+        }
+
         stage.act(delta);
         stage.draw();
     }
 
+    private void updateTextureStats() {
+        TextureCache cache = game.getTextureCache();
+        textureStatsLabel.setText(String.format(Locale.ROOT,
+            "VRAM %.1f / %.1f MB | textures %d on GPU / %d cached | evictions %d",
+            cache.getResidentBytes() / (1024f * 1024f), cache.getBudgetBytes() / (1024f * 1024f),
+            cache.getResidentCount(), cache.size(), cache.getEvictionCount()));
+    }
+
     private void updateCamera() {
         if (player != null) {
             // Kamera płynnie podąża za graczem
@@ -384,7 +556,7 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
 
     private TileType getTileTypeForDualGrid(int x, int y) {
         if (x >= 0 && x < mapWidthTiles && y >= 0 && y < mapHeightTiles) {
-            return worldGridData[x][y];
+            return regionWorld != null ? regionWorld.getTile(x, y) : worldGridData[x][y];
         }
         return TileType.DIRT; // Domyślny typ poza granicami dla dual grid
     }
@@ -395,8 +567,14 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
         int tileY = (int) Math.floor(worldCoords.y / TILE_SIZE);
 
         if (tileX >= 0 && tileX < mapWidthTiles && tileY >= 0 && tileY < mapHeightTiles) {
-            if (worldGridData[tileX][tileY] != targetType) {
-                worldGridData[tileX][tileY] = targetType;
+            if (regionWorld != null) {
+                if (regionWorld.getTile(tileX, tileY) != targetType) {
+                    regionWorld.setTile(tileX, tileY, targetType);
+                    log.info("Changed tile " + tileX + "," + tileY + " to " + targetType);
+                }
+            } else if (worldGridData[tileX][tileY] != targetType) {
+                liveGameState.setTile(tileX, tileY, targetType); // Ta sama siatka; kolumna z migawki zapisu jest kopiowana
+                saveSystem.recordTileEdit(tileX, tileY, targetType);
                 log.info("Changed tile " + tileX + "," + tileY + " to " + targetType);
             }
         }
@@ -410,6 +588,11 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
             togglePause();
             return true;
         }
+        if (keycode == Input.Keys.F3) {
+            textureStatsVisible = !textureStatsVisible;
+            if (textureStatsLabel != null) textureStatsLabel.setVisible(textureStatsVisible);
+            return true;
+        }
         if (isPaused) return false; // Nie przetwarzaj innych klawiszy, gdy gra jest zapauzowana
 
         if (keycode == Input.Keys.T) {
@@ -494,20 +677,30 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
     @Override
     public void dispose() {
         log.debug("Disposing GameScreen...");
+        saveSystem.stopJournal(liveGameState); // Dopisz ostatnie edycje do dziennika autozapisu
+        if (regionWorld != null) {
+            try {
+                regionWorld.close(); // Zapisuje zmienione chunki i zamyka pliki regionów
+            } catch (IOException e) {
+                log.error("Failed to close region world: " + regionWorld.getDirectory().path(), e);
+            }
+        }
         if (tiledMapSource != null) {
             tiledMapSource.dispose();
         }
-        for (TextureRegion region : individualTileTextures.values()) {
-            if (region != null && region.getTexture() != null) { // Sprawdzenie nulla dla regionu
-                region.getTexture().dispose();
+        if (tileTextureRequests != null) {
+            // Przez zlecenia, nie przez mapę - ekran porzucony w trakcie budowy ma też tekstury jeszcze nieodebrane.
+            // Tekstury zostają w TextureCache według jego polityki - kolejny GameScreen (np. po wczytaniu zapisu) użyje ich ponownie
+            for (TextureRequest request : tileTextureRequests) {
+                if (request != null) game.getTextureCache().release(request);
             }
+            tileTextureRequests = null;
         }
         individualTileTextures.clear();
-        log.debug("Individual tile textures disposed.");
+        log.debug("Individual tile textures released.");
 
         if (player != null) {
-            // Jeśli Player ma zasoby do zwolnienia (np. tekstury ładowane tylko przez niego)
-            // player.dispose();
+            player.dispose(); // Oddaje odwołania do arkuszy animacji
         }
 
         if (pauseTable != null) {
@@ -522,6 +715,25 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
         log.debug("Rebuilding GameScreen UI (pause menu)...");
         stage.clear(); // Wyczyść stary stage
         createPauseMenu(); // Stwórz menu pauzy
+
+        savingIndicator = new Label(game.getI18nBundle().get("save_in_progress"), game.getSkin(), "default-label");
+        savingIndicator.setVisible(false);
+        Table indicatorTable = new Table();
+        indicatorTable.setFillParent(true);
+        indicatorTable.top().right().pad(10);
+        indicatorTable.add(savingIndicator);
+        indicatorTable.setTouchable(Touchable.disabled);
+        stage.addActor(indicatorTable);
+
+        textureStatsLabel = new Label("", game.getSkin(), "default-label");
+        textureStatsLabel.setFontScale(0.5f);
+        textureStatsLabel.setVisible(textureStatsVisible);
+        Table statsTable = new Table();
+        statsTable.setFillParent(true);
+        statsTable.top().left().pad(10);
+        statsTable.add(textureStatsLabel);
+        statsTable.setTouchable(Touchable.disabled);
+        stage.addActor(statsTable);
         if (isPaused && pauseTable != null) { // Dodaj menu pauzy tylko jeśli gra jest zapauzowana
             stage.addActor(pauseTable);
         }
@@ -566,9 +778,25 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
         saveButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
+                if (regionWorld != null) {
+                    // Świat regionów jest swoim własnym zapisem - zapisujemy tylko zmienione chunki
+                    log.info("Save Game button clicked. Saving region world.");
+                    saveSystem.saveRegionWorld(regionWorld, new GameSaveSystem.SaveListener() {
+                        @Override
+                        public void onSaveComplete(String fileName) {
+                            showTemporaryMessageWithUnpause(bundle.get("save_success") + " " + fileName, "save_success_title");
+                        }
+
+                        @Override
+                        public void onSaveFailed(String fileName, Exception error) {
+                            showErrorDialog(bundle.get("save_error") + " " + error.getMessage());
+                        }
+                    });
+                    return;
+                }
                 log.info("Save Game button clicked. Showing SaveGameDialog.");
                 // TODO: Zaktualizuj GameData o stan gracza
-                GameData currentData = new GameData(worldGridData, mapWidthTiles, mapHeightTiles /*, player.toJson() */);
+                GameData currentData = liveGameState; // Migawka robiona jest przy samym zapisie
                 SaveGameDialog saveDialog = new SaveGameDialog(game, saveSystem, currentData, new SaveGameDialog.SaveGameCallback() {
                     @Override
                     public void onSaveSuccess(String message) {
@@ -601,14 +829,9 @@ public class GameScreen extends BaseScreen implements Disposable, InputProcessor
                 log.info("Load Game button clicked. Showing LoadGameDialog.");
                 LoadGameDialog loadDialog = new LoadGameDialog(game, saveSystem, new LoadGameDialog.LoadGameCallback() {
                     @Override
-                    public void onLoad(GameData loadedGameData) {
-                        if (loadedGameData != null) {
-                            log.info("Game loaded successfully. Replacing current GameScreen.");
-                            game.setScreen(new GameScreen(game, loadedGameData)); // Przekaż wczytane dane
-                        } else {
-                            log.error("Failed to load game: loadedData is null.");
-                            showErrorDialog(bundle.get("save_load_error_generic"));
-                        }
+                    public void onLoadStarted(GameLoadTask loadTask) {
+                        log.info("Loading game in background. Switching to GameLoadingScreen.");
+                        game.setScreen(new GameLoadingScreen(game, loadTask));
                     }
 
                     @Override
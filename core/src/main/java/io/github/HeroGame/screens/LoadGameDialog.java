@@ -1,30 +1,39 @@
 package io.github.HeroGame.screens;
 
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.I18NBundle;
 import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.Scaling;
 import io.github.HeroGame.MyGame;
-import io.github.HeroGame.save.GameData;
+import io.github.HeroGame.save.GameLoadTask;
 import io.github.HeroGame.save.GameSaveSystem;
+import io.github.HeroGame.save.SaveMetadata;
 
 public class LoadGameDialog extends Dialog {
     private final MyGame game;
     private final GameSaveSystem gameSaveSystem;
     private final LoadGameCallback callback;
     private final Logger log = new Logger(LoadGameDialog.class.getSimpleName(), Logger.DEBUG);
+    private static final float THUMBNAIL_WIDTH = 240f;
+    private static final float THUMBNAIL_HEIGHT = 180f;
 
-    private List<FileHandle> saveFileList;
+    private List<SaveMetadata> saveFileList;
+    private Image thumbnailImage; // Miniatura zaznaczonego zapisu, ładowana leniwie przez SaveThumbnailCache
     private TextButton loadButton;
+    private TextButton regionWorldButton;
     private TextButton deleteButton;
 
     public interface LoadGameCallback {
-        void onLoad(GameData loadedGameData);
+        /**
+         * Zapis jest wczytywany w tle - zwykle wystarczy przejść do {@link GameLoadingScreen} z tym zadaniem.
+         */
+        void onLoadStarted(GameLoadTask loadTask);
         void onBack();
         void onError(String message);
     }
@@ -55,26 +64,34 @@ public class LoadGameDialog extends Dialog {
         saveFileList.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                FileHandle selected = saveFileList.getSelected();
+                SaveMetadata selected = saveFileList.getSelected();
                 loadButton.setDisabled(selected == null);
-                deleteButton.setDisabled(selected == null || GameSaveSystem.isAutosave(selected));
+                regionWorldButton.setDisabled(selected == null || selected.isAutosave()); // Autozapis nadpisuje się co kilka minut
+                deleteButton.setDisabled(selected == null || selected.isAutosave());
+                showThumbnail(selected);
             }
         });
 
         ScrollPane scrollPane = new ScrollPane(saveFileList, skin, "default-scrollpane");
         scrollPane.setFadeScrollBars(false);
         scrollPane.setScrollingDisabled(true, false);
-        contentTable.add(scrollPane).colspan(3).grow().height(200).padBottom(20).row();
+        thumbnailImage = new Image();
+        thumbnailImage.setScaling(Scaling.fit);
+        contentTable.add(scrollPane).colspan(2).grow().height(200).padBottom(20);
+        contentTable.add(thumbnailImage).size(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT).padLeft(20).padBottom(20).row();
 
         loadButton = new TextButton(bundle.get("load"), skin, "default");
+        regionWorldButton = new TextButton(bundle.get("open_region_world"), skin, "default");
         deleteButton = new TextButton(bundle.get("delete"), skin, "default");
         TextButton backButton = new TextButton(bundle.get("back"), skin, "default");
 
         loadButton.setDisabled(true);
+        regionWorldButton.setDisabled(true);
         deleteButton.setDisabled(true);
 
         Table buttonTable = new Table(skin);
         buttonTable.add(loadButton).width(150).pad(5);
+        buttonTable.add(regionWorldButton).width(200).pad(5);
         buttonTable.add(deleteButton).width(150).pad(5);
         buttonTable.add(backButton).width(150).pad(5).row();
         contentTable.add(buttonTable).colspan(3).center().padTop(20).row();
@@ -82,15 +99,25 @@ public class LoadGameDialog extends Dialog {
         loadButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                FileHandle selected = saveFileList.getSelected();
+                SaveMetadata selected = saveFileList.getSelected();
                 if (selected != null) {
-                    GameData loadedData = gameSaveSystem.loadGame(selected.name());
-                    if (loadedData != null) {
-                        callback.onLoad(loadedData);
-                        hide();
-                    } else {
-                        callback.onError(bundle.get("save_load_error_generic"));
-                    }
+                    // Odczyt w tle - błąd odczytu pokazuje GameLoadingScreen
+                    GameLoadTask loadTask = gameSaveSystem.loadGameAsync(selected.getFileName());
+                    hide();
+                    callback.onLoadStarted(loadTask);
+                }
+            }
+        });
+
+        regionWorldButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                SaveMetadata selected = saveFileList.getSelected();
+                if (selected != null && !selected.isAutosave()) {
+                    // W tle jak zwykłe wczytanie - pierwsze otwarcie konwertuje zapis, kolejne czytają tylko plik meta
+                    GameLoadTask loadTask = gameSaveSystem.loadRegionWorldAsync(selected.getFileName());
+                    hide();
+                    callback.onLoadStarted(loadTask);
                 }
             }
         });
@@ -98,9 +125,9 @@ public class LoadGameDialog extends Dialog {
         deleteButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                FileHandle selected = saveFileList.getSelected();
+                SaveMetadata selected = saveFileList.getSelected();
                 if (selected != null) {
-                    if (GameSaveSystem.isAutosave(selected)) {
+                    if (selected.isAutosave()) {
                         callback.onError(bundle.get("autosave_cannot_delete"));
                         return;
                     }
@@ -109,8 +136,8 @@ public class LoadGameDialog extends Dialog {
                         @Override
                         protected void result(Object object) {
                             if (object != null && (Boolean) object) {
-                                if (gameSaveSystem.deleteSaveFile(selected.name())) {
-                                    log.info("Successfully deleted: " + selected.name());
+                                if (gameSaveSystem.deleteSaveFile(selected.getFileName())) {
+                                    log.info("Successfully deleted: " + selected.getFileName());
                                     updateSaveList();
                                     callback.onError(bundle.get("save_deleted_success"));
                                 } else {
@@ -119,7 +146,7 @@ public class LoadGameDialog extends Dialog {
                             }
                         }
                     };
-                    confirmDialog.text(bundle.get("confirm_delete_text").replace("{fileName}", selected.name()),
+                    confirmDialog.text(bundle.get("confirm_delete_text").replace("{fileName}", selected.getFileName()),
                         defaultLabelStyle);
                     confirmDialog.button(bundle.get("yes"), true, defaultTextButtonStyle);
                     confirmDialog.button(bundle.get("no"), false, defaultTextButtonStyle);
@@ -142,17 +169,33 @@ public class LoadGameDialog extends Dialog {
         setBackground(skin.getDrawable("selectbox_background"));
     }
 
+    private void showThumbnail(SaveMetadata selected) {
+        thumbnailImage.setDrawable(null);
+        if (selected == null) return;
+        game.getSaveThumbnailCache().load(selected.getThumbnailFile(), texture -> {
+            // Wynik może przyjść po zmianie zaznaczenia lub zamknięciu dialogu
+            if (getStage() != null && saveFileList.getSelected() == selected) {
+                thumbnailImage.setDrawable(new TextureRegionDrawable(texture));
+            }
+        });
+    }
+
     private String extractBaseName(String fileName) {
-        return fileName.replaceAll("_[0-9]{8}_[0-9]{4}\\.json$", "");
+        return fileName.replaceAll("_[0-9]{8}_[0-9]{4}\\.(sav|json)$", "");
     }
 
     private void updateSaveList() {
-        Array<FileHandle> allSaveFiles = new Array<>();
-        for (FileHandle file : gameSaveSystem.listSaveFiles()) {
-            allSaveFiles.add(file);
-        }
-        saveFileList.setItems(allSaveFiles);
-        saveFileList.getSelection().clear();
+        saveFileList.clearItems();
         loadButton.setDisabled(true);
+        regionWorldButton.setDisabled(true);
+        // Lista buduje się w tle z nagłówków zapisów; wynik przychodzi na wątku renderującym
+        gameSaveSystem.listSaveMetadataAsync(saves -> {
+            if (getStage() == null) return; // Dialog zamknięty w międzyczasie
+            saveFileList.setItems(saves);
+            saveFileList.getSelection().clear();
+            loadButton.setDisabled(true);
+            regionWorldButton.setDisabled(true);
+            thumbnailImage.setDrawable(null);
+        });
     }
 }
@@ -7,7 +7,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton; // Dodano import dla TextB
 import com.badlogic.gdx.utils.I18NBundle;
 import com.badlogic.gdx.utils.Logger;
 import io.github.HeroGame.MyGame;
-import io.github.HeroGame.save.GameData;
+import io.github.HeroGame.save.GameLoadTask;
 import io.github.HeroGame.save.GameSaveSystem;
 
 public class LoadScreen extends BaseScreen {
@@ -33,14 +33,9 @@ public class LoadScreen extends BaseScreen {
 
         LoadGameDialog dialog = new LoadGameDialog(game, saveSystem, new LoadGameDialog.LoadGameCallback() {
             @Override
-            public void onLoad(GameData loadedGameData) {
-                if (loadedGameData != null) {
-                    log.info("Loaded save from LoadGameDialog, opening GameScreen...");
-                    game.setScreen(new GameScreen(game, loadedGameData));
-                } else {
-                    log.error("Loaded GameData was null, cannot open GameScreen.");
-                    showErrorDialog(game.getI18nBundle().get("save_load_error_generic"));
-                }
+            public void onLoadStarted(GameLoadTask loadTask) {
+                log.info("Loading save from LoadGameDialog, opening GameLoadingScreen...");
+                game.setScreen(new GameLoadingScreen(game, loadTask));
             }
 
             @Override
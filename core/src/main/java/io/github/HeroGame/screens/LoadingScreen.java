@@ -1,11 +1,10 @@
 package io.github.HeroGame.screens;
 
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.I18NBundleLoader;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
-import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.ProgressBar;
@@ -14,6 +13,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.I18NBundle;
 import com.badlogic.gdx.utils.Logger;
 import io.github.HeroGame.MyGame;
+import io.github.HeroGame.assets.UiSkinLoader;
+import io.github.HeroGame.utils.StartupTimer;
 
 import java.util.Locale;
 
@@ -22,7 +23,6 @@ public class LoadingScreen extends BaseScreen {
     private final AssetManager assetManager;
     private final Logger log = new Logger(LoadingScreen.class.getSimpleName(), Logger.DEBUG);
     private boolean assetsLoaded = false;
-    final String POLISH_CHARACTERS = "ąćęłńóśźżĄĆĘŁŃÓŚŹŻ";
     final String ALIAS_EN = "i18n/strings_en_bundle";
     final String ALIAS_PL = "i18n/strings_pl_bundle";
 
@@ -39,23 +39,18 @@ public class LoadingScreen extends BaseScreen {
     @Override
     public void show() {
         log.info("Loading screen shown. Starting asset loading...");
-
-        FreetypeFontLoader.FreeTypeFontLoaderParameter fontParam = new FreetypeFontLoader.FreeTypeFontLoaderParameter();
-        fontParam.fontFileName = MyGame.FONT_ALKHEMIKAL;
-        fontParam.fontParameters.size = 32;
-        fontParam.fontParameters.color = Color.WHITE;
-        fontParam.fontParameters.borderColor = Color.BLACK;
-        fontParam.fontParameters.borderWidth = 1;
-        fontParam.fontParameters.characters = FreeTypeFontGenerator.DEFAULT_CHARS + POLISH_CHARACTERS;
-
-        assetManager.load(MyGame.FONT_ALKHEMIKAL, com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.class);
-        assetManager.load(MyGame.FONT_ALKHEMIKAL_NAME, BitmapFont.class, fontParam);
-
-        log.debug("Loading initial I18NBundle with Locale.ENGLISH and UTF-8 encoding.");
-        I18NBundleLoader.I18NBundleParameter bundleParam = new I18NBundleLoader.I18NBundleParameter(
-            Locale.ENGLISH,
-            "UTF-8"
-        );
+        StartupTimer.begin("loading.assets");
+
+        // Czcionka z pamięci podręcznej (cache/fonts) - FreeType generuje ją tylko przy pierwszym uruchomieniu
+        AssetDescriptor<BitmapFont> font = MyGame.createFontDescriptor();
+        assetManager.load(font);
+        // Skin wypalony do cache/ui - czcionka jest jego zależnością, więc wczyta się po niej
+        assetManager.load(MyGame.SKIN_PATH, Skin.class, new UiSkinLoader.UiSkinParameter(font));
+
+        // Od razu język z ustawień - bez podmiany bundle'a (i przebudowy UI) zaraz po wejściu do menu
+        Locale locale = game.getSettingsManager().getCurrentLocale();
+        log.debug("Loading initial I18NBundle with locale " + locale + " and UTF-8 encoding.");
+        I18NBundleLoader.I18NBundleParameter bundleParam = new I18NBundleLoader.I18NBundleParameter(locale, "UTF-8");
         assetManager.load(MyGame.BUNDLE_PATH, I18NBundle.class, bundleParam);
 
         // USUNIĘTO: assetManager.load(MyGame.DUAL_GRID_TILES_ATLAS, TextureAtlas.class);
@@ -69,6 +64,7 @@ public class LoadingScreen extends BaseScreen {
         if (!assetsLoaded) {
             if (assetManager.update()) {
                 log.info("Assets loaded!");
+                StartupTimer.end("loading.assets");
                 assetsLoaded = true;
                 game.finishLoading();
             } else {
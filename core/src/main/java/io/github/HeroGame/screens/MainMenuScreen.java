@@ -12,7 +12,9 @@ import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.I18NBundle;
 import com.badlogic.gdx.utils.Logger;
 import io.github.HeroGame.MyGame; // Dodano import
-import io.github.HeroGame.save.GameData;
+import io.github.HeroGame.assets.CompressedTextures;
+import io.github.HeroGame.save.GameLoadTask;
+import io.github.HeroGame.utils.StartupTimer;
 
 import java.util.MissingResourceException;
 import java.util.Objects;
@@ -23,6 +25,7 @@ public class MainMenuScreen extends BaseScreen {
     private Table mainTable;
     private Texture backgroundTexture;
     private Texture logoTexture;
+    private boolean firstFrameRendered;
 
     private static final String BG_TEXTURE_PATH = "assets/textures/background.png";
     private static final String LOGO_TEXTURE_PATH = "assets/textures/logo_herogame.png";
@@ -34,19 +37,12 @@ public class MainMenuScreen extends BaseScreen {
 
     private void loadScreenAssets() {
         log.debug("Queueing MainMenuScreen assets...");
-        if (!game.getAssetManager().isLoaded(BG_TEXTURE_PATH)) {
-            game.getAssetManager().load(BG_TEXTURE_PATH, Texture.class);
-            game.getAssetManager().finishLoadingAsset(BG_TEXTURE_PATH);
-            log.debug("Background texture loaded.");
-        }
-        this.backgroundTexture = game.getAssetManager().get(BG_TEXTURE_PATH, Texture.class);
+        // Wariant .ktx2/.basis, jeśli leży obok PNG - mniej VRAM i szybsze wysyłanie dużego tła
+        this.backgroundTexture = CompressedTextures.loadNow(game.getAssetManager(), BG_TEXTURE_PATH);
+        log.debug("Background texture loaded.");
 
-        if (!game.getAssetManager().isLoaded(LOGO_TEXTURE_PATH)) {
-            game.getAssetManager().load(LOGO_TEXTURE_PATH, Texture.class);
-            game.getAssetManager().finishLoadingAsset(LOGO_TEXTURE_PATH);
-            log.debug("Logo texture loaded: " + LOGO_TEXTURE_PATH);
-        }
-        this.logoTexture = game.getAssetManager().get(LOGO_TEXTURE_PATH, Texture.class);
+        this.logoTexture = CompressedTextures.loadNow(game.getAssetManager(), LOGO_TEXTURE_PATH);
+        log.debug("Logo texture loaded: " + LOGO_TEXTURE_PATH);
     }
 
 
@@ -55,6 +51,8 @@ public class MainMenuScreen extends BaseScreen {
         super.show();
         log.debug("MainMenuScreen show called.");
         rebuildUI();
+        StartupTimer.end("menu.init");
+        StartupTimer.begin("menu.firstFrame");
     }
 
     @Override
@@ -119,16 +117,9 @@ public class MainMenuScreen extends BaseScreen {
                 // Wyświetl LoadGameDialog tak samo jak z menu pauzy, ale callback będzie inny
                 LoadGameDialog loadDialog = new LoadGameDialog(game, game.getGameSaveSystem(), new LoadGameDialog.LoadGameCallback() {
                     @Override
-                    public void onLoad(GameData loadedGameData) {
-                        if (loadedGameData != null) {
-                            log.info("Game loaded successfully from Main Menu. Opening GameScreen...");
-                            game.setScreen(new GameScreen(game, loadedGameData)); // Otwórz GameScreen z wczytanymi danymi
-                        } else {
-                            log.error("Failed to load game from Main Menu: loadedData is null.");
-                            showErrorDialog(game.getI18nBundle().get("save_load_error_generic"));
-                            // Pozostań na MainMenuScreen jeśli ładowanie się nie powiodło
-                            rebuildUI(); // Odśwież UI, aby dialog zniknął i główne menu było aktywne
-                        }
+                    public void onLoadStarted(GameLoadTask loadTask) {
+                        log.info("Loading game from Main Menu in background. Switching to GameLoadingScreen...");
+                        game.setScreen(new GameLoadingScreen(game, loadTask));
                     }
 
                     @Override
@@ -208,6 +199,12 @@ public class MainMenuScreen extends BaseScreen {
     @Override
     public void render(float delta) {
         super.render(delta);
+        if (!firstFrameRendered) {
+            firstFrameRendered = true;
+            // Pierwsza klatka menu kończy pomiar uruchomienia (kolejne wejścia do menu nic już nie zmieniają)
+            StartupTimer.end("menu.firstFrame");
+            StartupTimer.finish();
+        }
     }
 
     @Override
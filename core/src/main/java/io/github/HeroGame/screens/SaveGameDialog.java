@@ -1,7 +1,6 @@
 package io.github.HeroGame.screens;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
@@ -14,6 +13,7 @@ import com.badlogic.gdx.utils.Logger;
 import io.github.HeroGame.MyGame;
 import io.github.HeroGame.save.GameData;
 import io.github.HeroGame.save.GameSaveSystem;
+import io.github.HeroGame.save.SaveMetadata;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -25,8 +25,8 @@ public class SaveGameDialog extends Dialog {
     private final GameData currentGameState;
     private final Logger log = new Logger(SaveGameDialog.class.getSimpleName(), Logger.DEBUG);
 
-    private List<FileHandle> saveFileList;
-    private Array<FileHandle> userSaveFiles;
+    private List<SaveMetadata> saveFileList;
+    private Array<SaveMetadata> userSaveFiles;
     private TextField saveNameField;
     private TextButton saveButton;
     private TextButton deleteButton;
@@ -64,11 +64,11 @@ public class SaveGameDialog extends Dialog {
         saveFileList.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                FileHandle selected = saveFileList.getSelected();
+                SaveMetadata selected = saveFileList.getSelected();
                 if (selected != null) {
-                    String nameWithoutTimestamp = extractBaseName(selected.name());
+                    String nameWithoutTimestamp = extractBaseName(selected.getFileName());
                     saveNameField.setText(nameWithoutTimestamp);
-                    deleteButton.setDisabled(GameSaveSystem.isAutosave(selected));
+                    deleteButton.setDisabled(selected.isAutosave());
                 } else {
                     saveNameField.setText("");
                     deleteButton.setDisabled(true);
@@ -107,22 +107,22 @@ public class SaveGameDialog extends Dialog {
                     return;
                 }
 
-                FileHandle selectedFile = saveFileList.getSelected();
+                SaveMetadata selectedFile = saveFileList.getSelected();
                 final String finalTargetFileName;
                 boolean isOverwrite = false;
 
                 if (selectedFile != null) {
-                    String selectedFileBaseName = extractBaseName(selectedFile.name());
+                    String selectedFileBaseName = extractBaseName(selectedFile.getFileName());
                     if (enteredName.equalsIgnoreCase(selectedFileBaseName)) {
-                        finalTargetFileName = selectedFile.name();
+                        finalTargetFileName = selectedFile.getFileName(); // Stary zapis .json zostanie zastąpiony plikiem .sav
                         isOverwrite = true;
                     } else {
                         String timestamp = new SimpleDateFormat("yyyyMMdd_HHmm").format(new Date());
-                        finalTargetFileName = enteredName + "_" + timestamp + ".json";
+                        finalTargetFileName = enteredName + "_" + timestamp + GameSaveSystem.SAVE_EXTENSION;
                     }
                 } else {
                     String timestamp = new SimpleDateFormat("yyyyMMdd_HHmm").format(new Date());
-                    finalTargetFileName = enteredName + "_" + timestamp + ".json";
+                    finalTargetFileName = enteredName + "_" + timestamp + GameSaveSystem.SAVE_EXTENSION;
                 }
 
                 if (isOverwrite) {
@@ -141,7 +141,7 @@ public class SaveGameDialog extends Dialog {
 
                     // Treść dialogu:
                     Table confirmTable = new Table(skin);
-                    Label confirmLabel = new Label(bundle.get("confirm_overwrite_text").replace("{fileName}", selectedFile.name()), defaultLabelStyle);
+                    Label confirmLabel = new Label(bundle.get("confirm_overwrite_text").replace("{fileName}", selectedFile.getFileName()), defaultLabelStyle);
                     confirmLabel.setWrap(true);
                     confirmLabel.setAlignment(Align.center);
                     confirmTable.add(confirmLabel).width(540).pad(12).center();
@@ -166,9 +166,9 @@ public class SaveGameDialog extends Dialog {
         deleteButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                FileHandle selected = saveFileList.getSelected();
+                SaveMetadata selected = saveFileList.getSelected();
                 if (selected != null) {
-                    if (GameSaveSystem.isAutosave(selected)) {
+                    if (selected.isAutosave()) {
                         callback.onError(bundle.get("autosave_cannot_delete"));
                         return;
                     }
@@ -177,8 +177,8 @@ public class SaveGameDialog extends Dialog {
                         @Override
                         protected void result(Object object) {
                             if (object != null && (Boolean) object) {
-                                if (gameSaveSystem.deleteSaveFile(selected.name())) {
-                                    log.info("Successfully deleted: " + selected.name());
+                                if (gameSaveSystem.deleteSaveFile(selected.getFileName())) {
+                                    log.info("Successfully deleted: " + selected.getFileName());
                                     updateSaveList();
                                     callback.onSaveSuccess(bundle.get("save_deleted_success"));
                                 } else {
@@ -188,7 +188,7 @@ public class SaveGameDialog extends Dialog {
                         }
                     };
                     Table confirmTable = new Table(skin);
-                    Label confirmLabel = new Label(bundle.get("confirm_delete_text").replace("{fileName}", selected.name()), defaultLabelStyle);
+                    Label confirmLabel = new Label(bundle.get("confirm_delete_text").replace("{fileName}", selected.getFileName()), defaultLabelStyle);
                     confirmLabel.setWrap(true);
                     confirmLabel.setAlignment(Align.center);
                     confirmTable.add(confirmLabel).width(540).pad(12).center();
@@ -221,32 +221,43 @@ public class SaveGameDialog extends Dialog {
     }
 
     private String extractBaseName(String fileName) {
-        return fileName.replaceAll("_[0-9]{8}_[0-9]{4}\\.json$", "");
+        return fileName.replaceAll("_[0-9]{8}_[0-9]{4}\\.(sav|json)$", "");
     }
 
     private void updateSaveList() {
-        userSaveFiles = new Array<>();
-        for (FileHandle file : gameSaveSystem.listSaveFiles()) {
-            if (!GameSaveSystem.isAutosave(file)) {
-                userSaveFiles.add(file);
-            }
-        }
-        saveFileList.setItems(userSaveFiles);
-        saveFileList.getSelection().clear();
+        saveFileList.clearItems();
         saveNameField.setText("");
         deleteButton.setDisabled(true);
+        // Lista buduje się w tle z nagłówków zapisów; wynik przychodzi na wątku renderującym
+        gameSaveSystem.listSaveMetadataAsync(saves -> {
+            if (getStage() == null) return; // Dialog zamknięty w międzyczasie
+            userSaveFiles = new Array<>();
+            for (SaveMetadata save : saves) {
+                if (!save.isAutosave()) {
+                    userSaveFiles.add(save);
+                }
+            }
+            saveFileList.setItems(userSaveFiles);
+            saveFileList.getSelection().clear();
+        });
     }
 
 
     private void performSave(String fileName) {
-        try {
-            gameSaveSystem.saveGame(fileName, currentGameState);
-            log.info("Game saved as: " + fileName);
-            callback.onSaveSuccess(game.getI18nBundle().get("save_success") + fileName);
-            hide();
-        } catch (Exception e) {
-            log.error("Error saving game: " + e.getMessage(), e);
-            callback.onError(game.getI18nBundle().get("save_error") + e.getMessage());
-        }
+        // Migawka stanu powstaje tutaj, na wątku GL; zapis na dysk idzie w tle i nie blokuje klatki
+        gameSaveSystem.saveGameAsync(fileName, currentGameState, new GameSaveSystem.SaveListener() {
+            @Override
+            public void onSaveComplete(String savedFileName) {
+                log.info("Game saved as: " + savedFileName);
+                callback.onSaveSuccess(game.getI18nBundle().get("save_success") + savedFileName);
+            }
+
+            @Override
+            public void onSaveFailed(String savedFileName, Exception error) {
+                log.error("Error saving game: " + error.getMessage(), error);
+                callback.onError(game.getI18nBundle().get("save_error") + error.getMessage());
+            }
+        });
+        hide();
     }
 }
@@ -0,0 +1,84 @@
+package io.github.HeroGame.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Pamięć podręczna tekstur miniatur zapisów (LRU) dla {@link LoadGameDialog}.
+ * <p>
+ * PNG jest dekodowany do {@link Pixmap} w tle; na wątku GL powstaje tylko tekstura. Najdawniej używane
+ * tekstury są zwalniane po przekroczeniu {@link #CAPACITY}, więc przeglądanie wielu zapisów ma stały koszt pamięci.
+ * Wpis jest kluczowany ścieżką i datą modyfikacji - nadpisany zapis dostaje nową miniaturę.
+ * Wszystkie metody wywoływane są na wątku GL.
+ */
+public class SaveThumbnailCache implements Disposable {
+    static final int CAPACITY = 16;
+
+    private final Logger log = new Logger(SaveThumbnailCache.class.getSimpleName(), Logger.DEBUG);
+    private final LinkedHashMap<String, Texture> textures = new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Texture> eldest) {
+            if (size() > CAPACITY) {
+                eldest.getValue().dispose();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final ObjectSet<String> pending = new ObjectSet<>();
+    private boolean disposed;
+
+    /**
+     * Przekazuje teksturę miniatury do {@code onLoaded} - od razu, jeśli jest w pamięci, albo po zdekodowaniu w tle.
+     * Dla pliku, którego nie ma lub którego nie da się zdekodować, {@code onLoaded} nie jest wywoływane.
+     */
+    public void load(FileHandle thumbnailFile, Consumer<Texture> onLoaded) {
+        if (disposed || !thumbnailFile.exists()) return;
+        String key = thumbnailFile.path() + '@' + thumbnailFile.lastModified();
+        Texture cached = textures.get(key);
+        if (cached != null) {
+            onLoaded.accept(cached);
+            return;
+        }
+        if (!pending.add(key)) return; // Dekodowanie już trwa - wynik trafi do pamięci i do kolejnego load()
+        Thread.ofVirtual().name("HeroGame-thumbnail").start(() -> {
+            Pixmap pixmap;
+            try {
+                pixmap = new Pixmap(thumbnailFile);
+            } catch (Exception e) {
+                log.error("Failed to decode save thumbnail: " + thumbnailFile.path(), e);
+                Gdx.app.postRunnable(() -> pending.remove(key));
+                return;
+            }
+            Gdx.app.postRunnable(() -> {
+                pending.remove(key);
+                if (disposed) {
+                    pixmap.dispose();
+                    return;
+                }
+                Texture texture = new Texture(pixmap);
+                pixmap.dispose();
+                textures.put(key, texture);
+                onLoaded.accept(texture);
+            });
+        });
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        for (Texture texture : textures.values()) {
+            texture.dispose();
+        }
+        textures.clear();
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.HeroGame.utils;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Replacing a file with a fully written temporary file in one step.
+ * <p>
+ * {@link FileHandle#moveTo(FileHandle)} copies and deletes for {@code Local} files, so a crash during the copy
+ * leaves a truncated target. Here the temporary file is renamed over the target ({@code ATOMIC_MOVE}): readers
+ * and a crash see either the old or the new file, never a mix.
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Moves {@code source} over {@code target}, atomically where the file system supports it. Only when it does
+     * not ({@link AtomicMoveNotSupportedException}) falls back to a plain replacing move.
+     *
+     * @throws GdxRuntimeException when the move fails; {@code source} is left in place
+     */
+    public static void replace(FileHandle source, FileHandle target) {
+        Path from = source.file().toPath();
+        Path to = target.file().toPath();
+        try {
+            try {
+                Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to replace " + target.path() + " with " + source.path(), e);
+        }
+    }
+}
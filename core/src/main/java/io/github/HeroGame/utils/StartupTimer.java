@@ -0,0 +1,193 @@
+package io.github.HeroGame.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Named startup phases with {@link System#nanoTime()} timestamps, from the launcher up to the first frame
+ * of the main menu.
+ * <p>
+ * Timestamps are nanoseconds since JVM start when the launcher reports it via {@link #recordJvmStartup(long)},
+ * otherwise since this class was initialized. Phases may overlap (e.g. backend initialization spans the
+ * launcher and {@code MyGame.create()}). {@link #finish()} logs a table and writes the report as JSON to
+ * {@link #REPORT_FILE}, and appends it as one line to {@link #HISTORY_FILE} so launches can be compared.
+ * <p>
+ * Phase calls are cheap and safe before {@code Gdx.app} exists; nothing is logged until {@link #finish()}.
+ */
+public final class StartupTimer {
+    public static final String REPORT_FILE = "startup/report.json";
+    public static final String HISTORY_FILE = "startup/history.jsonl";
+    private static final int REPORT_VERSION = 1;
+
+    private static final Logger log = new Logger(StartupTimer.class.getSimpleName(), Logger.DEBUG);
+
+    private static final OrderedMap<String, long[]> phases = new OrderedMap<>(); // name -> {start, end}, end 0 while open
+    private static final OrderedMap<String, String> attributes = new OrderedMap<>();
+    private static long origin = System.nanoTime();
+    private static boolean finished;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Moves the origin back to JVM start and records the time before {@code main()} as the {@code jvm} phase.
+     * Call first thing in the launcher.
+     *
+     * @param uptimeMillis JVM uptime, e.g. {@code ManagementFactory.getRuntimeMXBean().getUptime()}
+     */
+    public static synchronized void recordJvmStartup(long uptimeMillis) {
+        long now = System.nanoTime();
+        origin = now - uptimeMillis * 1_000_000L;
+        phases.put("jvm", new long[]{origin, now});
+    }
+
+    /**
+     * For a JVM started by another launcher JVM (e.g. the CDS launcher mode): moves the origin back to the start
+     * of the parent JVM and records the time until this JVM started as the {@code launcher.relaunch} phase.
+     * Call after {@link #recordJvmStartup(long)}.
+     *
+     * @param parentStartEpochMillis Start time of the parent JVM, {@code RuntimeMXBean.getStartTime()}
+     */
+    public static synchronized void recordParentLaunch(long parentStartEpochMillis) {
+        long sinceParentStart = (System.currentTimeMillis() - parentStartEpochMillis) * 1_000_000L;
+        long parentOrigin = System.nanoTime() - sinceParentStart;
+        if (parentOrigin >= origin) return; // Clocks disagree - keep this JVM's own origin
+        phases.put("launcher.relaunch", new long[]{parentOrigin, origin});
+        origin = parentOrigin;
+    }
+
+    public static synchronized void begin(String phase) {
+        if (finished) return;
+        phases.put(phase, new long[]{System.nanoTime(), 0L});
+    }
+
+    public static synchronized void end(String phase) {
+        if (finished) return;
+        long[] times = phases.get(phase);
+        if (times != null && times[1] == 0L) {
+            times[1] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Adds a key/value pair to the report, e.g. the launcher mode, to tell runs apart when comparing.
+     */
+    public static synchronized void setAttribute(String key, String value) {
+        attributes.put(key, value);
+    }
+
+    public static synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Closes the measurement: logs the phases and writes the report. Only the first call has an effect.
+     * Call on the GL thread once startup is over (first frame of the main menu).
+     */
+    public static void finish() {
+        String report;
+        synchronized (StartupTimer.class) {
+            if (finished) return;
+            finished = true;
+            long end = System.nanoTime();
+            logPhases(end);
+            try {
+                report = toJson(end);
+            } catch (IOException e) {
+                log.error("Failed to build startup report", e);
+                return;
+            }
+        }
+        // Writing is off the GL thread - the menu is already on screen
+        Thread.ofVirtual().name("HeroGame-startup-report").start(() -> writeReport(report));
+    }
+
+    private static void logPhases(long end) {
+        log.info(String.format(Locale.ROOT, "Startup finished in %.1f ms", (end - origin) / 1e6));
+        for (OrderedMap.Entry<String, long[]> phase : phases) {
+            long[] times = phase.value;
+            if (times[1] == 0L) {
+                log.info(String.format(Locale.ROOT, "  %-22s at %9.1f ms, not finished", phase.key, (times[0] - origin) / 1e6));
+            } else {
+                log.info(String.format(Locale.ROOT, "  %-22s at %9.1f ms, took %9.1f ms", phase.key,
+                    (times[0] - origin) / 1e6, (times[1] - times[0]) / 1e6));
+            }
+        }
+    }
+
+    private static String toJson(long end) throws IOException {
+        StringWriter buffer = new StringWriter();
+        JsonWriter out = new JsonWriter(buffer);
+        out.beginObject();
+        out.name("version").value(REPORT_VERSION);
+        out.name("launchedAt").value(Instant.now().minusNanos(end - origin).toString());
+        out.name("totalNanos").value(end - origin);
+        out.name("attributes").beginObject();
+        out.name("java").value(System.getProperty("java.version"));
+        out.name("os").value(System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        for (OrderedMap.Entry<String, String> attribute : attributes) {
+            out.name(attribute.key).value(attribute.value);
+        }
+        out.endObject();
+        out.name("phases").beginArray();
+        for (OrderedMap.Entry<String, long[]> phase : phases) {
+            long[] times = phase.value;
+            out.beginObject();
+            out.name("name").value(phase.key);
+            out.name("startNanos").value(times[0] - origin);
+            if (times[1] != 0L) {
+                out.name("endNanos").value(times[1] - origin);
+                out.name("durationNanos").value(times[1] - times[0]);
+            }
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+        out.close();
+        return buffer.toString();
+    }
+
+    private static void writeReport(String report) {
+        try {
+            FileHandle reportFile = Gdx.files.local(REPORT_FILE);
+            if (reportFile.exists()) {
+                logDelta(reportFile.readString("UTF-8"), report);
+            }
+            reportFile.writeString(report, false, "UTF-8");
+            Gdx.files.local(HISTORY_FILE).writeString(report + "\n", true, "UTF-8");
+            log.debug("Startup report written to " + reportFile.path());
+        } catch (RuntimeException e) {
+            log.error("Failed to write startup report", e);
+        }
+    }
+
+    /**
+     * Logs the difference to the previous launch, with the launcher mode of both runs.
+     */
+    private static void logDelta(String previousReport, String report) {
+        try {
+            JsonObject previous = JsonParser.parseString(previousReport).getAsJsonObject();
+            JsonObject current = JsonParser.parseString(report).getAsJsonObject();
+            long delta = current.get("totalNanos").getAsLong() - previous.get("totalNanos").getAsLong();
+            log.info(String.format(Locale.ROOT, "Startup vs previous launch: %+.1f ms (cds %s -> %s)", delta / 1e6,
+                cdsMode(previous), cdsMode(current)));
+        } catch (RuntimeException e) {
+            log.debug("Previous startup report unreadable: " + e.getMessage());
+        }
+    }
+
+    private static String cdsMode(JsonObject report) {
+        JsonObject attributes = report.getAsJsonObject("attributes");
+        return attributes != null && attributes.has("cds") ? attributes.get("cds").getAsString() : "?";
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.HeroGame.lwjgl3;
+
+import io.github.HeroGame.utils.StartupTimer;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Launcher mode ({@value #CDS_ARG}) that runs the game in a child JVM with an AppCDS archive of the fat jar's classes,
+ * so later launches map libGDX, Gson, Artemis etc. from the archive instead of loading and verifying them.
+ * <p>
+ * The child JVM gets {@code -XX:+AutoCreateSharedArchive -XX:SharedArchiveFile=...} (JDK 19+): the first launch
+ * is the training run and the archive is dumped when the game exits, later launches use it. The archive name
+ * contains the jar's size and modification time plus the Java version, so a rebuilt jar or a different JVM gets
+ * a new archive and old ones are deleted; the JVM also validates the archive itself and recreates it on mismatch.
+ * <p>
+ * On macOS the child is started with {@code -XstartOnFirstThread}, so {@link StartupHelper} does not restart it
+ * a second time. The parent JVM start time is handed over so the startup report includes the relaunch.
+ */
+final class ClassDataSharing {
+    static final String CDS_ARG = "--cds";
+    private static final String CHILD_PROPERTY = "herogame.cds"; // Set on the child JVM: "training" or "shared"
+    private static final String PARENT_START_PROPERTY = "herogame.launchStartMillis";
+    private static final String ARCHIVE_DIR = "cache/cds";
+    private static final int MIN_JAVA_VERSION = 19; // -XX:+AutoCreateSharedArchive
+
+    private ClassDataSharing() {
+    }
+
+    /**
+     * Starts the game in a child JVM with the CDS archive if {@value #CDS_ARG} was given and this JVM is not that
+     * child already. Returns whether the child ran, i.e. this JVM should not start the game itself.
+     */
+    static boolean relaunchIfRequested(String[] args) {
+        String childMode = System.getProperty(CHILD_PROPERTY);
+        if (childMode != null) {
+            StartupTimer.setAttribute("cds", childMode);
+            String parentStart = System.getProperty(PARENT_START_PROPERTY);
+            if (parentStart != null) {
+                StartupTimer.recordParentLaunch(Long.parseLong(parentStart));
+            }
+            return false;
+        }
+        StartupTimer.setAttribute("cds", "off");
+        if (!hasArg(args, CDS_ARG)) return false;
+
+        if (Runtime.version().feature() < MIN_JAVA_VERSION) {
+            System.err.println("CDS launcher mode needs Java " + MIN_JAVA_VERSION + "+, starting without it.");
+            return false;
+        }
+        if (!System.getProperty("org.graalvm.nativeimage.imagecode", "").isEmpty()) {
+            return false; // Native image has no class loading to share
+        }
+        File jar = findJar();
+        if (jar == null) {
+            // Running from class directories (IDE, gradle run) - CDS only archives classes from jars
+            System.err.println("CDS launcher mode needs the game jar on the classpath, starting without it.");
+            return false;
+        }
+
+        File archive = archiveFor(jar);
+        deleteStaleArchives(archive);
+        String mode = archive.isFile() ? "shared" : "training";
+        List<String> command = buildCommand(jar, archive, mode, args);
+        System.out.println("Starting with CDS archive (" + mode + "): " + archive.getPath());
+        try {
+            Process process = new ProcessBuilder(command).inheritIO().start();
+            System.exit(process.waitFor());
+        } catch (Exception e) {
+            System.err.println("There was a problem starting the JVM with the CDS archive, starting without it.");
+            e.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    private static List<String> buildCommand(File jar, File archive, String mode, String[] args) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        String separator = System.getProperty("file.separator", "/");
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + separator + "bin" + separator + "java");
+        if (System.getProperty("os.name").toLowerCase().contains("mac")) {
+            command.add("-XstartOnFirstThread");
+        }
+        command.add("-XX:+AutoCreateSharedArchive");
+        command.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        command.add("-D" + CHILD_PROPERTY + "=" + mode);
+        command.add("-D" + PARENT_START_PROPERTY + "=" + runtime.getStartTime());
+        command.addAll(runtime.getInputArguments());
+        command.add("-cp");
+        command.add(jar.getAbsolutePath());
+        command.add(Lwjgl3Launcher.class.getName());
+        for (String arg : args) {
+            if (!CDS_ARG.equals(arg)) command.add(arg);
+        }
+        return command;
+    }
+
+    private static File findJar() {
+        try {
+            File location = new File(Lwjgl3Launcher.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return location.isFile() && location.getName().endsWith(".jar") ? location : null;
+        } catch (URISyntaxException | SecurityException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static File archiveFor(File jar) {
+        String name = jar.getName().replace(".jar", "")
+            + "-" + jar.length() + "-" + jar.lastModified()
+            + "-java" + Runtime.version().feature() + ".jsa";
+        return new File(ARCHIVE_DIR, name);
+    }
+
+    private static void deleteStaleArchives(File current) {
+        File dir = current.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) return;
+        File[] archives = dir.listFiles((d, name) -> name.endsWith(".jsa") && !name.equals(current.getName()));
+        if (archives == null) return;
+        for (File stale : archives) {
+            if (stale.delete()) {
+                System.out.println("Deleted stale CDS archive: " + stale.getName());
+            }
+        }
+    }
+
+    private static boolean hasArg(String[] args, String expected) {
+        for (String arg : args) {
+            if (expected.equals(arg)) return true;
+        }
+        return false;
+    }
+}
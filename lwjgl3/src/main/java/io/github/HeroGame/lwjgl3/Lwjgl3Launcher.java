@@ -2,16 +2,40 @@ package io.github.HeroGame.lwjgl3;
 
 import io.github.HeroGame.MyGame;
 import io.github.HeroGame.managers.SettingsManager; // Potrzebny dostęp do settingsManager *przed* utworzeniem gry
+import io.github.HeroGame.utils.StartupTimer;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 
+import java.lang.management.ManagementFactory;
+
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
+    /** Rewrites all saves in older formats to the current one in the background after startup. */
+    private static final String UPGRADE_SAVES_ARG = "--upgrade-saves";
+
     public static void main(String[] args) {
+        StartupTimer.recordJvmStartup(ManagementFactory.getRuntimeMXBean().getUptime());
+        // --cds: the game runs in a child JVM with the class-data-sharing archive, this one only waits for it
+        if (ClassDataSharing.relaunchIfRequested(args)) return;
+        StartupTimer.begin("launcher.startupHelper");
+        boolean restarted = StartupHelper.startNewJvmIfRequired(); // macOS -XstartOnFirstThread, Windows natives path
+        StartupTimer.end("launcher.startupHelper");
+        if (restarted) return; // The child JVM reports its own startup
+
+        StartupTimer.begin("launcher.configuration");
         // Create configuration BEFORE application instance
         Lwjgl3ApplicationConfiguration configuration = createApplicationConfiguration();
+        MyGame game = new MyGame();
+        for (String arg : args) {
+            if (UPGRADE_SAVES_ARG.equals(arg)) {
+                game.setUpgradeSavesOnStart(true);
+            }
+        }
+        StartupTimer.end("launcher.configuration");
+        // Window, GL context and natives - ends when MyGame.create() is called
+        StartupTimer.begin("backend.init");
         // Pass configuration to application constructor
-        new Lwjgl3Application(new MyGame(), configuration);
+        new Lwjgl3Application(game, configuration);
     }
 
     private static Lwjgl3ApplicationConfiguration createApplicationConfiguration() {